@@ -13,6 +13,7 @@ public class CorsConfig implements WebMvcConfigurer {
         registry.addMapping("/**") // Permite todas las rutas
                 .allowedOrigins("https://red-rock-00cb7d11e.6.azurestaticapps.net") // URL de tu frontend
                 .allowedMethods("GET", "POST", "PUT", "DELETE") // Métodos permitidos o end points permitidos
-                .allowedHeaders("*"); // Permitir todos los encabezados
+                .allowedHeaders("*") // Permitir todos los encabezados
+                .exposedHeaders("X-Refresh-Token", "X-Next-Cursor", "Content-Disposition"); // Encabezados que el frontend puede leer
     }
 }
\ No newline at end of file
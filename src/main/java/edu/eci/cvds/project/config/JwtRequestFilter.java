@@ -5,7 +5,10 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import edu.eci.cvds.project.service.UserDetailsServiceImpl;
+import edu.eci.cvds.project.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,6 +23,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
@@ -27,6 +31,27 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    /**
+     * Si es true, la autenticación se construye solo con los claims del token verificado
+     * (username y role) sin consultar la base de datos. Si es false, los roles se cargan del
+     * usuario almacenado, de modo que un cambio de rol se aplica de inmediato.
+     */
+    @Value("${security.jwt.trust-claims:false}")
+    private boolean trustClaims;
+
+    /**
+     * Las rutas de /api/authenticate (login, refresh y logout) no requieren token de acceso, así
+     * que no se verifica: un cliente con el token vencido debe poder renovarlo aunque siga
+     * enviando el encabezado Authorization.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getServletPath().startsWith("/api/authenticate/");
+    }
+
 //    @Override
 //    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
 //            throws ServletException, IOException {
@@ -82,13 +107,15 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader("Authorization");
 
         String username = null;
+        String role = null;
         String jwtToken = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwtToken = authorizationHeader.substring(7);
             try {
-                DecodedJWT decodedJWT = JWT.require(Algorithm.HMAC256("secret")).build().verify(jwtToken);
+                DecodedJWT decodedJWT = jwtUtil.decodeToken(jwtToken);
                 username = decodedJWT.getClaim("username").asString();
+                role = decodedJWT.getClaim("role").asString();
             } catch (JWTVerificationException e) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Token inválido: " + e.getMessage());
@@ -97,7 +124,18 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails;
+            if (trustClaims) {
+                if (role == null) {
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.getWriter().write("Token inválido: el token no contiene el rol");
+                    return;
+                }
+                userDetails = new org.springframework.security.core.userdetails.User(username, "",
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+            } else {
+                userDetails = this.userDetailsService.loadUserByUsername(username);
+            }
             if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                              userDetails, null, userDetails.getAuthorities());
@@ -0,0 +1,47 @@
+package edu.eci.cvds.project.config;
+
+import edu.eci.cvds.project.model.Laboratory;
+import edu.eci.cvds.project.model.RefreshToken;
+import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.model.ReservationStatistic;
+import edu.eci.cvds.project.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Crea al arrancar la aplicación los índices declarados en los documentos
+ * (@Indexed y @CompoundIndex) de Reservation, Laboratory, User, RefreshToken y ReservationStatistic.
+ *
+ * La creación es idempotente: si un índice ya existe con la misma definición no se modifica.
+ */
+@Component
+public class MongoIndexInitializer {
+
+    static final List<Class<?>> DOCUMENTS = List.of(Reservation.class, Laboratory.class, User.class, RefreshToken.class,
+            ReservationStatistic.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Resuelve los índices de cada documento a partir de sus anotaciones y los crea.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> document : DOCUMENTS) {
+            IndexOperations indexOperations = mongoTemplate.indexOps(document);
+            for (IndexDefinition index : resolver.resolveIndexFor(document)) {
+                indexOperations.ensureIndex(index);
+            }
+        }
+    }
+}
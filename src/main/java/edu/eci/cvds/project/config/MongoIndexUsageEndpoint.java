@@ -0,0 +1,56 @@
+package edu.eci.cvds.project.config;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint de actuator (/actuator/mongoindexes) que reporta el uso de los índices de cada
+ * colección según $indexStats: nombre, llaves, cantidad de operaciones que lo usaron y desde
+ * cuándo se cuentan. Permite confirmar que las consultas frecuentes están cubiertas.
+ */
+@Component
+@Endpoint(id = "mongoindexes")
+public class MongoIndexUsageEndpoint {
+
+    static final List<String> COLLECTIONS = List.of("Reservation", "Laboratory", "User", "RefreshToken", "ReservationStatistic");
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Obtiene las estadísticas de uso de los índices por colección.
+     * @return Mapa de colección a la lista de índices con sus estadísticas.
+     */
+    @ReadOperation
+    public Map<String, List<Map<String, Object>>> indexUsage() {
+        Map<String, List<Map<String, Object>>> usage = new LinkedHashMap<>();
+        for (String collection : COLLECTIONS) {
+            List<Document> stats = mongoTemplate.getCollection(collection)
+                    .aggregate(List.of(new Document("$indexStats", new Document())))
+                    .into(new ArrayList<>());
+            List<Map<String, Object>> indexes = new ArrayList<>();
+            for (Document stat : stats) {
+                Map<String, Object> index = new LinkedHashMap<>();
+                index.put("name", stat.getString("name"));
+                index.put("key", stat.get("key"));
+                Document accesses = stat.get("accesses", Document.class);
+                if (accesses != null) {
+                    index.put("ops", accesses.get("ops"));
+                    index.put("since", accesses.get("since"));
+                }
+                indexes.add(index);
+            }
+            usage.put(collection, indexes);
+        }
+        return usage;
+    }
+}
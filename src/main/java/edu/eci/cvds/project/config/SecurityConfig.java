@@ -17,6 +17,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 @Configuration
 @EnableWebSecurity
+@EnableMethodSecurity
 public class SecurityConfig {
     @Bean
     public UserDetailsService userDetailsService() {return new InMemoryUserDetailsManager();}
@@ -32,7 +33,7 @@ public class SecurityConfig {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests((requests) -> requests
-                .requestMatchers("/api/authenticate/login","api/users/create").permitAll() // Solo permite sin autenticación el login
+                .requestMatchers("/api/authenticate/login","/api/authenticate/refresh","/api/authenticate/logout","api/users/create").permitAll() // Solo permite sin autenticación el login
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -1,9 +1,12 @@
 package edu.eci.cvds.project.controller;
 
 import edu.eci.cvds.project.model.DTO.LaboratoryDTO;
+import edu.eci.cvds.project.model.DTO.LaboratorySummaryDTO;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.Laboratory;
 import edu.eci.cvds.project.model.Reservation;
 import edu.eci.cvds.project.service.ServicesLab;
+import edu.eci.cvds.project.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -26,34 +29,66 @@ public class LaboratoryController {
     private ServicesLab laboratoryService;
 
     /**
-     * Obtiene la lista de todos los laboratorios.
-     * @return Lista de laboratorios.
+     * Obtiene una página de laboratorios ordenados por ID.
+     * Por defecto solo devuelve id y nombre; con detail=true devuelve los laboratorios completos.
+     * El cursor de la página siguiente se envía en el encabezado X-Next-Cursor.
+     * @param detail Si se quieren los laboratorios completos.
+     * @param limit Tamaño de la página (por defecto 50, máximo 200).
+     * @param after Cursor de la página anterior.
+     * @return ResponseEntity con la página de laboratorios o 400 si el cursor no es válido.
      */
     @GetMapping("/all")
-    public List<Laboratory> getAllLaboratories(@RequestHeader("Authorization") String token) {
-        return laboratoryService.getAllLaboratories();
+    public ResponseEntity<?> getAllLaboratories(@RequestHeader("Authorization") String token,
+                                                @RequestParam(value = "detail", defaultValue = "false") boolean detail,
+                                                @RequestParam(value = "limit", defaultValue = "50") int limit,
+                                                @RequestParam(value = "after", required = false) String after) {
+        try {
+            if (detail) {
+                PageDTO<Laboratory> page = laboratoryService.getLaboratoryDetails(after, limit);
+                return ResponseEntity.ok().headers(KeysetCursor.headers(page)).body(page.getItems());
+            }
+            PageDTO<Laboratory> page = laboratoryService.getLaboratoriesPage(after, limit);
+            List<LaboratorySummaryDTO> summaries = new ArrayList<>();
+            for (Laboratory laboratory : page.getItems()) {
+                summaries.add(LaboratorySummaryDTO.from(laboratory));
+            }
+            return ResponseEntity.ok().headers(KeysetCursor.headers(page)).body(summaries);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
     }
 
     /**
      * Obtiene un laboratorio por su ID.
+     * Por defecto solo devuelve id y nombre; con detail=true devuelve el laboratorio completo.
      * @param id Identificador del laboratorio.
+     * @param detail Si se quiere el laboratorio completo.
      * @return ResponseEntity con el laboratorio encontrado o un estado 404 si no existe.
      */
     @GetMapping("id/{id}")
-    public ResponseEntity<Laboratory> getLaboratoryById(@PathVariable String id) {
-        Optional<Laboratory> laboratory = laboratoryService.getLaboratoryById(id);
+    public ResponseEntity<?> getLaboratoryById(@PathVariable String id,
+                                               @RequestParam(value = "detail", defaultValue = "false") boolean detail) {
+        Optional<Laboratory> laboratory = detail ? laboratoryService.getLaboratoryDetailsById(id) : laboratoryService.getLaboratoryById(id);
         if (laboratory.isPresent()) {
-            return ResponseEntity.ok(laboratory.get());
+            return ResponseEntity.ok(detail ? laboratory.get() : LaboratorySummaryDTO.from(laboratory.get()));
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Obtiene un laboratorio por su nombre.
+     * Por defecto solo devuelve id y nombre; con detail=true devuelve el laboratorio completo.
+     * @param name Nombre del laboratorio.
+     * @param detail Si se quiere el laboratorio completo.
+     * @return ResponseEntity con el laboratorio encontrado o un estado 404 si no existe.
+     */
     @GetMapping("name/{name}")
-    public ResponseEntity<Laboratory> getLaboratoryByName(@PathVariable String name,@RequestHeader("Authorization") String token) {
-        Laboratory laboratory = laboratoryService.getLaboratoryByName(name);
+    public ResponseEntity<?> getLaboratoryByName(@PathVariable String name,@RequestHeader("Authorization") String token,
+                                                 @RequestParam(value = "detail", defaultValue = "false") boolean detail) {
+        Laboratory laboratory = detail ? laboratoryService.getLaboratoryDetailsByName(name) : laboratoryService.getLaboratoryByName(name);
         if (laboratory != null) {
-            return ResponseEntity.ok(laboratory);
+            return ResponseEntity.ok(detail ? laboratory : LaboratorySummaryDTO.from(laboratory));
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -65,8 +100,8 @@ public class LaboratoryController {
      * @return ResponseEntity con el laboratorio creado.
      */
     @PostMapping("/create")
-    public ResponseEntity<Laboratory> createLaboratory(@RequestBody LaboratoryDTO laboratoryDTO,@RequestHeader("Authorization") String token ) {
-        Laboratory created = laboratoryService.saveLaboratory(laboratoryDTO,token);
+    public ResponseEntity<Laboratory> createLaboratory(@RequestBody LaboratoryDTO laboratoryDTO) {
+        Laboratory created = laboratoryService.saveLaboratory(laboratoryDTO);
         return ResponseEntity.ok(created);
     }
     /**
@@ -102,20 +137,8 @@ public class LaboratoryController {
                                                                            @RequestParam("endDateTime") String dateTimeEndString,@RequestHeader("Authorization") String token)  {
         LocalDateTime dateStartTime = LocalDateTime.parse(dateTimeStartString);
         LocalDateTime dateEndTime = LocalDateTime.parse(dateTimeEndString);
-        List<Laboratory> laboratories = laboratoryService.getAllLaboratories();
-        List<String> oklaboratories = new ArrayList<>();
+        List<String> oklaboratories = laboratoryService.getAvailableLaboratoryNames(dateStartTime, dateEndTime);
 
-
-        if (laboratories.isEmpty()) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-        }
-        for(Laboratory laboratory : laboratories) {
-            boolean available = laboratoryService.isLaboratoriesAvailable(laboratory,dateStartTime,dateEndTime);
-
-            if (available) {
-                oklaboratories.add(laboratory.getName());
-            }
-        }
         if (oklaboratories.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
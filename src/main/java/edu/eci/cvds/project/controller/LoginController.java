@@ -1,12 +1,17 @@
 package edu.eci.cvds.project.controller;
 
+import edu.eci.cvds.project.exception.PasswordHashingRejectedException;
 import edu.eci.cvds.project.exception.UserException;
 import edu.eci.cvds.project.exception.UserException;
+import edu.eci.cvds.project.model.DTO.TokenPairDTO;
+import edu.eci.cvds.project.service.LoginRateLimiter;
 import edu.eci.cvds.project.service.LoginService;
 import edu.eci.cvds.project.service.ServicesLogin;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,26 +23,72 @@ import java.util.Map; // Changed from HashMap to Map
 @CrossOrigin(origins = "*")
 public class LoginController {
 
+    static final String REFRESH_TOKEN_HEADER = "X-Refresh-Token";
+
     @Autowired
     private ServicesLogin loginService;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
 
+    /**
+     * Inicia sesión y devuelve un token de acceso, con el token de actualización en la cabecera
+     * X-Refresh-Token. Los intentos se limitan por usuario y por la dirección del cliente; esa
+     * dirección es la de getRemoteAddr, que detrás de un proxy solo corresponde al cliente con
+     * server.forward-headers-strategy=native (ver {@link LoginRateLimiter}).
+     * @param credentials Nombre de usuario y contraseña.
+     * @param request Petición HTTP, de la que se toma la dirección del cliente.
+     * @return 200 con el token, 429 si se superó el límite de intentos, 404 o 401 si las
+     *         credenciales no son válidas, o 503 si el servidor está ocupado.
+     */
     @PostMapping("/login")
-    public ResponseEntity<String> login(@RequestBody Map<String, String> credentials) {
+    public ResponseEntity<String> login(@RequestBody Map<String, String> credentials, HttpServletRequest request) {
         String username = credentials.get("username");
         String password = credentials.get("password");
+        if (!loginRateLimiter.tryAcquire(username, request.getRemoteAddr())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "60").body("Too many login attempts");
+        }
         try {
             // Generación del token
             String token = loginService.loginUser(username, password);
-            return ResponseEntity.ok(token);// Devuelve el token al cliente
+            String refreshToken = loginService.createRefreshToken(username);
+            return ResponseEntity.ok().header(REFRESH_TOKEN_HEADER, refreshToken).body(token);// Devuelve el token al cliente
 
         } catch (UserException.UserNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
         } catch (UserException.UserIncorrectPasswordException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Incorrect password");
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body("Server busy, try again");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Unknown server error");
+        }
+    }
+
+    /**
+     * Cambia un token de actualización por un nuevo token de acceso, sin volver a verificar la contraseña.
+     * El nuevo token de actualización se devuelve en el encabezado X-Refresh-Token.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<String> refresh(@RequestHeader(value = REFRESH_TOKEN_HEADER, required = false) String refreshToken) {
+        try {
+            TokenPairDTO tokens = loginService.refresh(refreshToken);
+            return ResponseEntity.ok().header(REFRESH_TOKEN_HEADER, tokens.getRefreshToken()).body(tokens.getAccessToken());
+        } catch (UserException.InvalidRefreshTokenException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Unknown server error");
         }
     }
 
+    /**
+     * Revoca el token de actualización enviado en el encabezado X-Refresh-Token.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(@RequestHeader(value = REFRESH_TOKEN_HEADER, required = false) String refreshToken) {
+        loginService.logout(refreshToken);
+        return ResponseEntity.noContent().build();
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package edu.eci.cvds.project.controller;
 
+import edu.eci.cvds.project.model.DTO.BulkReservationResultDTO;
+import edu.eci.cvds.project.model.DTO.LaboratoryUtilizationDTO;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.DTO.ReservationDTO;
+import edu.eci.cvds.project.model.DTO.ReservationSlotDTO;
 import edu.eci.cvds.project.model.Laboratory;
 import edu.eci.cvds.project.service.UserDetailsServiceImpl;
 import org.springframework.security.access.annotation.Secured;
@@ -8,17 +12,24 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.service.ReservationExportService;
 import edu.eci.cvds.project.service.ServicesReservation;
+import edu.eci.cvds.project.service.ServicesReservationStatistics;
+import edu.eci.cvds.project.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Controlador REST para gestionar reservas.
@@ -31,6 +42,12 @@ public class ReservationController {
     @Autowired
     private ServicesReservation reservationService;
 
+    @Autowired
+    private ServicesReservationStatistics statisticsService;
+
+    @Autowired
+    private ReservationExportService exportService;
+
     /**
      * Crea una nueva reserva.
      * @param reservationDTO Objeto Reservation recibido en la solicitud.
@@ -45,6 +62,21 @@ public class ReservationController {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
+    /**
+     * Crea varias reservas en una sola operación, por ejemplo al programar un semestre.
+     * Las reservas que chocan con otras no se crean y se reportan individualmente.
+     * @param reservationDTOs Reservas a crear.
+     * @return Un resultado por reserva, en el orden recibido, o 400 si la lista está vacía o es demasiado grande.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createReservations(@RequestBody List<ReservationDTO> reservationDTOs,@RequestHeader("Authorization") String token) {
+        try {
+            List<BulkReservationResultDTO> results = reservationService.createReservations(reservationDTOs);
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
     /**
      * this method is in charge of update a task in the application
      * calling the service
@@ -79,12 +111,105 @@ public class ReservationController {
     }
 
     /**
-     * Obtiene la lista de todas las reservas.
-     * @return Lista de reservas.
+     * Busca la primera franja libre de un laboratorio con la misma hora del día que la solicitada.
+     * @param labName Nombre del laboratorio.
+     * @param dateTimeStartString Fecha y hora de inicio deseada.
+     * @param dateTimeEndString Fecha y hora de fin deseada.
+     * @return La franja libre encontrada, 404 si no hay ninguna en los próximos 365 días o 400 si el rango no es válido.
+     */
+    @GetMapping("/next-slot")
+    public ResponseEntity<?> getNextAvailableSlot(@RequestParam("labName") String labName,
+                                                  @RequestParam("startDateTime") String dateTimeStartString,
+                                                  @RequestParam("endDateTime") String dateTimeEndString,
+                                                  @RequestHeader("Authorization") String token) {
+        try {
+            LocalDateTime start = LocalDateTime.parse(dateTimeStartString);
+            LocalDateTime end = LocalDateTime.parse(dateTimeEndString);
+            Optional<ReservationSlotDTO> slot = reservationService.findNextAvailableSlot(labName, start, end);
+            if (slot.isPresent()) {
+                return ResponseEntity.ok(slot.get());
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No available slots within 365 days");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene una página de reservas ordenadas por ID.
+     * El cursor de la página siguiente se envía en el encabezado X-Next-Cursor.
+     * @param limit Tamaño de la página (por defecto 50, máximo 200).
+     * @param after Cursor de la página anterior.
+     * @return ResponseEntity con la página de reservas o 400 si el cursor no es válido.
      */
     @GetMapping("/all")
-    public List<Reservation> getAllReservations(@RequestHeader("Authorization") String token) {
-        return reservationService.getAllReservations();
+    public ResponseEntity<?> getAllReservations(@RequestHeader("Authorization") String token,
+                                                @RequestParam(value = "limit", defaultValue = "50") int limit,
+                                                @RequestParam(value = "after", required = false) String after) {
+        try {
+            PageDTO<Reservation> page = reservationService.getReservationsPage(after, limit);
+            return ResponseEntity.ok().headers(KeysetCursor.headers(page)).body(page.getItems());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Obtiene una página de las reservas contenidas en un rango de fechas, ordenadas por fecha de inicio.
+     * El cursor de la página siguiente se envía en el encabezado X-Next-Cursor.
+     * @param dateTimeStartString Fecha y hora de inicio del rango.
+     * @param dateTimeEndString Fecha y hora de fin del rango.
+     * @param limit Tamaño de la página (por defecto 50, máximo 200).
+     * @param after Cursor de la página anterior.
+     * @return ResponseEntity con la página de reservas o 400 si las fechas o el cursor no son válidos.
+     */
+    @GetMapping("/range")
+    public ResponseEntity<?> getReservationsInRange(@RequestParam("startDateTime") String dateTimeStartString,
+                                                    @RequestParam("endDateTime") String dateTimeEndString,
+                                                    @RequestParam(value = "limit", defaultValue = "50") int limit,
+                                                    @RequestParam(value = "after", required = false) String after,
+                                                    @RequestHeader("Authorization") String token) {
+        try {
+            LocalDateTime start = LocalDateTime.parse(dateTimeStartString);
+            LocalDateTime end = LocalDateTime.parse(dateTimeEndString);
+            PageDTO<Reservation> page = reservationService.getReservationsInRange(start, end, after, limit);
+            return ResponseEntity.ok().headers(KeysetCursor.headers(page)).body(page.getItems());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Exporta el histórico de reservas en NDJSON o CSV, ordenado por fecha de inicio.
+     * Las filas se escriben a medida que se leen de la base de datos, así que la exportación
+     * no carga todas las reservas en memoria.
+     * @param format Formato de exportación: ndjson (por defecto) o csv.
+     * @param labName Nombre del laboratorio (opcional).
+     * @param username Nombre del usuario (opcional).
+     * @param fromString Fecha y hora mínima de inicio, inclusiva (opcional).
+     * @param toString Fecha y hora máxima de inicio, exclusiva (opcional).
+     * @return ResponseEntity con el archivo exportado o 400 si el formato o las fechas no son válidos.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportReservations(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                                @RequestParam(value = "labName", required = false) String labName,
+                                                @RequestParam(value = "username", required = false) String username,
+                                                @RequestParam(value = "from", required = false) String fromString,
+                                                @RequestParam(value = "to", required = false) String toString,
+                                                @RequestHeader("Authorization") String token) {
+        try {
+            ReservationExportService.Format exportFormat = ReservationExportService.Format.of(format);
+            LocalDateTime from = fromString == null ? null : LocalDateTime.parse(fromString);
+            LocalDateTime to = toString == null ? null : LocalDateTime.parse(toString);
+            StreamingResponseBody body = out -> exportService.export(exportFormat, labName, username, from, to, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"reservations." + exportFormat.getExtension() + "\"")
+                    .body(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
     }
 
         /**
@@ -107,15 +232,7 @@ public class ReservationController {
      */
     @GetMapping("/by-date")
     public ResponseEntity<Map<LocalDate, Long>> getReservationsByDate(@RequestHeader("Authorization") String token) {
-        List<Reservation> reservations = getAllReservations(token);
-        Map<LocalDate, Long> reservationsByDate = new HashMap<>();
-
-        for (Reservation r : reservations) {
-            LocalDate date = r.getStartDateTime().toLocalDate();
-            reservationsByDate.put(date, reservationsByDate.getOrDefault(date, 0L) + 1);
-        }
-
-        return ResponseEntity.ok(reservationsByDate);
+        return ResponseEntity.ok(statisticsService.countByDate());
     }
 
     /**
@@ -129,19 +246,7 @@ public class ReservationController {
     public ResponseEntity<Map<String, Long>> getReservationsByLabAndDate(
             @RequestParam LocalDate startDate,
             @RequestParam LocalDate endDate,@RequestHeader("Authorization") String token) {
-
-        List<Reservation> reservations = getAllReservations(token);
-        Map<String, Long> reservationsByLab = new HashMap<>();
-
-        for (Reservation r : reservations) {
-            LocalDate date = r.getStartDateTime().toLocalDate();
-            if (!date.isBefore(startDate) && !date.isAfter(endDate)) {
-                String labName = r.getLaboratoryname();
-                reservationsByLab.put(labName, reservationsByLab.getOrDefault(labName, 0L) + 1);
-            }
-        }
-
-        return ResponseEntity.ok(reservationsByLab);
+        return ResponseEntity.ok(statisticsService.countByLaboratoryBetween(startDate, endDate));
     }
 
     /**
@@ -151,24 +256,7 @@ public class ReservationController {
      */
     @GetMapping("/average-by-priority")
     public ResponseEntity<Map<Integer, Double>> getAverageReservationsByPriority(@RequestHeader("Authorization") String token) {
-        List<Reservation> reservations = getAllReservations(token);
-        Map<Integer, Long> countByPriority = new HashMap<>();
-
-        for (Reservation r : reservations) {
-            int priority = r.getPriority();
-            countByPriority.put(priority, countByPriority.getOrDefault(priority, 0L) + 1);
-        }
-
-        int totalReservations = reservations.size();
-        Map<Integer, Double> averageByPriority = new HashMap<>();
-
-        for (Map.Entry<Integer, Long> entry : countByPriority.entrySet()) {
-            int priority = entry.getKey();
-            double average = (double) entry.getValue() / totalReservations;
-            averageByPriority.put(priority, average);
-        }
-
-        return ResponseEntity.ok(averageByPriority);
+        return ResponseEntity.ok(statisticsService.averageByPriority());
     }
 
     /**
@@ -178,15 +266,22 @@ public class ReservationController {
      */
     @GetMapping("/by-lab")
     public ResponseEntity<Map<String, Long>> getReservationsByLab(@RequestHeader("Authorization") String token) {
-        List<Reservation> reservations = getAllReservations(token);
-        Map<String, Long> reservationsByLab = new HashMap<>();
-
-        for (Reservation r : reservations) {
-            String labName = r.getLaboratoryname();
-            reservationsByLab.put(labName, reservationsByLab.getOrDefault(labName, 0L) + 1);
-        }
+        return ResponseEntity.ok(statisticsService.countByLaboratory());
+    }
 
-        return ResponseEntity.ok(reservationsByLab);
+    /**
+     * Obtiene la utilización de cada laboratorio en un rango de fechas: horas reservadas por día
+     * y por semana y la mayor cantidad de reservas simultáneas.
+     *
+     * @param startDate Fecha de inicio del rango.
+     * @param endDate   Fecha de fin del rango, inclusiva.
+     * @return Lista con la utilización de cada laboratorio que tiene reservas en el rango.
+     */
+    @GetMapping("/utilization")
+    public ResponseEntity<List<LaboratoryUtilizationDTO>> getLaboratoryUtilization(
+            @RequestParam LocalDate startDate,
+            @RequestParam LocalDate endDate,@RequestHeader("Authorization") String token) {
+        return ResponseEntity.ok(statisticsService.utilization(startDate, endDate));
     }
 
     /**
@@ -3,6 +3,8 @@ package edu.eci.cvds.project.controller;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import edu.eci.cvds.project.exception.PasswordHashingRejectedException;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.DTO.UserDTO;
 import edu.eci.cvds.project.model.Reservation;
 import edu.eci.cvds.project.model.Role;
@@ -10,10 +12,13 @@ import edu.eci.cvds.project.model.User;
 import edu.eci.cvds.project.service.ServicesUser;
 import edu.eci.cvds.project.service.UserDetailsServiceImpl;
 import edu.eci.cvds.project.util.JwtUtil;
+import edu.eci.cvds.project.util.KeysetCursor;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -34,13 +39,27 @@ public class UserController {
     private ServicesUser userService;
 
     /**
-     * Obtiene la lista de todos los usuarios.
+     * Obtiene una página de usuarios ordenados por ID.
+     * Por defecto solo devuelve id, nombre de usuario y rol; con detail=true devuelve los usuarios completos.
+     * El cursor de la página siguiente se envía en el encabezado X-Next-Cursor.
      *
-     * @return Lista de usuarios.
+     * @param detail Si se quieren los usuarios completos.
+     * @param limit Tamaño de la página (por defecto 50, máximo 200).
+     * @param after Cursor de la página anterior.
+     * @return ResponseEntity con la página de usuarios o un error si el cursor no es válido.
      */
     @GetMapping("/all")
-    public List<User> getAllUsers() {
-        return userService.getAllUser();
+    public ResponseEntity<?> getAllUsers(@RequestParam(value = "detail", defaultValue = "false") boolean detail,
+                                         @RequestParam(value = "limit", defaultValue = "50") int limit,
+                                         @RequestParam(value = "after", required = false) String after) {
+        try {
+            PageDTO<?> page = detail ? userService.getUsersPage(after, limit) : userService.getUserSummaries(after, limit);
+            return ResponseEntity.ok().headers(KeysetCursor.headers(page)).body(page.getItems());
+        } catch (IllegalArgumentException e) {
+            HashMap<String, String> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
     }
 
     /**
@@ -55,6 +74,10 @@ public class UserController {
         try {
             userDTO.setRole(Role.USER);
             return ResponseEntity.status(HttpStatus.CREATED).body(userService.save(userDTO));
+        } catch (PasswordHashingRejectedException e) {
+            response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(response);
         } catch (Exception e) {
             response = new HashMap<>();
             response.put("error", e.getMessage());
@@ -68,11 +91,15 @@ public class UserController {
      * @return ResponseEntity con el usuario creado o un error en caso de fallo.
      */
     @PostMapping("admin/create/{username}")
-    public ResponseEntity<?> saveAdmin(@PathVariable String username,@RequestHeader("Authorization") String token ) {
-        //verfificar que el usuario sea admin,html filter
+    public ResponseEntity<?> saveAdmin(@PathVariable String username) {
+        // El rol de administrador se verifica con @PreAuthorize en el servicio
         HashMap<String, String> response;
         try {
-            return ResponseEntity.status(HttpStatus.CREATED).body(userService.updateAdmin(username,token));
+            return ResponseEntity.status(HttpStatus.CREATED).body(userService.updateAdmin(username));
+        } catch (AccessDeniedException e) {
+            response = new HashMap<>();
+            response.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
         } catch (Exception e) {
             response = new HashMap<>();
             response.put("error", e.getMessage());
@@ -131,15 +158,21 @@ public class UserController {
     }
 
     /**
-     * Obtiene todas las reservas asociadas a un usuario por su ID.
+     * Obtiene una página de las reservas asociadas a un usuario por su ID, ordenadas por fecha de inicio.
+     * El cursor de la página siguiente se envía en el encabezado X-Next-Cursor.
      * @param id Identificador del usuario.
-     * @return ResponseEntity con la lista de reservas o un error en caso de fallo.
+     * @param limit Tamaño de la página (por defecto 50, máximo 200).
+     * @param after Cursor de la página anterior.
+     * @return ResponseEntity con la página de reservas o un error en caso de fallo.
      */
     @GetMapping("/getReservations/{id}")
-    public ResponseEntity<?> getAllReservationByUserId(@PathVariable String id) {
+    public ResponseEntity<?> getAllReservationByUserId(@PathVariable String id,
+                                                       @RequestParam(value = "limit", defaultValue = "50") int limit,
+                                                       @RequestParam(value = "after", required = false) String after) {
         HashMap<String, String> response;
         try {
-            return ResponseEntity.status(HttpStatus.OK).body(userService.getAllReservationByUserId(id));
+            PageDTO<Reservation> page = userService.getAllReservationByUserId(id, after, limit);
+            return ResponseEntity.status(HttpStatus.OK).headers(KeysetCursor.headers(page)).body(page.getItems());
         } catch (Exception e) {
             response = new HashMap<>();
             response.put("error", e.getMessage());
@@ -150,7 +183,6 @@ public class UserController {
     public ResponseEntity<?> getAllReservationByUsername(@PathVariable String username) {
         HashMap<String, String> response;
         try {
-            userService.verifyReservations(username);
             return ResponseEntity.status(HttpStatus.OK).body(userService.getAllReservationByUsername(username));
         } catch (Exception e) {
             response = new HashMap<>();
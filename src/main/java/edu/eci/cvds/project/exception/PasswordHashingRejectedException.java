@@ -0,0 +1,10 @@
+package edu.eci.cvds.project.exception;
+
+/**
+ * Se lanza cuando la cola de cálculo de contraseñas está llena y la petición se rechaza de inmediato.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
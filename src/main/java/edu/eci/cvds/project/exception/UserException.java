@@ -16,4 +16,10 @@ public class UserException extends Exception{
             super(message);
         }
     }
+
+    public static class InvalidRefreshTokenException extends UserException {
+        public InvalidRefreshTokenException(String message){
+            super(message);
+        }
+    }
 }
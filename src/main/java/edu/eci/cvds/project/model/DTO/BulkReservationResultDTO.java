@@ -0,0 +1,27 @@
+package edu.eci.cvds.project.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resultado de una reserva dentro de una creación masiva. La posición corresponde al orden
+ * de la reserva en la solicitud.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class BulkReservationResultDTO {
+
+    public static final String CREATED = "CREATED";
+    public static final String CONFLICT = "CONFLICT";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+
+    private int index;
+    private String status;
+    private String reservationId;
+    private String message;
+}
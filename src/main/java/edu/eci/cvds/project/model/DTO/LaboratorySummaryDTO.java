@@ -0,0 +1,24 @@
+package edu.eci.cvds.project.model.DTO;
+
+import edu.eci.cvds.project.model.Laboratory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resumen de un laboratorio para los listados: solo id y nombre, sin reservas.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+
+public class LaboratorySummaryDTO {
+    private String id;
+    private String name;
+
+    public static LaboratorySummaryDTO from(Laboratory laboratory) {
+        return new LaboratorySummaryDTO(laboratory.getId(), laboratory.getName());
+    }
+}
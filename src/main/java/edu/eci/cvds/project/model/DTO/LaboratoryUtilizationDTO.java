@@ -0,0 +1,29 @@
+package edu.eci.cvds.project.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Utilización de un laboratorio en un rango de fechas: horas reservadas en total, por día y por
+ * semana (la llave de cada semana es su lunes), y la mayor cantidad de reservas simultáneas con
+ * el momento en que se alcanzó.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+
+public class LaboratoryUtilizationDTO {
+    private String laboratoryName;
+    private double totalHours;
+    private Map<LocalDate, Double> hoursByDay;
+    private Map<LocalDate, Double> hoursByWeek;
+    private int peakConcurrent;
+    private LocalDateTime peakStart;
+}
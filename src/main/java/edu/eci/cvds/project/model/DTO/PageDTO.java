@@ -0,0 +1,22 @@
+package edu.eci.cvds.project.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Página de un listado paginado por cursor: los elementos y el cursor para pedir la siguiente,
+ * o null si no hay más.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+
+public class PageDTO<T> {
+    private List<T> items;
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package edu.eci.cvds.project.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ReservationSlotDTO {
+    private String labName;
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+}
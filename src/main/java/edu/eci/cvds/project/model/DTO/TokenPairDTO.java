@@ -0,0 +1,16 @@
+package edu.eci.cvds.project.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+
+public class TokenPairDTO {
+    private String accessToken;
+    private String refreshToken;
+}
@@ -0,0 +1,21 @@
+package edu.eci.cvds.project.model.DTO;
+
+import edu.eci.cvds.project.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resumen de un usuario para los listados: id, nombre de usuario y rol, sin contraseña ni reservas.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+
+public class UserSummaryDTO {
+    private String id;
+    private String username;
+    private Role role;
+}
@@ -2,12 +2,13 @@ package edu.eci.cvds.project.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 
 import java.util.ArrayList;
 import java.util.List;
-@EqualsAndHashCode(exclude = "reservations")
+@EqualsAndHashCode(exclude = "reservationIds")
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -17,6 +18,11 @@ import java.util.List;
 public class Laboratory {
     @Id
     private String id;
+    @Indexed(unique = true)
     private String name;
-    public List<Reservation> reservations = new ArrayList<>();
+    /**
+     * Identificadores de las reservas del laboratorio. Las reservas completas se consultan
+     * en la colección Reservation por nombre de laboratorio.
+     */
+    public List<String> reservationIds = new ArrayList<>();
 }
@@ -0,0 +1,29 @@
+package edu.eci.cvds.project.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Token de actualización emitido al iniciar sesión. Solo se guarda el hash SHA-256 del token;
+ * el valor en claro únicamente lo conoce el cliente. El índice TTL sobre expiresAt hace que
+ * MongoDB elimine los tokens vencidos.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@Document(collection = "RefreshToken")
+public class RefreshToken {
+    @Id
+    private String id;
+    @Indexed(unique = true)
+    private String tokenHash;
+    private String username;
+    @Indexed(expireAfterSeconds = 0)
+    private Date expiresAt;
+}
@@ -2,6 +2,8 @@ package edu.eci.cvds.project.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -13,6 +15,13 @@ import java.util.Optional;
 @Setter
 @ToString
 @Document(collection = "Reservation")
+@CompoundIndexes({
+        @CompoundIndex(name = "lab_start_end_idx", def = "{'laboratoryname': 1, 'startDateTime': 1, 'endDateTime': 1}"),
+        @CompoundIndex(name = "user_start_id_idx", def = "{'username': 1, 'startDateTime': 1, '_id': 1}"),
+        @CompoundIndex(name = "status_end_idx", def = "{'Status': 1, 'endDateTime': 1}"),
+        @CompoundIndex(name = "start_end_idx", def = "{'startDateTime': 1, 'endDateTime': 1}"),
+        @CompoundIndex(name = "start_id_idx", def = "{'startDateTime': 1, '_id': 1}")
+})
 public class Reservation {
     @Id
     private String id;
@@ -0,0 +1,41 @@
+package edu.eci.cvds.project.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Contador materializado de reservas para un grupo de las estadísticas: un laboratorio, un día
+ * o una prioridad. El id es "tipo:llave", por ejemplo "lab:Lab A" o "day:2025-03-10", así que
+ * cada actualización con $inc toca un solo documento.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@Document(collection = "ReservationStatistic")
+public class ReservationStatistic {
+
+    public static final String LABORATORY = "lab";
+    public static final String DAY = "day";
+    public static final String PRIORITY = "priority";
+
+    @Id
+    private String id;
+    @Indexed
+    private String type;
+    private String key;
+    private long count;
+
+    /**
+     * Construye el id de un contador.
+     * @param type Tipo de grupo.
+     * @param key Llave del grupo.
+     * @return El id "tipo:llave".
+     */
+    public static String idOf(String type, String key) {
+        return type + ":" + key;
+    }
+}
@@ -1,7 +1,9 @@
 package edu.eci.cvds.project.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.ArrayList;
@@ -16,9 +18,15 @@ import java.util.List;
 public class User {
     @Id
     private String id;
+    @Indexed(unique = true)
     private String username;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
-    public List<Reservation> reservations = new ArrayList<>();
+    /**
+     * Identificadores de las reservas del usuario. Las reservas completas se consultan
+     * en la colección Reservation por nombre de usuario.
+     */
+    public List<String> reservationIds = new ArrayList<>();
     private Role role;
 }
 
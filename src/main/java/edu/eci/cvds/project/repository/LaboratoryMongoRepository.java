@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface LaboratoryMongoRepository extends MongoRepository<Laboratory, String> {
+public interface LaboratoryMongoRepository extends MongoRepository<Laboratory, String>, LaboratoryMongoRepositoryCustom {
     /**
      * Busca los laboratorios por nombre exacto.
      * @param name el nombre exacto del laboratorio.
@@ -19,6 +19,14 @@ public interface LaboratoryMongoRepository extends MongoRepository<Laboratory, S
     @Query("{ 'name' : ?0 }")
     Laboratory findLaboratoriesByName(String name);
 
+    /**
+     * Obtiene el catálogo de laboratorios proyectando solo el identificador y el nombre,
+     * sin cargar las reservas embebidas.
+     * @return una lista de laboratorios con solo id y nombre.
+     */
+    @Query(value = "{}", fields = "{ 'name' : 1 }")
+    List<Laboratory> findAllNames();
+
     default Laboratory saveLaboratory(Laboratory laboratory) {
         if(laboratory.getId() == null){
             laboratory.setId(generateId());
@@ -40,25 +48,28 @@ public interface LaboratoryMongoRepository extends MongoRepository<Laboratory, S
         return findById(id).orElse(null);
     }
 
+    /**
+     * Actualiza un laboratorio existente con un solo reemplazo condicional.
+     * @param lab El laboratorio con los nuevos datos.
+     * @return El laboratorio actualizado.
+     * @throws RuntimeException Si el laboratorio no se encuentra.
+     */
     default Laboratory updateLaboratory(Laboratory lab) {
-        if (!existsById(lab.getId())) {
+        if (replaceLaboratory(lab) == 0) {
             throw new RuntimeException("Lab not found");
         }
-        lab.setReservations(lab.getReservations());
-        save(lab);
         return lab;
     }
-    @Override
-    default boolean existsById(String id) {
-        Laboratory lab = findLaboratoriesById(id);
-        return lab != null;
-    }
 
+    /**
+     * Elimina un laboratorio por su ID con una sola escritura.
+     * @param id Identificador del laboratorio.
+     * @throws RuntimeException Si el laboratorio no se encuentra.
+     */
     default void deleteLaboratoryById(String id) {
-        if (!existsById(id)) {
+        if (removeLaboratoryById(id) == 0) {
             throw new RuntimeException("lab not found");
         }
-        deleteById(id);
     }
 
 
@@ -0,0 +1,75 @@
+package edu.eci.cvds.project.repository;
+
+import edu.eci.cvds.project.model.Laboratory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Operaciones de {@link LaboratoryMongoRepository} implementadas directamente con MongoTemplate.
+ */
+public interface LaboratoryMongoRepositoryCustom {
+
+    /**
+     * Agrega el identificador de una reserva al laboratorio con una sola actualización atómica,
+     * sin leer ni reescribir el documento completo.
+     * @param name Nombre del laboratorio.
+     * @param reservationId Identificador de la reserva.
+     * @return true si el laboratorio existe.
+     */
+    boolean addReservationId(String name, String reservationId);
+
+    /**
+     * Quita el identificador de una reserva del laboratorio con una sola actualización atómica.
+     * @param name Nombre del laboratorio.
+     * @param reservationId Identificador de la reserva.
+     * @return true si el laboratorio existe.
+     */
+    boolean removeReservationId(String name, String reservationId);
+
+    /**
+     * Agrega identificadores de reservas a varios laboratorios con actualizaciones $addToSet
+     * enviadas en una sola escritura por lotes.
+     * @param reservationIdsByName Identificadores de reservas por nombre de laboratorio.
+     * @return Cantidad de laboratorios encontrados.
+     */
+    long addReservationIds(Map<String, List<String>> reservationIdsByName);
+
+    /**
+     * Obtiene cuáles de los nombres dados corresponden a laboratorios existentes, con una sola
+     * consulta que solo proyecta el nombre.
+     * @param names Nombres a verificar.
+     * @return Los nombres que existen.
+     */
+    Set<String> findExistingNames(Collection<String> names);
+
+    /**
+     * Vacía la lista de reservas de todos los laboratorios.
+     * @return Cantidad de laboratorios modificados.
+     */
+    long clearReservationIds();
+
+    /**
+     * Reemplaza un laboratorio existente con una sola escritura, sin insertarlo si no existe.
+     * @param laboratory Laboratorio con los nuevos datos.
+     * @return Cantidad de laboratorios encontrados (0 o 1).
+     */
+    long replaceLaboratory(Laboratory laboratory);
+
+    /**
+     * Elimina un laboratorio por su ID con una sola escritura.
+     * @param id Identificador del laboratorio.
+     * @return Cantidad de laboratorios eliminados (0 o 1).
+     */
+    long removeLaboratoryById(String id);
+
+    /**
+     * Obtiene una página de laboratorios completos ordenados por _id.
+     * @param afterId Identificador del último laboratorio de la página anterior, o null para la primera.
+     * @param limit Tamaño máximo de la página.
+     * @return Lista de laboratorios de la página.
+     */
+    List<Laboratory> findPage(String afterId, int limit);
+}
@@ -0,0 +1,85 @@
+package edu.eci.cvds.project.repository;
+
+import edu.eci.cvds.project.model.Laboratory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class LaboratoryMongoRepositoryCustomImpl implements LaboratoryMongoRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean addReservationId(String name, String reservationId) {
+        Query query = new Query(Criteria.where("name").is(name));
+        return mongoTemplate.updateFirst(query, new Update().addToSet("reservationIds", reservationId), Laboratory.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean removeReservationId(String name, String reservationId) {
+        Query query = new Query(Criteria.where("name").is(name));
+        return mongoTemplate.updateFirst(query, new Update().pull("reservationIds", reservationId), Laboratory.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public long addReservationIds(Map<String, List<String>> reservationIdsByName) {
+        if (reservationIdsByName.isEmpty()) {
+            return 0;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Laboratory.class);
+        for (Map.Entry<String, List<String>> entry : reservationIdsByName.entrySet()) {
+            Query query = new Query(Criteria.where("name").is(entry.getKey()));
+            operations.updateOne(query, new Update().addToSet("reservationIds").each(entry.getValue().toArray()));
+        }
+        return operations.execute().getMatchedCount();
+    }
+
+    @Override
+    public Set<String> findExistingNames(Collection<String> names) {
+        Query query = new Query(Criteria.where("name").in(names));
+        query.fields().include("name");
+        Set<String> existing = new HashSet<>();
+        for (Laboratory laboratory : mongoTemplate.find(query, Laboratory.class)) {
+            existing.add(laboratory.getName());
+        }
+        return existing;
+    }
+
+    @Override
+    public long clearReservationIds() {
+        return mongoTemplate.updateMulti(new Query(), new Update().set("reservationIds", new ArrayList<>()), Laboratory.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public long replaceLaboratory(Laboratory laboratory) {
+        Query query = new Query(Criteria.where("id").is(laboratory.getId()));
+        return mongoTemplate.replace(query, laboratory).getMatchedCount();
+    }
+
+    @Override
+    public long removeLaboratoryById(String id) {
+        return mongoTemplate.remove(new Query(Criteria.where("id").is(id)), Laboratory.class).getDeletedCount();
+    }
+
+    @Override
+    public List<Laboratory> findPage(String afterId, int limit) {
+        Criteria criteria = afterId == null ? new Criteria() : Criteria.where("id").gt(afterId);
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+        return mongoTemplate.find(query, Laboratory.class);
+    }
+}
@@ -0,0 +1,17 @@
+package edu.eci.cvds.project.repository;
+
+import edu.eci.cvds.project.model.RefreshToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RefreshTokenMongoRepository extends MongoRepository<RefreshToken, String> {
+
+    /**
+     * Elimina y devuelve en una sola operación el token con el hash dado, de modo que un token
+     * de actualización solo pueda usarse una vez.
+     * @param tokenHash Hash SHA-256 del token.
+     * @return El token eliminado, o null si no existía.
+     */
+    RefreshToken deleteByTokenHash(String tokenHash);
+}
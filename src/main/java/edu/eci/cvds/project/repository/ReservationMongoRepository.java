@@ -5,6 +5,7 @@ import edu.eci.cvds.project.model.Reservation;
 import edu.eci.cvds.project.model.User;
 import org.springframework.boot.jackson.JsonMixinModuleEntries;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -13,7 +14,7 @@ import java.util.UUID;
 
 
 @Repository
-public interface ReservationMongoRepository extends MongoRepository<Reservation, String> {
+public interface ReservationMongoRepository extends MongoRepository<Reservation, String>, ReservationMongoRepositoryCustom {
 
 
     /**
@@ -23,6 +24,21 @@ public interface ReservationMongoRepository extends MongoRepository<Reservation,
      */
     List<Reservation> findByLaboratoryname(String laboratoryname);
 
+    /**
+     * Encuentra todas las reservas de un usuario.
+     * @param username Nombre del usuario.
+     * @return Lista de reservas del usuario.
+     */
+    List<Reservation> findByUsername(String username);
+
+    /**
+     * Encuentra las reservas activas (estado true) de un usuario.
+     * @param username Nombre del usuario.
+     * @return Lista de reservas activas del usuario.
+     */
+    @Query("{ 'username' : ?0, 'Status' : true }")
+    List<Reservation> findActiveByUsername(String username);
+
     /**
      * Encuentra todas las reservas que comienzan después de una fecha específica.
      * @param startDateTime Fecha y hora de inicio.
@@ -68,25 +84,15 @@ public interface ReservationMongoRepository extends MongoRepository<Reservation,
     private String generateId() {
         return UUID.randomUUID().toString();
     }
-    /**
-     * Verifica si existe una reserva con el ID dado.
-     * @param id Identificador de la reserva.
-     * @return true si existe, false en caso contrario.
-     */
-    @Override
-    default boolean existsById(String id) {
-        return findById(id).isPresent();
-    }
     /**
      * Elimina una reserva por su ID.
      * @param id Identificador de la reserva a eliminar.
      * @throws RuntimeException Si la reserva no se encuentra.
      */
     default void deleteReservationById(String id) {
-        if (!existsById(id)) {
+        if (removeReservationById(id) == 0) {
             throw new RuntimeException("Reservation not found");
         }
-        deleteById(id);
     }
     /**
      * Encuentra una reserva por su ID.
@@ -103,17 +109,19 @@ public interface ReservationMongoRepository extends MongoRepository<Reservation,
      * @throws RuntimeException Si la reserva no se encuentra.
      */
     default void deleteReservation(Reservation reservation){
-        if(!existsById(reservation.getId())){
-            throw new RuntimeException("Reservation not found");
-        }
-        delete(reservation);
+        deleteReservationById(reservation.getId());
     }
 
+    /**
+     * Actualiza una reserva existente con un solo reemplazo condicional.
+     * @param reservation Reserva con los nuevos datos.
+     * @return La reserva actualizada.
+     * @throws RuntimeException Si la reserva no se encuentra.
+     */
     default Reservation updateReservation(Reservation reservation){
-        if(!existsById(reservation.getId())){
+        if(replaceReservation(reservation) == 0){
             throw new RuntimeException("reservation not found");
         }
-        save(reservation);
         return reservation;
     }
 
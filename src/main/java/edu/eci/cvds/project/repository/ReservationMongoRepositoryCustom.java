@@ -0,0 +1,178 @@
+package edu.eci.cvds.project.repository;
+
+import edu.eci.cvds.project.model.Reservation;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Operaciones de {@link ReservationMongoRepository} implementadas directamente con MongoTemplate.
+ */
+public interface ReservationMongoRepositoryCustom {
+
+    /**
+     * Obtiene un lote de reservas con el estado dado que terminaron antes de una fecha,
+     * ordenadas por fecha de fin. Usa el índice (Status, endDateTime).
+     * @param status Estado de las reservas a buscar.
+     * @param time Fecha y hora límite de finalización.
+     * @param limit Tamaño máximo del lote.
+     * @return Lista de reservas encontradas.
+     */
+    List<Reservation> findEndedBefore(boolean status, LocalDateTime time, int limit);
+
+    /**
+     * Marca como vencidas (estado false) las reservas indicadas con una sola actualización.
+     * @param ids Identificadores de las reservas.
+     * @return Cantidad de reservas modificadas.
+     */
+    long markExpired(Collection<String> ids);
+
+    /**
+     * Obtiene las reservas activas (estado true) con solo su identificador y fecha de fin.
+     * @return Lista de reservas activas proyectadas.
+     */
+    List<Reservation> findActiveEndTimes();
+
+    /**
+     * Marca como vencida una reserva solo si sigue activa y su fecha de fin ya pasó.
+     * @param id Identificador de la reserva.
+     * @param now Fecha y hora actual.
+     * @return true si la reserva fue marcada como vencida.
+     */
+    boolean expireIfEnded(String id, LocalDateTime now);
+
+    /**
+     * Obtiene los nombres de los laboratorios que tienen alguna reserva solapada con [start, end)
+     * en una sola agregación ($match por solapamiento y $group por laboratorio).
+     * Usa el índice (startDateTime, endDateTime).
+     * @param start Fecha y hora de inicio de la ventana.
+     * @param end Fecha y hora de fin de la ventana.
+     * @return Nombres de los laboratorios ocupados en la ventana.
+     */
+    List<String> findBusyLaboratoryNames(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Reemplaza una reserva existente con una sola escritura, sin insertarla si no existe.
+     * @param reservation Reserva con los nuevos datos.
+     * @return Cantidad de reservas encontradas (0 o 1).
+     */
+    long replaceReservation(Reservation reservation);
+
+    /**
+     * Reemplaza una reserva existente con una sola escritura, sin insertarla si no existe, y
+     * devuelve el documento que había antes del reemplazo.
+     * @param reservation Reserva con los nuevos datos.
+     * @return La reserva anterior, o null si no existía.
+     */
+    Reservation findAndReplaceReservation(Reservation reservation);
+
+    /**
+     * Elimina una reserva por su ID con una sola escritura.
+     * @param id Identificador de la reserva.
+     * @return Cantidad de reservas eliminadas (0 o 1).
+     */
+    long removeReservationById(String id);
+
+    /**
+     * Obtiene una página de reservas ordenadas por _id, a partir de un identificador.
+     * @param afterId Identificador de la última reserva de la página anterior, o null para la primera.
+     * @param limit Tamaño máximo de la página.
+     * @return Lista de reservas de la página.
+     */
+    List<Reservation> findPage(String afterId, int limit);
+
+    /**
+     * Obtiene una página de las reservas contenidas en [start, end], ordenadas por (startDateTime, _id).
+     * Usa el índice (startDateTime, _id).
+     * @param start Fecha de inicio del rango.
+     * @param end Fecha de fin del rango.
+     * @param afterStart Fecha de inicio de la última reserva de la página anterior, o null para la primera.
+     * @param afterId Identificador de la última reserva de la página anterior.
+     * @param limit Tamaño máximo de la página.
+     * @return Lista de reservas de la página.
+     */
+    List<Reservation> findInRangePage(LocalDateTime start, LocalDateTime end, LocalDateTime afterStart, String afterId, int limit);
+
+    /**
+     * Obtiene una página de las reservas de un usuario, ordenadas por (startDateTime, _id).
+     * Usa el índice (username, startDateTime, _id).
+     * @param username Nombre del usuario.
+     * @param afterStart Fecha de inicio de la última reserva de la página anterior, o null para la primera.
+     * @param afterId Identificador de la última reserva de la página anterior.
+     * @param limit Tamaño máximo de la página.
+     * @return Lista de reservas de la página.
+     */
+    List<Reservation> findByUsernamePage(String username, LocalDateTime afterStart, String afterId, int limit);
+
+    /**
+     * Cuenta las reservas por día de inicio con una agregación ($group sobre $dateToString).
+     * Recorre el índice (startDateTime, endDateTime) sin leer los documentos.
+     * @param zone Zona horaria en la que se calcula el día de cada reserva.
+     * @return Mapa ordenado de día a cantidad de reservas.
+     */
+    Map<LocalDate, Long> countByStartDate(ZoneId zone);
+
+    /**
+     * Cuenta las reservas por laboratorio con una agregación ($match opcional y $group).
+     * Sin rango recorre el índice (laboratoryname, startDateTime, endDateTime) sin leer los documentos;
+     * con rango filtra en el servidor usando el índice (startDateTime, endDateTime).
+     * @param from Fecha y hora mínima de inicio, inclusiva, o null para no filtrar.
+     * @param to Fecha y hora máxima de inicio, exclusiva, o null para no filtrar.
+     * @return Mapa ordenado de nombre de laboratorio a cantidad de reservas.
+     */
+    Map<String, Long> countByLaboratory(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Cuenta las reservas por prioridad con una agregación ($group); ignora las reservas sin prioridad.
+     * @return Mapa ordenado de prioridad a cantidad de reservas.
+     */
+    Map<Integer, Long> countByPriority();
+
+    /**
+     * Recorre con un cursor las reservas que se solapan con [from, to), ordenadas por
+     * startDateTime, proyectando solo laboratorio, inicio y fin. Como ninguna reserva dura más de
+     * maxLength, las que se solapan empiezan en [from - maxLength, to); la consulta recorre solo
+     * ese tramo del índice (startDateTime, endDateTime) y descarta con la llave del índice las que
+     * terminan antes de from. Las reservas se entregan una por una sin cargarlas todas en memoria.
+     * @param from Fecha y hora de inicio de la ventana.
+     * @param to Fecha y hora de fin de la ventana.
+     * @param maxLength Duración máxima de una reserva; las más largas que empiecen antes de
+     *                  from - maxLength no se recorren.
+     * @param consumer Función que recibe cada reserva.
+     */
+    void streamOverlapping(LocalDateTime from, LocalDateTime to, Duration maxLength, Consumer<Reservation> consumer);
+
+    /**
+     * Recorre con un cursor las reservas que cumplen los filtros, ordenadas por fecha de inicio,
+     * entregándolas una por una sin cargarlas todas en memoria. El orden lo da un índice en todos
+     * los casos: (laboratoryname, startDateTime, ...) si se filtra por laboratorio,
+     * (username, startDateTime, _id) si se filtra por usuario y (startDateTime, ...) si no.
+     * @param labName Nombre del laboratorio, o null para no filtrar.
+     * @param username Nombre del usuario, o null para no filtrar.
+     * @param from Fecha y hora mínima de inicio, inclusiva, o null para no filtrar.
+     * @param to Fecha y hora máxima de inicio, exclusiva, o null para no filtrar.
+     * @param consumer Función que recibe cada reserva.
+     */
+    void streamReservations(String labName, String username, LocalDateTime from, LocalDateTime to, Consumer<Reservation> consumer);
+
+    /**
+     * Inserta varias reservas con una sola escritura por lotes no ordenada: un error en una
+     * reserva no impide insertar las demás. Las reservas deben traer su ID ya asignado.
+     *
+     * Si la escritura falla sin un resultado por reserva (por ejemplo, se corta la conexión), parte
+     * del lote pudo quedar guardada; en ese caso se consultan los IDs y se reportan como fallidas
+     * solo las reservas que no están en la base de datos.
+     * @param reservations Reservas a insertar.
+     * @return Posiciones, dentro de la lista, de las reservas que no se pudieron insertar.
+     * @throws org.springframework.dao.DataAccessException Si falla la escritura y tampoco se puede
+     *         consultar qué reservas quedaron guardadas.
+     */
+    Set<Integer> bulkInsert(List<Reservation> reservations);
+}
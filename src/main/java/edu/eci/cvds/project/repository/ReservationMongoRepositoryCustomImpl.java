@@ -0,0 +1,267 @@
+package edu.eci.cvds.project.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import edu.eci.cvds.project.model.Reservation;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ReservationMongoRepositoryCustomImpl implements ReservationMongoRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Reservation> findEndedBefore(boolean status, LocalDateTime time, int limit) {
+        Query query = new Query(Criteria.where("Status").is(status).and("endDateTime").lt(time))
+                .with(Sort.by(Sort.Direction.ASC, "endDateTime"))
+                .limit(limit);
+        return mongoTemplate.find(query, Reservation.class);
+    }
+
+    @Override
+    public long markExpired(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Query query = new Query(Criteria.where("id").in(ids));
+        return mongoTemplate.updateMulti(query, new Update().set("Status", false), Reservation.class).getModifiedCount();
+    }
+
+    @Override
+    public List<Reservation> findActiveEndTimes() {
+        Query query = new Query(Criteria.where("Status").is(true));
+        query.fields().include("endDateTime");
+        return mongoTemplate.find(query, Reservation.class);
+    }
+
+    @Override
+    public boolean expireIfEnded(String id, LocalDateTime now) {
+        Query query = new Query(Criteria.where("id").is(id).and("Status").is(true).and("endDateTime").lte(now));
+        return mongoTemplate.updateFirst(query, new Update().set("Status", false), Reservation.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public List<String> findBusyLaboratoryNames(LocalDateTime start, LocalDateTime end) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("startDateTime").lt(end).and("endDateTime").gt(start)),
+                Aggregation.group("laboratoryname"));
+        return mongoTemplate.aggregate(aggregation, Reservation.class, Document.class)
+                .getMappedResults().stream()
+                .map(document -> document.getString("_id"))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long replaceReservation(Reservation reservation) {
+        Query query = new Query(Criteria.where("id").is(reservation.getId()));
+        return mongoTemplate.replace(query, reservation).getMatchedCount();
+    }
+
+    @Override
+    public Reservation findAndReplaceReservation(Reservation reservation) {
+        Query query = new Query(Criteria.where("id").is(reservation.getId()));
+        return mongoTemplate.findAndReplace(query, reservation);
+    }
+
+    @Override
+    public long removeReservationById(String id) {
+        return mongoTemplate.remove(new Query(Criteria.where("id").is(id)), Reservation.class).getDeletedCount();
+    }
+
+    @Override
+    public List<Reservation> findPage(String afterId, int limit) {
+        Criteria criteria = afterId == null ? new Criteria() : Criteria.where("id").gt(afterId);
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+        return mongoTemplate.find(query, Reservation.class);
+    }
+
+    @Override
+    public List<Reservation> findInRangePage(LocalDateTime start, LocalDateTime end, LocalDateTime afterStart, String afterId, int limit) {
+        Criteria range = Criteria.where("startDateTime").gte(start).and("endDateTime").lte(end);
+        return mongoTemplate.find(startOrderedPage(range, afterStart, afterId, limit), Reservation.class);
+    }
+
+    @Override
+    public List<Reservation> findByUsernamePage(String username, LocalDateTime afterStart, String afterId, int limit) {
+        Criteria owner = Criteria.where("username").is(username);
+        return mongoTemplate.find(startOrderedPage(owner, afterStart, afterId, limit), Reservation.class);
+    }
+
+    @Override
+    public Map<LocalDate, Long> countByStartDate(ZoneId zone) {
+        // El $sort inicial deja que el planificador recorra el índice por startDateTime y agrupe
+        // sin leer los documentos, porque ninguna otra etapa necesita otro campo.
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.sort(Sort.Direction.ASC, "startDateTime"),
+                Aggregation.project().and(DateOperators.dateOf("startDateTime")
+                        .withTimezone(DateOperators.Timezone.valueOf(zone.getId()))
+                        .toString("%Y-%m-%d")).as("day"),
+                Aggregation.group("day").count().as("count"),
+                Aggregation.sort(Sort.Direction.ASC, "_id"));
+        Map<LocalDate, Long> counts = new LinkedHashMap<>();
+        for (Document document : mongoTemplate.aggregate(aggregation, Reservation.class, Document.class)) {
+            String day = document.getString("_id");
+            if (day != null) {
+                counts.put(LocalDate.parse(day), count(document));
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> countByLaboratory(LocalDateTime from, LocalDateTime to) {
+        Aggregation aggregation;
+        if (from == null || to == null) {
+            aggregation = Aggregation.newAggregation(
+                    Aggregation.sort(Sort.Direction.ASC, "laboratoryname"),
+                    Aggregation.group("laboratoryname").count().as("count"),
+                    Aggregation.sort(Sort.Direction.ASC, "_id"));
+        } else {
+            aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("startDateTime").gte(from).lt(to)),
+                    Aggregation.group("laboratoryname").count().as("count"),
+                    Aggregation.sort(Sort.Direction.ASC, "_id"));
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Document document : mongoTemplate.aggregate(aggregation, Reservation.class, Document.class)) {
+            counts.put(document.getString("_id"), count(document));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<Integer, Long> countByPriority() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("priority").ne(null)),
+                Aggregation.group("priority").count().as("count"),
+                Aggregation.sort(Sort.Direction.ASC, "_id"));
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        for (Document document : mongoTemplate.aggregate(aggregation, Reservation.class, Document.class)) {
+            counts.put(((Number) document.get("_id")).intValue(), count(document));
+        }
+        return counts;
+    }
+
+    @Override
+    public void streamOverlapping(LocalDateTime from, LocalDateTime to, Duration maxLength, Consumer<Reservation> consumer) {
+        Query query = new Query(Criteria.where("startDateTime").gte(from.minus(maxLength)).lt(to)
+                .and("endDateTime").gt(from))
+                .with(Sort.by(Sort.Direction.ASC, "startDateTime"))
+                .withHint("start_end_idx");
+        query.fields().include("laboratoryname", "startDateTime", "endDateTime").exclude("id");
+        try (Stream<Reservation> reservations = mongoTemplate.stream(query, Reservation.class)) {
+            reservations.forEach(consumer);
+        }
+    }
+
+    @Override
+    public void streamReservations(String labName, String username, LocalDateTime from, LocalDateTime to, Consumer<Reservation> consumer) {
+        Criteria criteria = new Criteria();
+        if (labName != null) {
+            criteria.and("laboratoryname").is(labName);
+        }
+        if (username != null) {
+            criteria.and("username").is(username);
+        }
+        if (from != null || to != null) {
+            Criteria start = criteria.and("startDateTime");
+            if (from != null) {
+                start.gte(from);
+            }
+            if (to != null) {
+                start.lt(to);
+            }
+        }
+        // Solo se ordena por startDateTime: con un desempate por _id el índice por laboratorio
+        // no daría el orden y MongoDB tendría que ordenar en memoria todo el resultado.
+        Query query = new Query(criteria).with(Sort.by(Sort.Direction.ASC, "startDateTime"));
+        try (Stream<Reservation> reservations = mongoTemplate.stream(query, Reservation.class)) {
+            reservations.forEach(consumer);
+        }
+    }
+
+    @Override
+    public Set<Integer> bulkInsert(List<Reservation> reservations) {
+        Set<Integer> failed = new HashSet<>();
+        if (reservations.isEmpty()) {
+            return failed;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Reservation.class)
+                    .insert(reservations)
+                    .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+            }
+        } catch (DataAccessException e) {
+            // Sin la respuesta del servidor no se sabe qué parte del lote quedó escrita: se consulta.
+            Set<String> stored;
+            try {
+                stored = findExistingIds(reservations);
+            } catch (DataAccessException readError) {
+                e.addSuppressed(readError);
+                throw e;
+            }
+            for (int i = 0; i < reservations.size(); i++) {
+                if (!stored.contains(reservations.get(i).getId())) {
+                    failed.add(i);
+                }
+            }
+        }
+        return failed;
+    }
+
+    private Set<String> findExistingIds(List<Reservation> reservations) {
+        List<String> ids = reservations.stream().map(Reservation::getId).collect(Collectors.toList());
+        Query query = new Query(Criteria.where("id").in(ids));
+        query.fields().include("id");
+        return mongoTemplate.find(query, Reservation.class).stream()
+                .map(Reservation::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private static long count(Document document) {
+        return ((Number) document.get("count")).longValue();
+    }
+
+    /**
+     * Arma la consulta de una página ordenada por (startDateTime, _id) que continúa después de la
+     * posición (afterStart, afterId).
+     */
+    private static Query startOrderedPage(Criteria filter, LocalDateTime afterStart, String afterId, int limit) {
+        Criteria criteria = filter;
+        if (afterStart != null) {
+            criteria = new Criteria().andOperator(filter, new Criteria().orOperator(
+                    Criteria.where("startDateTime").gt(afterStart),
+                    Criteria.where("startDateTime").is(afterStart).and("id").gt(afterId)));
+        }
+        return new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "startDateTime", "id"))
+                .limit(limit);
+    }
+}
@@ -0,0 +1,18 @@
+package edu.eci.cvds.project.repository;
+
+import edu.eci.cvds.project.model.ReservationStatistic;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReservationStatisticMongoRepository extends MongoRepository<ReservationStatistic, String>, ReservationStatisticMongoRepositoryCustom {
+
+    /**
+     * Obtiene todos los contadores de un tipo de grupo.
+     * @param type Tipo de grupo (laboratorio, día o prioridad).
+     * @return Lista de contadores del tipo.
+     */
+    List<ReservationStatistic> findByType(String type);
+}
@@ -0,0 +1,34 @@
+package edu.eci.cvds.project.repository;
+
+import edu.eci.cvds.project.model.ReservationStatistic;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Operaciones de {@link ReservationStatisticMongoRepository} implementadas directamente con MongoTemplate.
+ */
+public interface ReservationStatisticMongoRepositoryCustom {
+
+    /**
+     * Suma delta a varios contadores con upserts $inc enviados en una sola escritura por lotes.
+     * Los contadores que no existen se crean.
+     * @param keysByType Llaves de los grupos a actualizar, por tipo de grupo.
+     * @param delta Cantidad a sumar (negativa para restar).
+     */
+    void increment(Map<String, Collection<String>> keysByType, long delta);
+
+    /**
+     * Suma a cada contador el conteo del objeto dado, con upserts $inc enviados en una sola
+     * escritura por lotes. Los contadores que no existen se crean.
+     * @param deltas Contadores con la cantidad a sumar a cada uno.
+     */
+    void incrementAll(Collection<ReservationStatistic> deltas);
+
+    /**
+     * Reemplaza los valores de todos los contadores: fija el conteo de cada grupo dado y elimina
+     * los contadores que ya no aparecen.
+     * @param statistics Contadores con sus valores exactos.
+     */
+    void replaceAll(Collection<ReservationStatistic> statistics);
+}
@@ -0,0 +1,73 @@
+package edu.eci.cvds.project.repository;
+
+import edu.eci.cvds.project.model.ReservationStatistic;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class ReservationStatisticMongoRepositoryCustomImpl implements ReservationStatisticMongoRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void increment(Map<String, Collection<String>> keysByType, long delta) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReservationStatistic.class);
+        boolean empty = true;
+        for (Map.Entry<String, Collection<String>> entry : keysByType.entrySet()) {
+            for (String key : entry.getValue()) {
+                Query query = new Query(Criteria.where("id").is(ReservationStatistic.idOf(entry.getKey(), key)));
+                Update update = new Update().inc("count", delta)
+                        .setOnInsert("type", entry.getKey())
+                        .setOnInsert("key", key);
+                operations.upsert(query, update);
+                empty = false;
+            }
+        }
+        if (!empty) {
+            operations.execute();
+        }
+    }
+
+    @Override
+    public void incrementAll(Collection<ReservationStatistic> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReservationStatistic.class);
+        for (ReservationStatistic delta : deltas) {
+            Query query = new Query(Criteria.where("id").is(delta.getId()));
+            Update update = new Update().inc("count", delta.getCount())
+                    .setOnInsert("type", delta.getType())
+                    .setOnInsert("key", delta.getKey());
+            operations.upsert(query, update);
+        }
+        operations.execute();
+    }
+
+    @Override
+    public void replaceAll(Collection<ReservationStatistic> statistics) {
+        List<String> ids = new ArrayList<>();
+        if (!statistics.isEmpty()) {
+            BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReservationStatistic.class);
+            for (ReservationStatistic statistic : statistics) {
+                Query query = new Query(Criteria.where("id").is(statistic.getId()));
+                Update update = new Update().set("count", statistic.getCount())
+                        .set("type", statistic.getType())
+                        .set("key", statistic.getKey());
+                operations.upsert(query, update);
+                ids.add(statistic.getId());
+            }
+            operations.execute();
+        }
+        mongoTemplate.remove(new Query(Criteria.where("id").nin(ids)), ReservationStatistic.class);
+    }
+}
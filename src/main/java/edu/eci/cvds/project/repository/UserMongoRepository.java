@@ -12,18 +12,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserMongoRepository extends MongoRepository<User, String> {
-    /**
-     * Verifica si un usuario existe en la base de datos por su ID.
-     * @param id Identificador del usuario.
-     * @return true si el usuario existe, false en caso contrario.
-     */
-    @Override
-    default boolean existsById(String id) {
-        User user = findUserById(id);
-        return user != null;
-    }
-
+public interface UserMongoRepository extends MongoRepository<User, String>, UserMongoRepositoryCustom {
     /**
      * Genera un identificador único para un usuario utilizando UUID.
      * @return Un identificador único como cadena de texto.
@@ -68,24 +57,21 @@ public interface UserMongoRepository extends MongoRepository<User, String> {
      * @throws RuntimeException Si el usuario no se encuentra.
      */
     default void deleteUserById(String id) {
-        if (!existsById(id)) {
+        if (removeUserById(id) == 0) {
             throw new RuntimeException("User not found");
         }
-        deleteById(id);
     }
 
     /**
-     * Actualiza un usuario existente en la base de datos.
+     * Actualiza un usuario existente en la base de datos con un solo reemplazo condicional.
      * @param user El usuario con los nuevos datos.
      * @return El usuario actualizado.
      * @throws RuntimeException Si el usuario no se encuentra en la base de datos.
      */
     default User updateUser(User user) {
-        if (!existsById(user.getId())) {
+        if (replaceUser(user) == 0) {
             throw new RuntimeException("User not found");
         }
-        user.setReservations(user.getReservations());
-        save(user);
         return user;
     }
 
@@ -97,6 +83,22 @@ public interface UserMongoRepository extends MongoRepository<User, String> {
     @Query("{ 'username' : ?0 }")
     User findUserByUsername(String username);
 
+    /**
+     * Busca las credenciales de un usuario proyectando solo el nombre de usuario, la contraseña y el rol.
+     * @param username Nombre de usuario.
+     * @return El usuario con solo id, username, password y role, o null si no existe.
+     */
+    @Query(value = "{ 'username' : ?0 }", fields = "{ 'username' : 1, 'password' : 1, 'role' : 1 }")
+    User findCredentialsByUsername(String username);
+
+    /**
+     * Busca la contraseña guardada de un usuario proyectando solo ese campo.
+     * @param id Identificador del usuario.
+     * @return El usuario con solo id y password, o null si no existe.
+     */
+    @Query(value = "{ '_id' : ?0 }", fields = "{ 'password' : 1 }")
+    User findPasswordById(String id);
+
     /**
      * Verifica si existe un usuario con un nombre de usuario específico.
      * @param username Nombre de usuario.
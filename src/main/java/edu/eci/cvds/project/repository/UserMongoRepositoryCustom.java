@@ -0,0 +1,85 @@
+package edu.eci.cvds.project.repository;
+
+import edu.eci.cvds.project.model.DTO.UserSummaryDTO;
+import edu.eci.cvds.project.model.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Operaciones de {@link UserMongoRepository} implementadas directamente con MongoTemplate.
+ */
+public interface UserMongoRepositoryCustom {
+
+    /**
+     * Agrega el identificador de una reserva al usuario con una sola actualización atómica,
+     * sin leer ni reescribir el documento completo.
+     * @param username Nombre del usuario.
+     * @param reservationId Identificador de la reserva.
+     * @return true si el usuario existe.
+     */
+    boolean addReservationId(String username, String reservationId);
+
+    /**
+     * Quita el identificador de una reserva del usuario con una sola actualización atómica.
+     * @param username Nombre del usuario.
+     * @param reservationId Identificador de la reserva.
+     * @return true si el usuario existe.
+     */
+    boolean removeReservationId(String username, String reservationId);
+
+    /**
+     * Agrega identificadores de reservas a varios usuarios con actualizaciones $addToSet
+     * enviadas en una sola escritura por lotes.
+     * @param reservationIdsByUsername Identificadores de reservas por nombre de usuario.
+     * @return Cantidad de usuarios encontrados.
+     */
+    long addReservationIds(Map<String, List<String>> reservationIdsByUsername);
+
+    /**
+     * Obtiene cuáles de los nombres de usuario dados existen, con una sola consulta que solo
+     * proyecta el nombre de usuario.
+     * @param usernames Nombres de usuario a verificar.
+     * @return Los nombres de usuario que existen.
+     */
+    Set<String> findExistingUsernames(Collection<String> usernames);
+
+    /**
+     * Vacía la lista de reservas de todos los usuarios.
+     * @return Cantidad de usuarios modificados.
+     */
+    long clearReservationIds();
+
+    /**
+     * Reemplaza un usuario existente con una sola escritura, sin insertarlo si no existe.
+     * @param user Usuario con los nuevos datos.
+     * @return Cantidad de usuarios encontrados (0 o 1).
+     */
+    long replaceUser(User user);
+
+    /**
+     * Elimina un usuario por su ID con una sola escritura.
+     * @param id Identificador del usuario.
+     * @return Cantidad de usuarios eliminados (0 o 1).
+     */
+    long removeUserById(String id);
+
+    /**
+     * Obtiene una página de usuarios completos ordenados por _id.
+     * @param afterId Identificador del último usuario de la página anterior, o null para la primera.
+     * @param limit Tamaño máximo de la página.
+     * @return Lista de usuarios de la página.
+     */
+    List<User> findPage(String afterId, int limit);
+
+    /**
+     * Obtiene una página de resúmenes de usuario (id, nombre de usuario y rol) ordenados por _id,
+     * con una consulta proyectada.
+     * @param afterId Identificador del último usuario de la página anterior, o null para la primera.
+     * @param limit Tamaño máximo de la página.
+     * @return Lista de resúmenes de la página.
+     */
+    List<UserSummaryDTO> findSummaryPage(String afterId, int limit);
+}
@@ -0,0 +1,96 @@
+package edu.eci.cvds.project.repository;
+
+import edu.eci.cvds.project.model.DTO.UserSummaryDTO;
+import edu.eci.cvds.project.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class UserMongoRepositoryCustomImpl implements UserMongoRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean addReservationId(String username, String reservationId) {
+        Query query = new Query(Criteria.where("username").is(username));
+        return mongoTemplate.updateFirst(query, new Update().addToSet("reservationIds", reservationId), User.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean removeReservationId(String username, String reservationId) {
+        Query query = new Query(Criteria.where("username").is(username));
+        return mongoTemplate.updateFirst(query, new Update().pull("reservationIds", reservationId), User.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public long addReservationIds(Map<String, List<String>> reservationIdsByUsername) {
+        if (reservationIdsByUsername.isEmpty()) {
+            return 0;
+        }
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        for (Map.Entry<String, List<String>> entry : reservationIdsByUsername.entrySet()) {
+            Query query = new Query(Criteria.where("username").is(entry.getKey()));
+            operations.updateOne(query, new Update().addToSet("reservationIds").each(entry.getValue().toArray()));
+        }
+        return operations.execute().getMatchedCount();
+    }
+
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        Query query = new Query(Criteria.where("username").in(usernames));
+        query.fields().include("username");
+        Set<String> existing = new HashSet<>();
+        for (User user : mongoTemplate.find(query, User.class)) {
+            existing.add(user.getUsername());
+        }
+        return existing;
+    }
+
+    @Override
+    public long clearReservationIds() {
+        return mongoTemplate.updateMulti(new Query(), new Update().set("reservationIds", new ArrayList<>()), User.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public long replaceUser(User user) {
+        Query query = new Query(Criteria.where("id").is(user.getId()));
+        return mongoTemplate.replace(query, user).getMatchedCount();
+    }
+
+    @Override
+    public long removeUserById(String id) {
+        return mongoTemplate.remove(new Query(Criteria.where("id").is(id)), User.class).getDeletedCount();
+    }
+
+    @Override
+    public List<User> findPage(String afterId, int limit) {
+        return mongoTemplate.find(page(afterId, limit), User.class);
+    }
+
+    @Override
+    public List<UserSummaryDTO> findSummaryPage(String afterId, int limit) {
+        Query query = page(afterId, limit);
+        query.fields().include("username", "role");
+        return mongoTemplate.find(query, UserSummaryDTO.class, mongoTemplate.getCollectionName(User.class));
+    }
+
+    private static Query page(String afterId, int limit) {
+        Criteria criteria = afterId == null ? new Criteria() : Criteria.where("id").gt(afterId);
+        return new Query(criteria).with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+    }
+}
@@ -0,0 +1,89 @@
+package edu.eci.cvds.project.service;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migración en línea de las reservas embebidas en los documentos Laboratory y User.
+ *
+ * Antes cada laboratorio y usuario guardaba copias completas de sus reservas en el arreglo
+ * {@code reservations}. Ahora solo se guardan los identificadores en {@code reservationIds} y las
+ * reservas se consultan en su colección. Esta tarea recorre por lotes los documentos que aún tienen
+ * el arreglo embebido, copia los identificadores y elimina el arreglo con una actualización por
+ * documento, mientras la aplicación sigue atendiendo peticiones. Cuando no quedan documentos por
+ * migrar deja de consultar la base de datos.
+ *
+ * El tamaño del lote y la frecuencia se configuran con migration.embedded-reservations.chunk-size
+ * y migration.embedded-reservations.interval-ms.
+ */
+@Component
+public class EmbeddedReservationMigration {
+
+    static final String[] COLLECTIONS = {"Laboratory", "User"};
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${migration.embedded-reservations.chunk-size:100}")
+    private int chunkSize = 100;
+
+    private volatile boolean completed;
+
+    /**
+     * Migra un lote de documentos de cada colección.
+     */
+    @Scheduled(fixedDelayString = "${migration.embedded-reservations.interval-ms:5000}")
+    public void migrateChunk() {
+        if (completed) {
+            return;
+        }
+        int migrated = 0;
+        for (String collection : COLLECTIONS) {
+            migrated += migrateChunk(collection);
+        }
+        if (migrated == 0) {
+            completed = true;
+        }
+    }
+
+    /**
+     * Indica si ya no quedan documentos con reservas embebidas.
+     * @return true si la migración terminó.
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    private int migrateChunk(String collection) {
+        Query query = new Query(Criteria.where("reservations").exists(true)).limit(chunkSize);
+        query.fields().include("reservations._id");
+        List<Document> documents = mongoTemplate.find(query, Document.class, collection);
+        for (Document document : documents) {
+            List<String> ids = new ArrayList<>();
+            Object embedded = document.get("reservations");
+            if (embedded instanceof List<?> reservations) {
+                for (Object reservation : reservations) {
+                    if (reservation instanceof Document copy && copy.get("_id") != null) {
+                        ids.add(copy.get("_id").toString());
+                    }
+                }
+            }
+            Update update = new Update().unset("reservations");
+            if (!ids.isEmpty()) {
+                update.addToSet("reservationIds").each(ids.toArray());
+            }
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(document.get("_id"))), update, collection);
+        }
+        return documents.size();
+    }
+}
@@ -0,0 +1,138 @@
+package edu.eci.cvds.project.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Conjunto de intervalos [inicio, fin) de un laboratorio ordenado por inicio.
+ *
+ * Además de los arreglos de inicios y fines se mantiene el máximo acumulado de los fines
+ * (maxEnds[i] = max(ends[0..i])). Como ese arreglo es no decreciente, una consulta de
+ * solapamiento se resuelve con una búsqueda binaria: basta con tomar el último intervalo que
+ * empieza antes del fin consultado y revisar si algún intervalo anterior termina después del
+ * inicio consultado. Las consultas cuestan O(log n) y las inserciones y eliminaciones O(n).
+ *
+ * La clase no es segura para hilos; quien la use debe sincronizar el acceso.
+ */
+final class LabIntervalSet {
+
+    private long[] starts = new long[8];
+    private long[] ends = new long[8];
+    private long[] maxEnds = new long[8];
+    private String[] ids = new String[8];
+    private int size;
+
+    /**
+     * Inserta un intervalo manteniendo el orden por inicio.
+     * @param id Identificador de la reserva asociada.
+     * @param start Inicio del intervalo (inclusivo).
+     * @param end Fin del intervalo (exclusivo).
+     */
+    void add(String id, long start, long end) {
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            maxEnds = Arrays.copyOf(maxEnds, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        int position = countStartsBefore(start + 1);
+        int moved = size - position;
+        System.arraycopy(starts, position, starts, position + 1, moved);
+        System.arraycopy(ends, position, ends, position + 1, moved);
+        System.arraycopy(ids, position, ids, position + 1, moved);
+        starts[position] = start;
+        ends[position] = end;
+        ids[position] = id;
+        size++;
+        recomputeMaxEnds(position);
+    }
+
+    /**
+     * Elimina el intervalo asociado a una reserva.
+     * @param id Identificador de la reserva.
+     * @return true si el intervalo existía.
+     */
+    boolean remove(String id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i].equals(id)) {
+                int moved = size - i - 1;
+                System.arraycopy(starts, i + 1, starts, i, moved);
+                System.arraycopy(ends, i + 1, ends, i, moved);
+                System.arraycopy(ids, i + 1, ids, i, moved);
+                size--;
+                ids[size] = null;
+                recomputeMaxEnds(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indica si algún intervalo se solapa con [start, end).
+     */
+    boolean overlaps(long start, long end) {
+        int candidates = countStartsBefore(end);
+        return candidates > 0 && maxEnds[candidates - 1] > start;
+    }
+
+    /**
+     * Devuelve, ordenados por inicio, los intervalos que se solapan con [from, to).
+     * Cada elemento es un par {inicio, fin}.
+     */
+    List<long[]> overlapping(long from, long to) {
+        int last = countStartsBefore(to);
+        List<long[]> result = new ArrayList<>();
+        for (int i = firstEndingAfter(from); i < last; i++) {
+            if (ends[i] > from) {
+                result.add(new long[]{starts[i], ends[i]});
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cantidad de intervalos cuyo inicio es estrictamente menor que el valor dado.
+     */
+    private int countStartsBefore(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Primer índice cuyo máximo acumulado de fines es mayor que el valor dado; todos los
+     * intervalos anteriores terminan antes o justo en ese valor.
+     */
+    private int firstEndingAfter(long value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maxEnds[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void recomputeMaxEnds(int from) {
+        long max = from == 0 ? Long.MIN_VALUE : maxEnds[from - 1];
+        for (int i = from; i < size; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+}
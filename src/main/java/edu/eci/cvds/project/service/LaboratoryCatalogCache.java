@@ -0,0 +1,221 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.Laboratory;
+import edu.eci.cvds.project.repository.LaboratoryMongoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Caché en memoria del catálogo de laboratorios (solo id y nombre, sin reservas), ordenado por id
+ * para poder paginarlo por cursor.
+ *
+ * El catálogo cambia muy poco y es lo que más se lee. Se guarda como una instantánea inmutable
+ * que se reemplaza completa en cada cambio, así que las lecturas no usan locks.
+ * {@link LaboratoryService} la actualiza al crear o eliminar laboratorios. Si
+ * laboratories.catalog.refresh-ahead está activo, la instantánea se recarga periódicamente para
+ * recoger cambios hechos fuera de esta instancia sin dejar nunca la caché vacía.
+ *
+ * Publica los contadores laboratory.catalog.requests con la etiqueta result=hit|miss.
+ */
+@Component
+public class LaboratoryCatalogCache {
+
+    @Autowired
+    private LaboratoryMongoRepository laboratoryRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${laboratories.catalog.refresh-ahead:true}")
+    private boolean refreshAhead = true;
+
+    private volatile Snapshot snapshot;
+    private Counter hits;
+    private Counter misses;
+
+    /**
+     * Registra los contadores de aciertos y fallos.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        hits = Counter.builder("laboratory.catalog.requests").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("laboratory.catalog.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Carga el catálogo al arrancar la aplicación. Está sincronizado con {@link #put} y
+     * {@link #remove}: un cambio que llega mientras se lee la base de datos espera a que se publique
+     * la nueva instantánea y se aplica sobre ella, en lugar de perderse.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        snapshot = new Snapshot(laboratoryRepository.findAllNames());
+    }
+
+    /**
+     * Recarga el catálogo por adelantado para que la caché nunca quede fría.
+     */
+    @Scheduled(fixedDelayString = "${laboratories.catalog.refresh-ms:60000}")
+    public void refresh() {
+        if (refreshAhead) {
+            load();
+        }
+    }
+
+    /**
+     * Obtiene todos los laboratorios del catálogo.
+     * @return Copias de los laboratorios con solo id y nombre.
+     */
+    public List<Laboratory> getAll() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            misses.increment();
+            load();
+            current = snapshot;
+        } else {
+            hits.increment();
+        }
+        List<Laboratory> laboratories = new ArrayList<>(current.byId.size());
+        for (Laboratory laboratory : current.byId.values()) {
+            laboratories.add(copy(laboratory));
+        }
+        return laboratories;
+    }
+
+    /**
+     * Obtiene una página del catálogo ordenada por ID.
+     * @param afterId Identificador del último laboratorio de la página anterior, o null para la primera.
+     * @param limit Tamaño máximo de la página.
+     * @return Copias de los laboratorios de la página con solo id y nombre.
+     */
+    public List<Laboratory> getPage(String afterId, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            misses.increment();
+            load();
+            current = snapshot;
+        } else {
+            hits.increment();
+        }
+        Map<String, Laboratory> tail = afterId == null ? current.byId : current.byId.tailMap(afterId, false);
+        List<Laboratory> laboratories = new ArrayList<>(Math.min(limit, tail.size()));
+        for (Laboratory laboratory : tail.values()) {
+            if (laboratories.size() == limit) {
+                break;
+            }
+            laboratories.add(copy(laboratory));
+        }
+        return laboratories;
+    }
+
+    /**
+     * Busca un laboratorio por su ID.
+     * @param id Identificador del laboratorio.
+     * @return Copia del laboratorio con solo id y nombre, o null si no existe.
+     */
+    public Laboratory getById(String id) {
+        Snapshot current = snapshot;
+        Laboratory laboratory = current == null ? null : current.byId.get(id);
+        if (laboratory != null) {
+            hits.increment();
+            return copy(laboratory);
+        }
+        misses.increment();
+        return remember(laboratoryRepository.findById(id).orElse(null));
+    }
+
+    /**
+     * Busca un laboratorio por su nombre.
+     * @param name Nombre del laboratorio.
+     * @return Copia del laboratorio con solo id y nombre, o null si no existe.
+     */
+    public Laboratory getByName(String name) {
+        Snapshot current = snapshot;
+        Laboratory laboratory = current == null ? null : current.byName.get(name);
+        if (laboratory != null) {
+            hits.increment();
+            return copy(laboratory);
+        }
+        misses.increment();
+        return remember(laboratoryRepository.findLaboratoriesByName(name));
+    }
+
+    /**
+     * Agrega o reemplaza un laboratorio en el catálogo.
+     * @param laboratory Laboratorio guardado.
+     */
+    public synchronized void put(Laboratory laboratory) {
+        Snapshot current = snapshot;
+        if (current == null || laboratory == null || laboratory.getId() == null) {
+            return;
+        }
+        Map<String, Laboratory> byId = new TreeMap<>(current.byId);
+        byId.put(laboratory.getId(), copy(laboratory));
+        snapshot = new Snapshot(byId.values());
+    }
+
+    /**
+     * Elimina un laboratorio del catálogo.
+     * @param id Identificador del laboratorio.
+     */
+    public synchronized void remove(String id) {
+        Snapshot current = snapshot;
+        if (current == null || !current.byId.containsKey(id)) {
+            return;
+        }
+        Map<String, Laboratory> byId = new TreeMap<>(current.byId);
+        byId.remove(id);
+        snapshot = new Snapshot(byId.values());
+    }
+
+    /**
+     * Descarta la instantánea; la siguiente lectura del catálogo completo la vuelve a cargar.
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    private Laboratory remember(Laboratory laboratory) {
+        if (laboratory == null) {
+            return null;
+        }
+        put(laboratory);
+        return copy(laboratory);
+    }
+
+    private static Laboratory copy(Laboratory laboratory) {
+        return new Laboratory(laboratory.getId(), laboratory.getName(), new ArrayList<>());
+    }
+
+    private static final class Snapshot {
+        private final NavigableMap<String, Laboratory> byId;
+        private final Map<String, Laboratory> byName;
+
+        private Snapshot(Iterable<Laboratory> laboratories) {
+            NavigableMap<String, Laboratory> ids = new TreeMap<>();
+            Map<String, Laboratory> names = new LinkedHashMap<>();
+            for (Laboratory laboratory : laboratories) {
+                Laboratory entry = copy(laboratory);
+                ids.put(entry.getId(), entry);
+                names.put(entry.getName(), entry);
+            }
+            this.byId = Collections.unmodifiableNavigableMap(ids);
+            this.byName = Collections.unmodifiableMap(names);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package edu.eci.cvds.project.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapa de ocupación por franjas de cada laboratorio y día.
+ *
+ * Cada día de un laboratorio se representa con un bitset ({@code long[]}) en el que el bit i
+ * indica que alguna reserva toca la franja i del día. Con franjas de 15 minutos un día ocupa dos
+ * palabras, así que verificar un rango libre se reduce a unas pocas operaciones AND sobre
+ * palabras completas. Solo cuando el rango toca una franja marcada se confirma el resultado con
+ * {@link ReservationIntervalIndex}, ya que las reservas pueden no estar alineadas a las franjas.
+ *
+ * Los bitsets se construyen bajo demanda desde {@link ReservationIntervalIndex} y se descartan
+ * cuando cambia la versión de los intervalos del laboratorio. Cada laboratorio guarda a lo sumo
+ * laboratories.occupancy.max-cached-days días, descartando los usados menos recientemente, y los
+ * rangos de más de laboratories.occupancy.max-bitmap-days días se responden directamente con
+ * {@link ReservationIntervalIndex}, sin construir bitsets.
+ *
+ * Los rangos son semiabiertos: una reserva [inicio, fin) no ocupa el instante fin, así que dos
+ * reservas consecutivas no se solapan.
+ */
+@Component
+public class LaboratoryOccupancyIndex {
+
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    @Autowired
+    private ReservationIntervalIndex reservationIndex;
+
+    @Value("${laboratories.occupancy.slot-minutes:15}")
+    private int slotMinutes = 15;
+
+    @Value("${laboratories.occupancy.max-bitmap-days:7}")
+    private int maxBitmapDays = 7;
+
+    @Value("${laboratories.occupancy.max-cached-days:64}")
+    private int maxCachedDays = 64;
+
+    private final Map<String, LabDays> daysByLab = new ConcurrentHashMap<>();
+
+    /**
+     * Verifica si un laboratorio no tiene reservas que se solapen con [start, end).
+     * @param labName Nombre del laboratorio.
+     * @param start Fecha y hora de inicio.
+     * @param end Fecha y hora de fin.
+     * @return true si el laboratorio está libre en ese rango.
+     */
+    public boolean isAvailable(String labName, LocalDateTime start, LocalDateTime end) {
+        long from = ReservationIntervalIndex.toMillis(start);
+        long to = ReservationIntervalIndex.toMillis(end);
+        if (to <= from) {
+            return true;
+        }
+        LocalDate firstDay = start.toLocalDate();
+        LocalDate lastDay = end.minusNanos(1).toLocalDate();
+        if (ChronoUnit.DAYS.between(firstDay, lastDay) >= maxBitmapDays) {
+            return reservationIndex.isAvailable(labName, start, end);
+        }
+        long slotMillis = TimeUnit.MINUTES.toMillis(slotMinutes);
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            long dayStart = ReservationIntervalIndex.toMillis(day.atStartOfDay());
+            int firstSlot = (int) ((Math.max(from, dayStart) - dayStart) / slotMillis);
+            int lastSlot = (int) ((Math.min(to, dayStart + DAY_MILLIS) - dayStart + slotMillis - 1) / slotMillis);
+            if (anySet(occupancy(labName, day), firstSlot, lastSlot)) {
+                return reservationIndex.isAvailable(labName, start, end);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifica si un laboratorio está libre en un instante dado. Una reserva cubre su inicio pero
+     * no su fin: en el instante en que termina una reserva el laboratorio ya está libre.
+     * @param labName Nombre del laboratorio.
+     * @param dateTime Fecha y hora a verificar.
+     * @return true si ninguna reserva cubre ese instante.
+     */
+    public boolean isAvailable(String labName, LocalDateTime dateTime) {
+        return isAvailable(labName, dateTime, dateTime.plusNanos(1_000_000));
+    }
+
+    /**
+     * Descarta todos los bitsets construidos.
+     */
+    public void clear() {
+        daysByLab.clear();
+    }
+
+    private long[] occupancy(String labName, LocalDate day) {
+        long version = reservationIndex.version(labName);
+        LabDays days = daysByLab.get(labName);
+        if (days == null || days.version != version) {
+            days = new LabDays(version, maxCachedDays);
+            daysByLab.put(labName, days);
+        }
+        synchronized (days) {
+            return days.bitsByDay.computeIfAbsent(day, d -> build(labName, d));
+        }
+    }
+
+    private long[] build(String labName, LocalDate day) {
+        long slotMillis = TimeUnit.MINUTES.toMillis(slotMinutes);
+        int slots = (int) ((DAY_MILLIS + slotMillis - 1) / slotMillis);
+        long[] bits = new long[(slots + 63) >>> 6];
+        long dayStart = ReservationIntervalIndex.toMillis(day.atStartOfDay());
+        for (long[] interval : reservationIndex.overlapping(labName, day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+            int firstSlot = (int) ((Math.max(interval[0], dayStart) - dayStart) / slotMillis);
+            int lastSlot = (int) ((Math.min(interval[1], dayStart + DAY_MILLIS) - dayStart + slotMillis - 1) / slotMillis);
+            set(bits, firstSlot, lastSlot);
+        }
+        return bits;
+    }
+
+    /**
+     * Marca los bits [from, to).
+     */
+    static void set(long[] bits, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            bits[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        bits[firstWord] |= firstMask;
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            bits[i] = -1L;
+        }
+        bits[lastWord] |= lastMask;
+    }
+
+    /**
+     * Indica si alguno de los bits [from, to) está marcado.
+     */
+    static boolean anySet(long[] bits, int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            return (bits[firstWord] & firstMask & lastMask) != 0;
+        }
+        if ((bits[firstWord] & firstMask) != 0) {
+            return true;
+        }
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            if (bits[i] != 0) {
+                return true;
+            }
+        }
+        return (bits[lastWord] & lastMask) != 0;
+    }
+
+    private static final class LabDays {
+        private final long version;
+        private final Map<LocalDate, long[]> bitsByDay;
+
+        private LabDays(long version, int maxDays) {
+            this.version = version;
+            this.bitsByDay = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<LocalDate, long[]> eldest) {
+                    return size() > maxDays;
+                }
+            };
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package edu.eci.cvds.project.service;
 
 import edu.eci.cvds.project.model.DTO.LaboratoryDTO;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.Laboratory;
 import edu.eci.cvds.project.model.Reservation;
 import edu.eci.cvds.project.repository.LaboratoryMongoRepository;
-import edu.eci.cvds.project.util.JwtUtil;
+import edu.eci.cvds.project.repository.ReservationMongoRepository;
+import edu.eci.cvds.project.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class LaboratoryService implements ServicesLab {
@@ -19,76 +24,130 @@ public class LaboratoryService implements ServicesLab {
     @Autowired
     private LaboratoryMongoRepository laboratoryRepository;
     @Autowired
-    private JwtUtil jwtUtilservice;
+    private ReservationMongoRepository reservationRepository;
+    @Autowired
+    private LaboratoryOccupancyIndex occupancyIndex;
+    @Autowired
+    private LaboratoryCatalogCache catalogCache;
 
     /**
-     * Obtiene todos los laboratorios almacenados en la base de datos.
-     * @return Lista de todos los laboratorios.
+     * Obtiene todos los laboratorios del catálogo en caché.
+     * @return Lista de todos los laboratorios, con solo id y nombre.
      */
     @Override
     public List<Laboratory> getAllLaboratories() {
-        return laboratoryRepository.findAll();
+        return catalogCache.getAll();
     }
 
     /**
-     * Busca un laboratorio por su ID.
+     * Obtiene una página del catálogo en caché ordenada por ID.
+     * @param after Cursor de la página anterior, o null para la primera.
+     * @param limit Tamaño de la página, ajustado a {@link KeysetCursor#MAX_LIMIT}.
+     * @return La página de laboratorios, con solo id y nombre, y el cursor de la siguiente.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    @Override
+    public PageDTO<Laboratory> getLaboratoriesPage(String after, int limit) {
+        int size = KeysetCursor.limit(limit);
+        List<Laboratory> fetched = catalogCache.getPage(KeysetCursor.parseId(after), size + 1);
+        return KeysetCursor.page(fetched, size, laboratory -> KeysetCursor.of(laboratory.getId()));
+    }
+
+    /**
+     * Obtiene una página de laboratorios completos ordenados por ID, incluidos los identificadores
+     * de sus reservas. Es la vista de detalle; los listados usan {@link #getLaboratoriesPage(String, int)}.
+     * @param after Cursor de la página anterior, o null para la primera.
+     * @param limit Tamaño de la página, ajustado a {@link KeysetCursor#MAX_LIMIT}.
+     * @return La página de laboratorios con el cursor de la siguiente.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    @Override
+    public PageDTO<Laboratory> getLaboratoryDetails(String after, int limit) {
+        int size = KeysetCursor.limit(limit);
+        List<Laboratory> fetched = laboratoryRepository.findPage(KeysetCursor.parseId(after), size + 1);
+        return KeysetCursor.page(fetched, size, laboratory -> KeysetCursor.of(laboratory.getId()));
+    }
+
+    /**
+     * Busca un laboratorio completo por su nombre, incluidos los identificadores de sus reservas.
+     * @param name Nombre del laboratorio.
+     * @return El laboratorio, o null si no existe.
+     */
+    @Override
+    public Laboratory getLaboratoryDetailsByName(String name) {
+        return laboratoryRepository.findLaboratoriesByName(name);
+    }
+
+    /**
+     * Busca un laboratorio completo por su ID, incluidos los identificadores de sus reservas.
+     * @param id Identificador del laboratorio.
+     * @return El laboratorio, o vacío si no existe.
+     */
+    @Override
+    public Optional<Laboratory> getLaboratoryDetailsById(String id) {
+        return laboratoryRepository.findById(id);
+    }
+
+    /**
+     * Busca un laboratorio por su ID en el catálogo en caché.
      * @param id Identificador del laboratorio.
      * @return Un Optional que contiene el laboratorio si se encuentra.
      */
     @Override
     public Optional<Laboratory> getLaboratoryById(String id) {
-        return laboratoryRepository.findById(id);
+        return Optional.ofNullable(catalogCache.getById(id));
     }
 
+    /**
+     * Busca un laboratorio por su nombre en el catálogo en caché.
+     * @param name Nombre del laboratorio.
+     * @return El laboratorio, o null si no existe.
+     */
     @Override
     public Laboratory getLaboratoryByName(String name) {
-        return laboratoryRepository.findLaboratoriesByName(name);
+        return catalogCache.getByName(name);
     }
 
     /**
      * Guarda un nuevo laboratorio en la base de datos a partir de un DTO.
+     * Solo un administrador puede hacerlo; el rol se toma de la autenticación del SecurityContext.
      * @param laboratoryDTO DTO que contiene los datos del laboratorio.
      * @return El laboratorio guardado.
      */
     @Override
-    public Laboratory saveLaboratory(LaboratoryDTO laboratoryDTO,String token) {
-        if (!jwtUtilservice.validateAdmin(token)) {
-            throw new IllegalArgumentException("Invalid token");
-        }
+    @PreAuthorize("hasRole('ADMIN')")
+    public Laboratory saveLaboratory(LaboratoryDTO laboratoryDTO) {
         if (laboratoryRepository.findLaboratoriesByName(laboratoryDTO.getName()) != null) {
             throw new IllegalArgumentException("Laboratory already exists");
         }
         Laboratory laboratory = new Laboratory();
         laboratory.setName(laboratoryDTO.getName());
-        laboratory.setReservations(new ArrayList<Reservation>());
+        laboratory.setReservationIds(new ArrayList<>());
 
-        return laboratoryRepository.saveLaboratory(laboratory);
+        Laboratory saved = laboratoryRepository.saveLaboratory(laboratory);
+        catalogCache.put(saved);
+        return saved;
     }
 
     /**
      * Verifica si un laboratorio está disponible en una fecha y hora específicas.
+     * La consulta se resuelve con el mapa de ocupación por franjas, sin recorrer las reservas.
+     * Una reserva no ocupa el instante en que termina, así que en ese instante el laboratorio está disponible.
      * @param laboratory Laboratorio a verificar.
      * @param localDateTime Fecha y hora de la reserva.
      * @return true si el laboratorio está disponible, false en caso contrario.
      */
     @Override
     public boolean isLaboratoryAvailable(Laboratory laboratory, LocalDateTime localDateTime) {
-        for (Reservation reservation : laboratory.getReservations()) {
-            LocalDateTime start = reservation.getStartDateTime();
-            LocalDateTime end = reservation.getEndDateTime();
-            if (!localDateTime.isBefore(start) && !localDateTime.isAfter(end)) {
-                return false;
-            }
-        }
-        return true;
+        return occupancyIndex.isAvailable(laboratory.getName(), localDateTime);
     }
     /**
      * Método que verifica si un laboratorio está disponible para una nueva reserva en un intervalo de tiempo determinado.
      *
-     * Este método recorre todas las reservas existentes del laboratorio especificado y verifica si alguna de ellas se solapa
-     * con el intervalo de tiempo solicitado para la nueva reserva. Si se encuentra un solapamiento, el método retornará `false`,
-     * indicando que el laboratorio no está disponible. Si no hay solapamientos, retornará `true`, indicando que el laboratorio
-     * está disponible para la nueva reserva.
+     * La consulta se resuelve con el mapa de ocupación por franjas del laboratorio ({@link LaboratoryOccupancyIndex}):
+     * si ninguna franja del intervalo está marcada el laboratorio está libre, y solo las franjas marcadas se confirman
+     * contra los intervalos exactos de las reservas. Los intervalos son semiabiertos: un intervalo que empieza
+     * justo cuando termina una reserva no se solapa con ella.
      *
      * @param laboratory El laboratorio cuyo estado de disponibilidad se va a verificar.
      * @param dateStartTime La fecha y hora de inicio de la nueva reserva.
@@ -97,21 +156,28 @@ public class LaboratoryService implements ServicesLab {
      */
     @Override
     public boolean isLaboratoriesAvailable(Laboratory laboratory,LocalDateTime dateStartTime,LocalDateTime dateEndTime) {
-        for (Reservation reservation : laboratory.getReservations()) {
-            LocalDateTime start=reservation.getStartDateTime();
-            LocalDateTime end=reservation.getEndDateTime();
-            if (!(dateEndTime.isBefore(start) || dateStartTime.isAfter(end))) {
-                return false;
-            }
-            if(start.isEqual(dateStartTime) && end.isEqual(dateEndTime)||dateStartTime.isAfter(start)&&dateEndTime.isBefore(end)) {
-                return false;
-            }
-
-            if(dateStartTime.isBefore(start) && dateEndTime.isBefore(start)||dateStartTime.isAfter(end) && dateEndTime.isAfter(end)) {
-                return true;
+        return occupancyIndex.isAvailable(laboratory.getName(), dateStartTime, dateEndTime);
+    }
+    /**
+     * Obtiene los nombres de los laboratorios libres en un intervalo de tiempo.
+     *
+     * Los laboratorios ocupados se obtienen con una sola agregación sobre la colección de reservas y se restan
+     * del catálogo de laboratorios en caché.
+     *
+     * @param dateStartTime La fecha y hora de inicio del intervalo.
+     * @param dateEndTime La fecha y hora de finalización del intervalo.
+     * @return Lista con los nombres de los laboratorios disponibles.
+     */
+    @Override
+    public List<String> getAvailableLaboratoryNames(LocalDateTime dateStartTime, LocalDateTime dateEndTime) {
+        Set<String> busy = new HashSet<>(reservationRepository.findBusyLaboratoryNames(dateStartTime, dateEndTime));
+        List<String> available = new ArrayList<>();
+        for (Laboratory laboratory : catalogCache.getAll()) {
+            if (!busy.contains(laboratory.getName())) {
+                available.add(laboratory.getName());
             }
         }
-        return true;
+        return available;
     }
     /**
      * Método que elimina un laboratorio de la base de datos utilizando su ID.
@@ -124,6 +190,7 @@ public class LaboratoryService implements ServicesLab {
     @Override
     public void deleteLaboratory(String id) {
         laboratoryRepository.deleteLaboratoryById(id);
+        catalogCache.remove(id);
     }
 }
 
@@ -0,0 +1,111 @@
+package edu.eci.cvds.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Limita los intentos de inicio de sesión por usuario y por dirección del cliente.
+ *
+ * Cada clave tiene un token bucket: un intento consume un token y los tokens se recargan de
+ * forma continua hasta la capacidad del bucket. El estado de cada bucket es inmutable y se
+ * reemplaza con compare-and-set, así que no se usan locks en el camino del inicio de sesión.
+ * Los buckets sin uso durante login.rate-limit.idle-eviction-ms se descartan periódicamente
+ * para que la memoria no crezca con cada usuario o dirección vista.
+ *
+ * La dirección del cliente es {@code request.getRemoteAddr()}. Detrás de un proxy inverso o un
+ * balanceador esa es la dirección del proxy, y todos los clientes compartirían un bucket. Por eso
+ * se requiere server.forward-headers-strategy=native: Tomcat toma la dirección de
+ * X-Forwarded-For solo cuando la petición viene de un proxy de confianza
+ * (server.tomcat.remoteip.internal-proxies, por defecto las redes privadas y loopback), así que
+ * un cliente que llega directo no puede falsificarla.
+ */
+@Component
+public class LoginRateLimiter {
+
+    @Value("${login.rate-limit.user.capacity:5}")
+    private int userCapacity = 5;
+
+    @Value("${login.rate-limit.user.refill-per-minute:5}")
+    private int userRefillPerMinute = 5;
+
+    @Value("${login.rate-limit.ip.capacity:20}")
+    private int ipCapacity = 20;
+
+    @Value("${login.rate-limit.ip.refill-per-minute:20}")
+    private int ipRefillPerMinute = 20;
+
+    @Value("${login.rate-limit.idle-eviction-ms:600000}")
+    private long idleEvictionMs = 600000;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Intenta consumir un token del bucket de la dirección y otro del bucket del usuario.
+     * @param username Nombre de usuario del intento; puede ser null.
+     * @param clientAddress Dirección del cliente, ya resuelta a partir de X-Forwarded-For cuando la
+     *                      petición pasa por un proxy de confianza; puede ser null.
+     * @return true si el intento está permitido.
+     */
+    public boolean tryAcquire(String username, String clientAddress) {
+        long now = System.nanoTime();
+        if (clientAddress != null && !bucket("ip:" + clientAddress, ipCapacity, ipRefillPerMinute).tryConsume(now)) {
+            return false;
+        }
+        return username == null || bucket("user:" + username, userCapacity, userRefillPerMinute).tryConsume(now);
+    }
+
+    /**
+     * Descarta los buckets que no se han usado en el tiempo configurado.
+     */
+    @Scheduled(fixedDelayString = "${login.rate-limit.idle-eviction-ms:600000}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleEvictionMs);
+        buckets.values().removeIf(bucket -> bucket.state.get().lastRefill - cutoff < 0);
+    }
+
+    /**
+     * Cantidad de buckets en memoria.
+     * @return Número de claves con bucket.
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    private Bucket bucket(String key, int capacity, int refillPerMinute) {
+        return buckets.computeIfAbsent(key, k -> new Bucket(capacity, refillPerMinute));
+    }
+
+    private static final class Bucket {
+        private final int capacity;
+        private final double tokensPerNano;
+        private final AtomicReference<State> state;
+
+        private Bucket(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+        }
+
+        private boolean tryConsume(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = Math.min(capacity, current.tokens + Math.max(0, now - current.lastRefill) * tokensPerNano);
+                if (tokens < 1) {
+                    return false;
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.lastRefill)))) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private record State(double tokens, long lastRefill) {
+    }
+}
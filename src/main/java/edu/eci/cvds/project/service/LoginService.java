@@ -2,8 +2,8 @@ package edu.eci.cvds.project.service;
 
 import com.auth0.jwt.algorithms.Algorithm;
 import edu.eci.cvds.project.exception.UserException;
+import edu.eci.cvds.project.model.DTO.TokenPairDTO;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.auth0.jwt.JWT;
 import edu.eci.cvds.project.model.User;
@@ -16,7 +16,11 @@ public class LoginService implements ServicesLogin {
     @Autowired
     private UserService userService;
 
-    private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
 
     @Override
     public String loginUser(String username, String password) throws UserException.UserNotFoundException, UserException.UserIncorrectPasswordException {
@@ -24,9 +28,53 @@ public class LoginService implements ServicesLogin {
         if (user == null) {
             throw new UserException.UserNotFoundException("User not found");
         }
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordHashingService.matches(password, user.getPassword())) {
             throw new UserException.UserIncorrectPasswordException("Incorrect password");
         }
+        return createAccessToken(user);
+    }
+
+    /**
+     * Emite un token de actualización para un usuario que ya inició sesión.
+     * @param username Nombre de usuario.
+     * @return El token de actualización en claro.
+     */
+    @Override
+    public String createRefreshToken(String username) {
+        return refreshTokenService.issue(username);
+    }
+
+    /**
+     * Cambia un token de actualización por un nuevo token de acceso sin comparar la contraseña.
+     * El token recibido queda revocado y se emite uno nuevo en su lugar.
+     * @param refreshToken Token de actualización en claro.
+     * @return El nuevo token de acceso y el nuevo token de actualización.
+     * @throws UserException.InvalidRefreshTokenException Si el token no existe, venció o su usuario ya no existe.
+     */
+    @Override
+    public TokenPairDTO refresh(String refreshToken) throws UserException.InvalidRefreshTokenException {
+        String username = refreshTokenService.consume(refreshToken);
+        if (username == null) {
+            throw new UserException.InvalidRefreshTokenException("Invalid refresh token");
+        }
+        User user = userService.getUserByUsername(username);
+        if (user == null) {
+            throw new UserException.InvalidRefreshTokenException("Invalid refresh token");
+        }
+        return new TokenPairDTO(createAccessToken(user), refreshTokenService.issue(username));
+    }
+
+    /**
+     * Revoca un token de actualización.
+     * @param refreshToken Token de actualización en claro.
+     * @return true si el token existía.
+     */
+    @Override
+    public boolean logout(String refreshToken) {
+        return refreshTokenService.revoke(refreshToken);
+    }
+
+    private String createAccessToken(User user) {
         // Definir el tiempo de expiración, por ejemplo, 1 hora desde la emisión
         Date expirationTime = new Date(System.currentTimeMillis() + 1000 * 60 * 60);
         String token=JWT.create()
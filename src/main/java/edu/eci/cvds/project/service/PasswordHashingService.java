@@ -0,0 +1,133 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Calcula y compara contraseñas BCrypt en un pool de hilos propio y acotado.
+ *
+ * BCrypt es costoso a propósito; si se ejecuta en los hilos de Tomcat, una ráfaga de inicios de
+ * sesión ocupa todo el pool del servidor y el resto de endpoints se detiene. Aquí el trabajo se
+ * hace en tantos hilos como procesadores (password-hashing.threads) con una cola de tamaño fijo
+ * (password-hashing.queue-capacity). Cuando la cola está llena la petición se rechaza de inmediato
+ * con {@link PasswordHashingRejectedException}, que los controladores traducen a 503.
+ *
+ * Publica las métricas password.hashing.queue.size, password.hashing.active,
+ * password.hashing.rejected y el tiempo de cada operación en password.hashing.duration.
+ */
+@Service
+public class PasswordHashingService {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${password-hashing.queue-capacity:64}")
+    private int queueCapacity = 64;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private ThreadPoolExecutor executor;
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Counter rejected;
+
+    /**
+     * Crea el pool de hilos y registra las métricas.
+     */
+    @PostConstruct
+    public void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Operaciones de contraseña en espera")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Operaciones de contraseña en ejecución")
+                .register(meterRegistry);
+        rejected = Counter.builder("password.hashing.rejected")
+                .description("Operaciones rechazadas por cola llena")
+                .register(meterRegistry);
+        encodeTimer = Timer.builder("password.hashing.duration").tag("operation", "encode").register(meterRegistry);
+        matchesTimer = Timer.builder("password.hashing.duration").tag("operation", "matches").register(meterRegistry);
+    }
+
+    /**
+     * Detiene el pool de hilos.
+     */
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Calcula el hash BCrypt de una contraseña.
+     * @param rawPassword Contraseña en texto plano.
+     * @return El hash de la contraseña.
+     * @throws PasswordHashingRejectedException Si la cola está llena.
+     */
+    public String encode(String rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Compara una contraseña con su hash BCrypt.
+     * @param rawPassword Contraseña en texto plano.
+     * @param encodedPassword Hash almacenado.
+     * @return true si la contraseña coincide.
+     * @throws PasswordHashingRejectedException Si la cola está llena.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T run(Timer timer, Callable<T> operation) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(operation));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingRejectedException("Password hashing queue is full");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.RefreshToken;
+import edu.eci.cvds.project.repository.RefreshTokenMongoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emite, consume y revoca tokens de actualización.
+ *
+ * Un token de actualización es un valor aleatorio de 256 bits que el cliente cambia por un nuevo
+ * token de acceso sin volver a enviar la contraseña, así que la renovación no pasa por BCrypt.
+ * En la base de datos solo se guarda su hash SHA-256; como el valor ya es aleatorio no necesita
+ * un hash lento. Cada token se usa una sola vez: al consumirlo se elimina y se emite otro.
+ */
+@Service
+public class RefreshTokenService {
+
+    @Autowired
+    private RefreshTokenMongoRepository refreshTokenRepository;
+
+    @Value("${security.refresh-token.ttl-days:30}")
+    private long ttlDays = 30;
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Emite un token de actualización para un usuario.
+     * @param username Nombre de usuario.
+     * @return El token en claro, que solo se entrega al cliente.
+     */
+    public String issue(String username) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Date expiresAt = new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(ttlDays));
+        refreshTokenRepository.save(new RefreshToken(null, hash(token), username, expiresAt));
+        return token;
+    }
+
+    /**
+     * Consume un token de actualización. El token queda eliminado aunque esté vencido.
+     * @param token Token en claro.
+     * @return El nombre de usuario dueño del token, o null si el token no existe o venció.
+     */
+    public String consume(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        RefreshToken stored = refreshTokenRepository.deleteByTokenHash(hash(token));
+        if (stored == null || stored.getExpiresAt() == null || !stored.getExpiresAt().after(new Date())) {
+            return null;
+        }
+        return stored.getUsername();
+    }
+
+    /**
+     * Revoca un token de actualización.
+     * @param token Token en claro.
+     * @return true si el token existía.
+     */
+    public boolean revoke(String token) {
+        if (token == null || token.isBlank()) {
+            return false;
+        }
+        return refreshTokenRepository.deleteByTokenHash(hash(token)) != null;
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.repository.ReservationMongoRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vence cada reserva en el momento exacto en que termina.
+ *
+ * Cada reserva activa se registra con su fecha de fin en una {@link DelayQueue} cuando se crea
+ * o cuando se carga al arrancar la aplicación. Un hilo dedicado espera a que venza la siguiente
+ * y cambia su estado con una actualización puntual, sin recorrer la colección. La actualización
+ * es condicional (reserva activa y fecha de fin ya cumplida), por lo que las entradas de reservas
+ * canceladas o reprogramadas se descartan sin efecto. {@link ReservationExpirySweeper} sigue
+ * actuando como respaldo para las reservas que terminen mientras la aplicación está detenida.
+ */
+@Component
+public class ReservationExpiryScheduler {
+
+    @Autowired
+    private ReservationMongoRepository reservationRepository;
+
+    private final DelayQueue<ExpiryTask> queue = new DelayQueue<>();
+    private Thread worker;
+
+    /**
+     * Registra las reservas activas existentes y arranca el hilo de vencimiento.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        for (Reservation reservation : reservationRepository.findActiveEndTimes()) {
+            register(reservation);
+        }
+        if (worker == null) {
+            worker = new Thread(this::run, "reservation-expiry");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * Detiene el hilo de vencimiento.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    /**
+     * Programa el vencimiento de una reserva activa en su fecha de fin.
+     * @param reservation Reserva a programar.
+     */
+    public void register(Reservation reservation) {
+        if (reservation.getId() == null || reservation.getEndDateTime() == null || !reservation.getStatus()) {
+            return;
+        }
+        long deadline = reservation.getEndDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        queue.add(new ExpiryTask(reservation.getId(), deadline));
+    }
+
+    /**
+     * Descarta todos los vencimientos programados.
+     */
+    public void clear() {
+        queue.clear();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                ExpiryTask task = queue.take();
+                reservationRepository.expireIfEnded(task.reservationId, LocalDateTime.now());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // si la actualización falla, el barrido periódico vencerá la reserva
+            }
+        }
+    }
+
+    private static final class ExpiryTask implements Delayed {
+        private final String reservationId;
+        private final long deadline;
+
+        private ExpiryTask(String reservationId, long deadline) {
+            this.reservationId = reservationId;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof ExpiryTask task) {
+                return Long.compare(deadline, task.deadline);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
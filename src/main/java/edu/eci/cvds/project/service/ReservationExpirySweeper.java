@@ -0,0 +1,33 @@
+package edu.eci.cvds.project.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea periódica que vence y elimina las reservas terminadas.
+ *
+ * Reemplaza la limpieza que antes se hacía al inicio de cada creación de reserva: en cada
+ * ejecución procesa a lo sumo un lote de reservas, de modo que el costo por ejecución no
+ * depende del tamaño del historial. La frecuencia y el tamaño del lote se configuran con
+ * reservations.expiry.sweep-interval-ms y reservations.expiry.batch-size.
+ */
+@Component
+public class ReservationExpirySweeper {
+
+    @Autowired
+    private ServicesReservation reservationService;
+
+    @Value("${reservations.expiry.batch-size:200}")
+    private int batchSize = 200;
+
+    /**
+     * Procesa un lote de reservas vencidas.
+     */
+    @Scheduled(fixedDelayString = "${reservations.expiry.sweep-interval-ms:60000}",
+            initialDelayString = "${reservations.expiry.sweep-interval-ms:60000}")
+    public void sweep() {
+        reservationService.expireReservations(batchSize);
+    }
+}
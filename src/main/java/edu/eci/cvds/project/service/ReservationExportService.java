@@ -0,0 +1,159 @@
+package edu.eci.cvds.project.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.repository.ReservationMongoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Exporta el histórico de reservas fila por fila, en NDJSON (un objeto JSON por línea) o CSV.
+ *
+ * Las reservas se leen con un cursor de MongoDB y cada una se escribe en la salida apenas llega,
+ * así que la memoria usada no depende de cuántas reservas se exporten: solo se retiene el lote
+ * actual del cursor y el buffer de escritura.
+ */
+@Service
+public class ReservationExportService {
+
+    static final String CSV_HEADER = "id,laboratoryname,username,startDateTime,endDateTime,purpose,status,priority";
+
+    /**
+     * Formatos de exportación soportados.
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Obtiene el formato a partir de su nombre, sin distinguir mayúsculas.
+         * @param name Nombre del formato (ndjson o csv).
+         * @return El formato.
+         * @throws IllegalArgumentException Si el formato no es soportado.
+         */
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Formato no soportado: " + name);
+        }
+    }
+
+    @Autowired
+    private ReservationMongoRepository reservationRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Escribe las reservas que cumplen los filtros en la salida, ordenadas por fecha de inicio.
+     * No cierra la salida.
+     * @param format Formato de exportación.
+     * @param labName Nombre del laboratorio, o null para no filtrar.
+     * @param username Nombre del usuario, o null para no filtrar.
+     * @param from Fecha y hora mínima de inicio, inclusiva, o null para no filtrar.
+     * @param to Fecha y hora máxima de inicio, exclusiva, o null para no filtrar.
+     * @param out Salida donde se escriben las filas.
+     * @throws IOException Si falla la escritura.
+     */
+    public void export(Format format, String labName, String username, LocalDateTime from, LocalDateTime to,
+                       OutputStream out) throws IOException {
+        try {
+            if (format == Format.CSV) {
+                writeCsv(labName, username, from, to, out);
+            } else {
+                writeNdjson(labName, username, from, to, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeNdjson(String labName, String username, LocalDateTime from, LocalDateTime to,
+                             OutputStream out) throws IOException {
+        // Sin FLUSH_AFTER_WRITE_VALUE el generador solo vacía su buffer cuando se llena, no en cada fila.
+        ObjectWriter writer = objectMapper.writerFor(Reservation.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        reservationRepository.streamReservations(labName, username, from, to, reservation -> {
+            try {
+                writer.writeValue(generator, reservation);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+
+    private void writeCsv(String labName, String username, LocalDateTime from, LocalDateTime to,
+                          OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        reservationRepository.streamReservations(labName, username, from, to, reservation -> {
+            try {
+                writer.write(csvRow(reservation));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    static String csvRow(Reservation reservation) {
+        StringBuilder row = new StringBuilder(128);
+        appendCsv(row, reservation.getId()).append(',');
+        appendCsv(row, reservation.getLaboratoryname()).append(',');
+        appendCsv(row, reservation.getUsername()).append(',');
+        appendCsv(row, reservation.getStartDateTime()).append(',');
+        appendCsv(row, reservation.getEndDateTime()).append(',');
+        appendCsv(row, reservation.getPurpose()).append(',');
+        row.append(reservation.getStatus()).append(',');
+        appendCsv(row, reservation.getPriority());
+        return row.toString();
+    }
+
+    private static StringBuilder appendCsv(StringBuilder row, Object value) {
+        if (value == null) {
+            return row;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return row.append(text);
+        }
+        return row.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+}
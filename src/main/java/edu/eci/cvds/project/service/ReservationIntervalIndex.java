@@ -0,0 +1,182 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.repository.ReservationMongoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice en memoria de los intervalos reservados por laboratorio.
+ *
+ * Permite responder si un laboratorio está ocupado en un rango de tiempo en O(log n) sin
+ * consultar la base de datos. Se reconstruye desde {@link ReservationMongoRepository} al
+ * arrancar la aplicación y {@link ReservationService} lo mantiene al día cada vez que crea,
+ * actualiza, cancela o elimina reservas.
+ *
+ * Los intervalos de cada laboratorio se protegen con su propio candado. Una reserva nueva se
+ * registra con {@link #putIfAvailable(Reservation)}, que verifica y agrega bajo el mismo candado,
+ * así que dos solicitudes concurrentes no pueden quedarse con franjas que se solapan.
+ */
+@Component
+public class ReservationIntervalIndex {
+
+    @Autowired
+    private ReservationMongoRepository reservationRepository;
+
+    private final Map<String, LabIntervalSet> intervalsByLab = new ConcurrentHashMap<>();
+    private final Map<String, String> labByReservation = new ConcurrentHashMap<>();
+    private final Map<String, Long> versionByLab = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    /**
+     * Reconstruye el índice a partir de todas las reservas almacenadas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        clear();
+        for (Reservation reservation : reservationRepository.findAll()) {
+            put(reservation);
+        }
+    }
+
+    /**
+     * Registra una reserva en el índice, reemplazando la versión anterior si ya existía.
+     * @param reservation Reserva a registrar.
+     */
+    public void put(Reservation reservation) {
+        if (reservation.getId() == null || reservation.getLaboratoryname() == null
+                || reservation.getStartDateTime() == null || reservation.getEndDateTime() == null) {
+            return;
+        }
+        String labName = reservation.getLaboratoryname();
+        String previousLab = labByReservation.put(reservation.getId(), labName);
+        if (previousLab != null && !previousLab.equals(labName)) {
+            removeFromLab(previousLab, reservation.getId());
+        }
+        LabIntervalSet intervals = intervalsByLab.computeIfAbsent(labName, name -> new LabIntervalSet());
+        // La versión anterior se reemplaza bajo el mismo candado, sin dejar libre la franja entre medio.
+        synchronized (intervals) {
+            intervals.remove(reservation.getId());
+            intervals.add(reservation.getId(), toMillis(reservation.getStartDateTime()), toMillis(reservation.getEndDateTime()));
+        }
+        versionByLab.put(labName, versions.incrementAndGet());
+    }
+
+    /**
+     * Registra una reserva nueva solo si su laboratorio está libre en [inicio, fin). La
+     * verificación y el registro ocurren bajo el candado del laboratorio.
+     * @param reservation Reserva nueva, con ID, laboratorio, inicio y fin.
+     * @return true si se registró, false si se solapa con otra reserva del laboratorio.
+     * @throws IllegalArgumentException Si a la reserva le falta el ID, el laboratorio o las fechas.
+     */
+    public boolean putIfAvailable(Reservation reservation) {
+        if (reservation.getId() == null || reservation.getLaboratoryname() == null
+                || reservation.getStartDateTime() == null || reservation.getEndDateTime() == null) {
+            throw new IllegalArgumentException("Reservation id, laboratory and dates are required");
+        }
+        String labName = reservation.getLaboratoryname();
+        long start = toMillis(reservation.getStartDateTime());
+        long end = toMillis(reservation.getEndDateTime());
+        LabIntervalSet intervals = intervalsByLab.computeIfAbsent(labName, name -> new LabIntervalSet());
+        synchronized (intervals) {
+            if (intervals.overlaps(start, end)) {
+                return false;
+            }
+            intervals.add(reservation.getId(), start, end);
+        }
+        labByReservation.put(reservation.getId(), labName);
+        versionByLab.put(labName, versions.incrementAndGet());
+        return true;
+    }
+
+    /**
+     * Elimina una reserva del índice.
+     * @param reservationId Identificador de la reserva.
+     */
+    public void remove(String reservationId) {
+        if (reservationId == null) {
+            return;
+        }
+        String labName = labByReservation.remove(reservationId);
+        if (labName == null) {
+            return;
+        }
+        removeFromLab(labName, reservationId);
+    }
+
+    private void removeFromLab(String labName, String reservationId) {
+        LabIntervalSet intervals = intervalsByLab.get(labName);
+        if (intervals != null) {
+            synchronized (intervals) {
+                intervals.remove(reservationId);
+            }
+        }
+        versionByLab.put(labName, versions.incrementAndGet());
+    }
+
+    /**
+     * Vacía el índice.
+     */
+    public void clear() {
+        intervalsByLab.clear();
+        labByReservation.clear();
+        versionByLab.clear();
+    }
+
+    /**
+     * Versión de los intervalos de un laboratorio; cambia cada vez que se agrega o elimina una
+     * reserva del laboratorio o se vacía el índice. Sirve para invalidar estructuras derivadas.
+     * @param labName Nombre del laboratorio.
+     * @return Versión actual, 0 si el laboratorio no tiene cambios registrados.
+     */
+    public long version(String labName) {
+        return versionByLab.getOrDefault(labName, 0L);
+    }
+
+    /**
+     * Verifica si un laboratorio no tiene reservas que se solapen con [start, end).
+     * @param labName Nombre del laboratorio.
+     * @param start Fecha y hora de inicio.
+     * @param end Fecha y hora de fin.
+     * @return true si el laboratorio está libre en ese rango.
+     */
+    public boolean isAvailable(String labName, LocalDateTime start, LocalDateTime end) {
+        LabIntervalSet intervals = intervalsByLab.get(labName);
+        if (intervals == null) {
+            return true;
+        }
+        synchronized (intervals) {
+            return !intervals.overlaps(toMillis(start), toMillis(end));
+        }
+    }
+
+    /**
+     * Obtiene, ordenados por inicio, los intervalos de un laboratorio que se solapan con [from, to).
+     * @param labName Nombre del laboratorio.
+     * @param from Inicio de la ventana.
+     * @param to Fin de la ventana.
+     * @return Pares {inicio, fin} en milisegundos, copiados del índice.
+     */
+    public List<long[]> overlapping(String labName, LocalDateTime from, LocalDateTime to) {
+        LabIntervalSet intervals = intervalsByLab.get(labName);
+        if (intervals == null) {
+            return List.of();
+        }
+        synchronized (intervals) {
+            return intervals.overlapping(toMillis(from), toMillis(to));
+        }
+    }
+
+    static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -1,6 +1,9 @@
 package edu.eci.cvds.project.service;
 
+import edu.eci.cvds.project.model.DTO.BulkReservationResultDTO;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.DTO.ReservationDTO;
+import edu.eci.cvds.project.model.DTO.ReservationSlotDTO;
 import edu.eci.cvds.project.model.Laboratory;
 import edu.eci.cvds.project.model.Reservation;
 import edu.eci.cvds.project.model.Role;
@@ -8,12 +11,16 @@ import edu.eci.cvds.project.model.User;
 import edu.eci.cvds.project.repository.LaboratoryMongoRepository;
 import edu.eci.cvds.project.repository.UserMongoRepository;
 import edu.eci.cvds.project.repository.ReservationMongoRepository;
+import edu.eci.cvds.project.util.KeysetCursor;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.TransactionSystemException;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
@@ -31,9 +38,28 @@ public class ReservationService implements ServicesReservation {
 
 
     private static final AtomicLong idCounter = new AtomicLong(0);
+    private static final int EXPIRY_BATCH_SIZE = 500;
 
     @Autowired
     private UserService userService;
+    @Autowired
+    private ReservationIntervalIndex reservationIndex;
+    @Autowired
+    private ReservationSlotFinder reservationSlotFinder;
+    @Autowired
+    private ReservationExpiryScheduler expiryScheduler;
+    @Autowired
+    private ServicesReservationStatistics statisticsService;
+
+    @Value("${reservations.bulk.max-size:5000}")
+    private int bulkMaxSize = 5000;
+
+    /**
+     * Duración máxima de una reserva. Las consultas por rango se acotan con ella, así que se valida
+     * al crear y al editar reservas.
+     */
+    @Value("${reservations.max-length-hours:24}")
+    private long maxLengthHours = 24;
 
     /**
      * Obtiene todas las reservas registradas.
@@ -45,13 +71,28 @@ public class ReservationService implements ServicesReservation {
         return reservationRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de reservas ordenadas por ID.
+     * @param after Cursor de la página anterior, o null para la primera.
+     * @param limit Tamaño de la página, ajustado a {@link KeysetCursor#MAX_LIMIT}.
+     * @return La página de reservas con el cursor de la siguiente.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    @Override
+    public PageDTO<Reservation> getReservationsPage(String after, int limit) {
+        int size = KeysetCursor.limit(limit);
+        List<Reservation> fetched = reservationRepository.findPage(KeysetCursor.parseId(after), size + 1);
+        return KeysetCursor.page(fetched, size, reservation -> KeysetCursor.of(reservation.getId()));
+    }
+
     /**
      * Crea una nueva reserva basándose en los datos proporcionados en el DTO.
      *
      * @param dto Objeto DTO que contiene la información de la reserva.
      * @return La reserva creada.
      * @throws IllegalArgumentException Si el laboratorio o el usuario no existen,
-     *                                  o si la reserva no es válida.
+     *                                  o si la reserva no es válida o dura más de
+     *                                  reservations.max-length-hours.
      */
     @Transactional
     @Override
@@ -59,10 +100,8 @@ public class ReservationService implements ServicesReservation {
         if(!dto.getEndDateTime().isAfter(dto.getStartDateTime())){
             throw new IllegalArgumentException("End date must be after start date");
         }
-        checkAllReservations();
-        deleteOldReservations();
-        if(!reserves(dto,dto.getStartDateTime(), dto.getEndDateTime())) {
-            throw new IllegalArgumentException("Invalid reservation");
+        if (isTooLong(dto.getStartDateTime(), dto.getEndDateTime())) {
+            throw new IllegalArgumentException(tooLongMessage());
         }
 
         Laboratory lab = laboratoryRepository.findLaboratoriesByName(dto.getLabName());
@@ -72,30 +111,168 @@ public class ReservationService implements ServicesReservation {
             throw new IllegalArgumentException("User or Lab not found");
         }
 
-        LocalDateTime startTime = dto.getStartDateTime();
-        LocalDateTime endTime = dto.getEndDateTime();
-
-        while (!isLaboratoryAvilable(lab, startTime, endTime)) {
-            startTime = startTime.plusDays(1);
-            endTime = endTime.plusDays(1);
-            if (startTime.isAfter(dto.getStartDateTime().plusDays(365))) {
-                throw new IllegalStateException("No available slots within 365 days");
-            }
-        }
-
         Reservation reservation = new Reservation();
+        reservation.setId(new ObjectId().toHexString());
         reservation.setLaboratoryname(dto.getLabName());
         reservation.setUsername(dto.getUsername());
-        reservation.setStartDateTime(startTime);
-        reservation.setEndDateTime(endTime);
         reservation.setPurpose(dto.getPurpose());
         reservation.setStatus(true);
         reservation.setPriority(dto.getPriority());
 
-        reservationRepository.save(reservation);
-        return updateReservation(reservation);
+        // La franja se aparta en el índice antes de escribir. Si otra solicitud la ocupó después de
+        // buscarla, se busca la siguiente; cada reintento implica una reserva nueva en el laboratorio.
+        Duration length = Duration.between(dto.getStartDateTime(), dto.getEndDateTime());
+        do {
+            LocalDateTime startTime = reservationSlotFinder.findNextStart(lab.getName(), dto.getStartDateTime(), dto.getEndDateTime())
+                    .orElseThrow(() -> new IllegalStateException("No available slots within 365 days"));
+            reservation.setStartDateTime(startTime);
+            reservation.setEndDateTime(startTime.plus(length));
+        } while (!reservationIndex.putIfAvailable(reservation));
+
+        try {
+            reservationRepository.insert(reservation);
+            link(reservation);
+        } catch (RuntimeException e) {
+            reservationIndex.remove(reservation.getId());
+            throw e;
+        }
+        statisticsService.recordCreated(reservation);
+        return reservation;
+    }
+
+    /**
+     * Crea varias reservas en una sola operación y reporta el resultado de cada una.
+     *
+     * A diferencia de {@link #createReservation(ReservationDTO)}, una reserva que choca con otra
+     * no se mueve a la siguiente franja libre: se reporta como CONFLICT. Los choques entre reservas
+     * del mismo lote se verifican en un mapa ordenado por inicio, y gana la que aparece primero en
+     * la lista. Cada reserva aceptada se aparta en el índice de intervalos en memoria con una
+     * verificación atómica, así que tampoco choca con reservas creadas al mismo tiempo por otra
+     * solicitud. Las que no se logran insertar se liberan del índice.
+     * Los laboratorios y usuarios se verifican con una consulta por colección, las reservas
+     * aceptadas se insertan con una sola escritura por lotes no ordenada y las listas de reservas
+     * de laboratorios y usuarios y los contadores de estadísticas se actualizan también por lotes.
+     *
+     * @param dtos Reservas a crear, en el orden en que se evalúan.
+     * @return Un resultado por reserva, en el mismo orden: CREATED con el ID asignado, CONFLICT,
+     *         INVALID si faltan datos o el laboratorio o el usuario no existen, o FAILED si la
+     *         inserción falló en la base de datos.
+     * @throws IllegalArgumentException Si la lista está vacía o supera reservations.bulk.max-size.
+     */
+    @Override
+    public List<BulkReservationResultDTO> createReservations(List<ReservationDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("No reservations to create");
+        }
+        if (dtos.size() > bulkMaxSize) {
+            throw new IllegalArgumentException("Too many reservations, the maximum is " + bulkMaxSize);
+        }
+
+        Set<String> labNames = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+        for (ReservationDTO dto : dtos) {
+            if (dto != null && dto.getLabName() != null) {
+                labNames.add(dto.getLabName());
+            }
+            if (dto != null && dto.getUsername() != null) {
+                usernames.add(dto.getUsername());
+            }
+        }
+        Set<String> existingLabs = labNames.isEmpty() ? Set.of() : laboratoryRepository.findExistingNames(labNames);
+        Set<String> existingUsers = usernames.isEmpty() ? Set.of() : userRepository.findExistingUsernames(usernames);
+
+        List<BulkReservationResultDTO> results = new ArrayList<>(dtos.size());
+        List<Reservation> accepted = new ArrayList<>();
+        Map<String, NavigableMap<LocalDateTime, Integer>> batchStartsByLab = new HashMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            ReservationDTO dto = dtos.get(i);
+            String invalid = validateBulkItem(dto, existingLabs, existingUsers);
+            if (invalid != null) {
+                results.add(new BulkReservationResultDTO(i, BulkReservationResultDTO.INVALID, null, invalid));
+                continue;
+            }
+            NavigableMap<LocalDateTime, Integer> batchStarts = batchStartsByLab.computeIfAbsent(dto.getLabName(), name -> new TreeMap<>());
+            // Las reservas aceptadas de un laboratorio no se solapan entre sí, así que basta revisar
+            // la última que empieza antes del fin de la nueva.
+            Map.Entry<LocalDateTime, Integer> previous = batchStarts.lowerEntry(dto.getEndDateTime());
+            if (previous != null && dtos.get(previous.getValue()).getEndDateTime().isAfter(dto.getStartDateTime())) {
+                results.add(new BulkReservationResultDTO(i, BulkReservationResultDTO.CONFLICT, null,
+                        "Overlaps reservation " + previous.getValue() + " of the batch"));
+                continue;
+            }
+            Reservation reservation = new Reservation(new ObjectId().toHexString(), dto.getLabName(), dto.getUsername(),
+                    dto.getStartDateTime(), dto.getEndDateTime(), dto.getPurpose(), true, dto.getPriority());
+            if (!reservationIndex.putIfAvailable(reservation)) {
+                results.add(new BulkReservationResultDTO(i, BulkReservationResultDTO.CONFLICT, null, "Laboratory not available"));
+                continue;
+            }
+            batchStarts.put(dto.getStartDateTime(), i);
+            accepted.add(reservation);
+            results.add(new BulkReservationResultDTO(i, BulkReservationResultDTO.CREATED, reservation.getId(), null));
+        }
+
+        Set<Integer> failed;
+        try {
+            failed = reservationRepository.bulkInsert(accepted);
+        } catch (RuntimeException e) {
+            accepted.forEach(reservation -> reservationIndex.remove(reservation.getId()));
+            throw e;
+        }
+        List<Reservation> created = new ArrayList<>(accepted.size());
+        Map<String, List<String>> idsByLab = new HashMap<>();
+        Map<String, List<String>> idsByUser = new HashMap<>();
+        int position = 0;
+        for (BulkReservationResultDTO result : results) {
+            if (!BulkReservationResultDTO.CREATED.equals(result.getStatus())) {
+                continue;
+            }
+            Reservation reservation = accepted.get(position);
+            if (failed.contains(position++)) {
+                reservationIndex.remove(reservation.getId());
+                result.setStatus(BulkReservationResultDTO.FAILED);
+                result.setReservationId(null);
+                result.setMessage("Reservation could not be stored");
+                continue;
+            }
+            created.add(reservation);
+            idsByLab.computeIfAbsent(reservation.getLaboratoryname(), name -> new ArrayList<>()).add(reservation.getId());
+            idsByUser.computeIfAbsent(reservation.getUsername(), name -> new ArrayList<>()).add(reservation.getId());
+        }
+
+        if (!created.isEmpty()) {
+            laboratoryRepository.addReservationIds(idsByLab);
+            userRepository.addReservationIds(idsByUser);
+            for (Reservation reservation : created) {
+                expiryScheduler.register(reservation);
+            }
+            statisticsService.recordCreatedAll(created);
+        }
+        return results;
+    }
+
+    private String validateBulkItem(ReservationDTO dto, Set<String> existingLabs, Set<String> existingUsers) {
+        if (dto == null || dto.getStartDateTime() == null || dto.getEndDateTime() == null) {
+            return "Start and end dates are required";
+        }
+        if (!dto.getEndDateTime().isAfter(dto.getStartDateTime())) {
+            return "End date must be after start date";
+        }
+        if (isTooLong(dto.getStartDateTime(), dto.getEndDateTime())) {
+            return tooLongMessage();
+        }
+        if (!existingLabs.contains(dto.getLabName()) || !existingUsers.contains(dto.getUsername())) {
+            return "User or Lab not found";
+        }
+        return null;
+    }
+
+    private boolean isTooLong(LocalDateTime start, LocalDateTime end) {
+        return Duration.between(start, end).compareTo(Duration.ofHours(maxLengthHours)) > 0;
     }
 
+    private String tooLongMessage() {
+        return "Reservations cannot be longer than " + maxLengthHours + " hours";
+    }
 
     /**
      * Cancela una reserva dado su ID.
@@ -113,41 +290,45 @@ public class ReservationService implements ServicesReservation {
             throw new DataIntegrityViolationException("Reservation not found: " + id);
         }
 
-        Laboratory lab = laboratoryRepository.findLaboratoriesByName(reservation.getLaboratoryname());
-        if (lab == null) {
+        if (!laboratoryRepository.removeReservationId(reservation.getLaboratoryname(), id)) {
             throw new DataIntegrityViolationException("Laboratory not found: " + reservation.getLaboratoryname());
         }
+        userRepository.removeReservationId(reservation.getUsername(), id);
 
-        User user = userRepository.findUserByUsername(reservation.getUsername());
-
-        boolean removedFromLab = lab.getReservations().removeIf(r -> r.getId().equals(id));
-        boolean removedFromUser = user.getReservations().removeIf(r -> r.getId().equals(id));
-
-        reservationRepository.delete(reservation);
-
-        boolean existsAfter = reservationRepository.findReservationById(id) != null;
-
-        laboratoryRepository.save(lab);
-        userRepository.save(user);
+        boolean deleted = reservationRepository.removeReservationById(id) > 0;
+        reservationIndex.remove(id);
+        if (deleted) {
+            statisticsService.recordRemoved(reservation);
+        }
 
-        return !existsAfter;
+        return deleted;
     }
 
 
 
     /**
-     * Obtiene una lista de reservas dentro de un rango de fechas especificado.
+     * Obtiene una página de las reservas dentro de un rango de fechas, ordenadas por fecha de inicio.
      * @param start Fecha de inicio del rango.
      * @param end Fecha de fin del rango.
-     * @return Lista de reservas dentro del rango de fechas.
+     * @param after Cursor de la página anterior, o null para la primera.
+     * @param limit Tamaño de la página, ajustado a {@link KeysetCursor#MAX_LIMIT}.
+     * @return La página de reservas dentro del rango con el cursor de la siguiente.
+     * @throws IllegalArgumentException Si el cursor no es válido.
      */
     @Override
-    public List<Reservation> getReservationsInRange(LocalDateTime start, LocalDateTime end) {
-        return reservationRepository.findByStartDateTimeGreaterThanEqualAndEndDateTimeLessThanEqual(start, end);
+    public PageDTO<Reservation> getReservationsInRange(LocalDateTime start, LocalDateTime end, String after, int limit) {
+        int size = KeysetCursor.limit(limit);
+        KeysetCursor.Position position = KeysetCursor.parse(after);
+        List<Reservation> fetched = position == null
+                ? reservationRepository.findInRangePage(start, end, null, null, size + 1)
+                : reservationRepository.findInRangePage(start, end, position.getStartDateTime(), position.getId(), size + 1);
+        return KeysetCursor.page(fetched, size,
+                reservation -> KeysetCursor.of(reservation.getStartDateTime(), reservation.getId()));
     }
 
     /**
      * Verifica si un laboratorio está disponible dentro de un rango de fechas.
+     * La consulta se resuelve sobre el índice de intervalos en memoria, sin acceder a la base de datos.
      * @param laboratory Laboratorio a verificar.
      * @param start Fecha y hora de inicio.
      * @param end Fecha y hora de fin.
@@ -155,17 +336,27 @@ public class ReservationService implements ServicesReservation {
      */
     @Override
     public boolean isLaboratoryAvilable(Laboratory laboratory, LocalDateTime start, LocalDateTime end) {
-        List<Reservation> reservations = reservationRepository.findByLaboratoryname(laboratory.getName());
-
-        for (Reservation reservation : reservations) {
-            LocalDateTime existingStart = reservation.getStartDateTime();
-            LocalDateTime existingEnd = reservation.getEndDateTime();
-            if (start.isBefore(existingEnd) && end.isAfter(existingStart)) {
-                return false;
-            }
+        return reservationIndex.isAvailable(laboratory.getName(), start, end);
+    }
+    /**
+     * Busca la primera franja libre de un laboratorio con la misma hora del día que la solicitada,
+     * desplazándola de a un día hasta un máximo de 365 días.
+     * @param labName Nombre del laboratorio.
+     * @param start Fecha y hora de inicio solicitada.
+     * @param end Fecha y hora de fin solicitada.
+     * @return La franja libre encontrada, o vacío si no hay ninguna dentro del horizonte.
+     * @throws IllegalArgumentException Si la fecha de fin no es posterior a la de inicio.
+     */
+    @Override
+    public Optional<ReservationSlotDTO> findNextAvailableSlot(String labName, LocalDateTime start, LocalDateTime end) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("End date must be after start date");
         }
-        return true;
+        Duration length = Duration.between(start, end);
+        return reservationSlotFinder.findNextStart(labName, start, end)
+                .map(slotStart -> new ReservationSlotDTO(labName, slotStart, slotStart.plus(length)));
     }
+
     /**
      * Verifica si una reserva es válida con respecto al tiempo actual.
      * @param reservation Reserva a validar.
@@ -190,9 +381,14 @@ public class ReservationService implements ServicesReservation {
 
     /**
      * Actualiza una reservación existente en la base de datos.
+     * El reemplazo condicional de la reserva sirve también como verificación de existencia y
+     * devuelve la versión anterior, por lo que no se consulta la reserva antes de escribirla. Con
+     * esa versión se desenlaza la reserva del laboratorio o usuario anterior si cambiaron y se
+     * mueven las estadísticas si cambió el laboratorio, el día o la prioridad.
      *
      * @param reservation La reservación con los nuevos datos a actualizar.
      * @return La reservación actualizada.
+     * @throws IllegalArgumentException Si la reservación dura más de reservations.max-length-hours.
      * @throws DataIntegrityViolationException Si la reservación no existe en la base de datos.
      * @throws RuntimeException Si el usuario asociado a la reservación no se encuentra.
      * @throws TransactionSystemException Si ocurre un error durante la transacción.
@@ -200,24 +396,46 @@ public class ReservationService implements ServicesReservation {
     @Transactional
     @Override
     public Reservation updateReservation(Reservation reservation) {
+        if (reservation.getStartDateTime() != null && reservation.getEndDateTime() != null
+                && isTooLong(reservation.getStartDateTime(), reservation.getEndDateTime())) {
+            throw new IllegalArgumentException(tooLongMessage());
+        }
         try {
-            if (!reservationRepository.existsById(reservation.getId())) {
+            Reservation previous = reservationRepository.findAndReplaceReservation(reservation);
+            if (previous == null) {
                 throw new DataIntegrityViolationException("Reservation not found: ");
             }
-            Laboratory laboratory =laboratoryRepository.findLaboratoriesByName(reservation.getLaboratoryname());
-            laboratory.reservations.add(reservation);
-            laboratoryRepository.updateLaboratory(laboratory);
-            User user = userRepository.findUserByUsername(reservation.getUsername());
-            user.reservations.add(reservation);
-            userRepository.updateUser(user);
-            if(user == null){
-                throw new RuntimeException("User not found");
+            if (previous.getLaboratoryname() != null
+                    && !previous.getLaboratoryname().equals(reservation.getLaboratoryname())) {
+                laboratoryRepository.removeReservationId(previous.getLaboratoryname(), previous.getId());
             }
-            return reservationRepository.updateReservation(reservation);
+            if (previous.getUsername() != null && !previous.getUsername().equals(reservation.getUsername())) {
+                userRepository.removeReservationId(previous.getUsername(), previous.getId());
+            }
+            link(reservation);
+            statisticsService.recordUpdated(previous, reservation);
+            return reservation;
         } catch (TransactionSystemException e) {
             throw new TransactionSystemException("Error creating reservation");
         }
     }
+
+    /**
+     * Enlaza una reserva ya guardada con su laboratorio y su usuario y la registra en el índice
+     * de intervalos y en el programador de vencimiento.
+     * @param reservation Reserva guardada.
+     * @throws RuntimeException Si el laboratorio o el usuario no existen.
+     */
+    private void link(Reservation reservation) {
+        if (!laboratoryRepository.addReservationId(reservation.getLaboratoryname(), reservation.getId())) {
+            throw new RuntimeException("Lab not found");
+        }
+        if (!userRepository.addReservationId(reservation.getUsername(), reservation.getId())) {
+            throw new RuntimeException("User not found");
+        }
+        reservationIndex.put(reservation);
+        expiryScheduler.register(reservation);
+    }
     /**
      * Genera un número aleatorio de reservaciones dentro del rango especificado.
      *
@@ -298,69 +516,87 @@ public class ReservationService implements ServicesReservation {
     }
 
     /**
-     * Elimina todas las reservas almacenadas en la base de datos.
+     * Elimina todas las reservas almacenadas en la base de datos y vacía las listas de reservas
+     * de laboratorios y usuarios con una sola actualización por colección.
      */
     @Override
     public void deleteAllReservations() {
-        List<Reservation> reservations = reservationRepository.findAll();
-
-        Map<String, Laboratory> laboratories = new HashMap<>();
-        Map<String, User> users = new HashMap<>();
-
-        for (Reservation reservation : reservations) {
-            String labName = reservation.getLaboratoryname();
-            String userName = reservation.getUsername();
-
-            laboratories.computeIfAbsent(labName, laboratoryRepository::findLaboratoriesByName);
-            users.computeIfAbsent(userName, userRepository::findUserById);
-
-            if (laboratories.get(labName) != null) {
-                laboratories.get(labName).getReservations().removeIf(r -> r.getId().equals(reservation.getId()));
-            }
-            if (users.get(userName) != null) {
-                users.get(userName).getReservations().removeIf(r -> r.getId().equals(reservation.getId()));
-            }
-        }
-
         reservationRepository.deleteAll();
+        reservationIndex.clear();
+        expiryScheduler.clear();
+        statisticsService.reset();
 
-        laboratories.values().forEach(laboratoryRepository::save);
-        users.values().forEach(userRepository::save);
+        laboratoryRepository.clearReservationIds();
+        userRepository.clearReservationIds();
     }
     /**
      * Método que verifica todas las reservas y actualiza su estado.
-     * Recorre todas las reservas y establece su estado a false si la fecha de finalización
-     * es anterior a la fecha y hora actuales.
+     * Marca con estado false, por lotes, las reservas activas cuya fecha de finalización
+     * es anterior a la fecha y hora actuales. Solo recorre las reservas vencidas, usando el
+     * índice (Status, endDateTime).
      */
     @Override
     public void checkAllReservations() {
-        // Obtener todas las reservas
-        List<Reservation> reservations = reservationRepository.findAll();
-        // Recorrer cada reserva
-        for (Reservation r : reservations) {
-            // Verificar si la fecha de finalización es anterior a la fecha y hora actuales
-            if (r.getEndDateTime().isBefore(LocalDateTime.now())) {
-                // Establecer el estado a false
-                r.setStatus(false);
-                // Guardar los cambios en la base de datos
-                reservationRepository.save(r);
-            }
+        LocalDateTime now = LocalDateTime.now();
+        while (markExpiredBatch(now, EXPIRY_BATCH_SIZE) == EXPIRY_BATCH_SIZE) {
+            // continuar hasta vaciar las reservas vencidas
         }
     }
     /**
      * Método que elimina las reservas antiguas cuyo estado es false.
-     * Recorre todas las reservas y elimina aquellas cuya fecha de finalización ya pasó
-     * y cuyo estado es false. Además, realiza actualizaciones en los registros del usuario
-     * y laboratorio asociados a la reserva eliminada.
+     * Recorre por lotes las reservas vencidas con estado false y las cancela, lo que además
+     * actualiza los registros del usuario y laboratorio asociados a cada reserva eliminada.
      */
     @Override
     public void deleteOldReservations(){
-        List<Reservation> reservations = reservationRepository.findAll();
-        for (Reservation r : reservations) {
-            if(r.getStatus()==false){
+        LocalDateTime now = LocalDateTime.now();
+        while (deleteExpiredBatch(now, EXPIRY_BATCH_SIZE) == EXPIRY_BATCH_SIZE) {
+            // continuar hasta vaciar las reservas vencidas
+        }
+    }
+
+    /**
+     * Procesa un lote del vencimiento de reservas: marca como vencidas hasta batchSize reservas
+     * activas que ya terminaron y elimina hasta batchSize reservas ya marcadas.
+     * Lo invoca periódicamente {@link ReservationExpirySweeper}, fuera del flujo de creación.
+     * @param batchSize Tamaño máximo de cada lote.
+     * @return Cantidad de reservas marcadas y eliminadas en esta ejecución.
+     */
+    @Override
+    public int expireReservations(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        return markExpiredBatch(now, batchSize) + deleteExpiredBatch(now, batchSize);
+    }
+
+    private int markExpiredBatch(LocalDateTime now, int batchSize) {
+        List<Reservation> ended = reservationRepository.findEndedBefore(true, now, batchSize);
+        if (ended.isEmpty()) {
+            return 0;
+        }
+        List<String> ids = new ArrayList<>();
+        for (Reservation r : ended) {
+            ids.add(r.getId());
+        }
+        reservationRepository.markExpired(ids);
+        return ended.size();
+    }
+
+    private int deleteExpiredBatch(LocalDateTime now, int batchSize) {
+        List<Reservation> expired = reservationRepository.findEndedBefore(false, now, batchSize);
+        for (Reservation r : expired) {
+            try {
                 cancelReservation(r.getId());
+            } catch (DataIntegrityViolationException e) {
+                // la reserva ya no existe o su laboratorio tampoco: se elimina la reserva huérfana y
+                // solo se descuenta de las estadísticas si esta ejecución fue la que la eliminó
+                userRepository.removeReservationId(r.getUsername(), r.getId());
+                reservationIndex.remove(r.getId());
+                if (reservationRepository.removeReservationById(r.getId()) > 0) {
+                    statisticsService.recordRemoved(r);
+                }
             }
         }
+        return expired.size();
     }
     /**
      * Método que verifica si se puede realizar una nueva reserva en un laboratorio durante un intervalo de tiempo específico.
@@ -0,0 +1,57 @@
+package edu.eci.cvds.project.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Busca el primer día en que un laboratorio tiene libre la misma franja horaria solicitada.
+ *
+ * Las reservas del laboratorio en la ventana de búsqueda se obtienen una sola vez del
+ * {@link ReservationIntervalIndex} ya ordenadas por inicio y se recorren con una única
+ * pasada: cada día candidato incorpora las reservas que empiezan antes de su fin y descarta
+ * las que terminan antes de su inicio, de modo que ninguna reserva se revisa más de una vez.
+ */
+@Component
+public class ReservationSlotFinder {
+
+    /**
+     * Cantidad máxima de días que se desplaza la franja solicitada.
+     */
+    public static final int MAX_DAYS_AHEAD = 365;
+
+    @Autowired
+    private ReservationIntervalIndex reservationIndex;
+
+    /**
+     * Encuentra el inicio de la primera franja libre, desplazando la solicitada de a un día.
+     * @param labName Nombre del laboratorio.
+     * @param start Fecha y hora de inicio solicitada.
+     * @param end Fecha y hora de fin solicitada.
+     * @return El inicio de la primera franja libre, o vacío si no hay ninguna en los próximos 365 días.
+     */
+    public Optional<LocalDateTime> findNextStart(String labName, LocalDateTime start, LocalDateTime end) {
+        List<long[]> busy = reservationIndex.overlapping(labName, start, end.plusDays(MAX_DAYS_AHEAD));
+        PriorityQueue<Long> activeEnds = new PriorityQueue<>();
+        int next = 0;
+        for (int day = 0; day <= MAX_DAYS_AHEAD; day++) {
+            long candidateStart = ReservationIntervalIndex.toMillis(start.plusDays(day));
+            long candidateEnd = ReservationIntervalIndex.toMillis(end.plusDays(day));
+            while (next < busy.size() && busy.get(next)[0] < candidateEnd) {
+                activeEnds.add(busy.get(next)[1]);
+                next++;
+            }
+            while (!activeEnds.isEmpty() && activeEnds.peek() <= candidateStart) {
+                activeEnds.poll();
+            }
+            if (activeEnds.isEmpty()) {
+                return Optional.of(start.plusDays(day));
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,254 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.DTO.LaboratoryUtilizationDTO;
+import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.model.ReservationStatistic;
+import edu.eci.cvds.project.repository.ReservationMongoRepository;
+import edu.eci.cvds.project.repository.ReservationStatisticMongoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estadísticas de reservas.
+ *
+ * Los conteos por día, por laboratorio y por prioridad se leen de contadores materializados
+ * en la colección ReservationStatistic, así que cada consulta cuesta lo que la cantidad de grupos
+ * y no lo que la cantidad de reservas. {@link ReservationService} los actualiza con $inc al crear,
+ * editar y eliminar reservas (la cancelación y la limpieza de reservas vencidas eliminan); una
+ * reserva editada que cambió de laboratorio, de día o de prioridad se resta de sus contadores
+ * anteriores y se suma a los nuevos. Un trabajo nocturno los recalcula con agregaciones sobre la
+ * colección Reservation para corregir cualquier desviación, por ejemplo la que deja una escritura
+ * que falló entre la reserva y sus contadores.
+ *
+ * El conteo por laboratorio en un rango de fechas no se materializa: se calcula con una agregación
+ * que filtra en la base de datos. La utilización (horas reservadas y máximo de reservas
+ * simultáneas) se calcula con {@link UtilizationSweep} sobre un cursor ordenado.
+ *
+ * Los días se calculan en la zona horaria de la JVM, la misma con la que se guardan las fechas
+ * LocalDateTime, así que coinciden con {@code startDateTime.toLocalDate()}.
+ */
+@Service
+public class ReservationStatisticsService implements ServicesReservationStatistics {
+
+    @Autowired
+    private ReservationMongoRepository reservationRepository;
+
+    @Autowired
+    private ReservationStatisticMongoRepository statisticRepository;
+
+    @Value("${reservations.max-length-hours:24}")
+    private long maxLengthHours = 24;
+
+    /**
+     * Obtiene la cantidad de reservas agrupadas por fecha de inicio.
+     * @return Mapa ordenado de fecha a cantidad de reservas.
+     */
+    @Override
+    public Map<LocalDate, Long> countByDate() {
+        Map<LocalDate, Long> counts = new TreeMap<>();
+        for (ReservationStatistic statistic : statisticRepository.findByType(ReservationStatistic.DAY)) {
+            if (statistic.getCount() > 0) {
+                counts.put(LocalDate.parse(statistic.getKey()), statistic.getCount());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Obtiene la cantidad de reservas agrupadas por laboratorio.
+     * @return Mapa ordenado de nombre de laboratorio a cantidad de reservas.
+     */
+    @Override
+    public Map<String, Long> countByLaboratory() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (ReservationStatistic statistic : statisticRepository.findByType(ReservationStatistic.LABORATORY)) {
+            if (statistic.getCount() > 0) {
+                counts.put(statistic.getKey(), statistic.getCount());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Obtiene la cantidad de reservas por laboratorio cuya fecha de inicio está en el rango dado.
+     * El filtro se aplica en la base de datos.
+     * @param startDate Primer día del rango, inclusivo.
+     * @param endDate Último día del rango, inclusivo.
+     * @return Mapa ordenado de nombre de laboratorio a cantidad de reservas dentro del rango;
+     *         vacío si el último día es anterior al primero.
+     */
+    @Override
+    public Map<String, Long> countByLaboratoryBetween(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return new LinkedHashMap<>();
+        }
+        return reservationRepository.countByLaboratory(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Calcula la proporción de reservas de cada prioridad sobre el total.
+     * @return Mapa ordenado de prioridad a proporción de reservas con esa prioridad.
+     */
+    @Override
+    public Map<Integer, Double> averageByPriority() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        long total = 0;
+        for (ReservationStatistic statistic : statisticRepository.findByType(ReservationStatistic.PRIORITY)) {
+            if (statistic.getCount() > 0) {
+                counts.put(Integer.valueOf(statistic.getKey()), statistic.getCount());
+                total += statistic.getCount();
+            }
+        }
+        Map<Integer, Double> averages = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+            averages.put(entry.getKey(), (double) entry.getValue() / total);
+        }
+        return averages;
+    }
+
+    /**
+     * Calcula la utilización de cada laboratorio en un rango de días con un solo barrido sobre
+     * las reservas del rango, leídas en orden desde el índice por un cursor. La lectura se acota
+     * con reservations.max-length-hours, el mismo límite que {@link ReservationService} valida
+     * al crear y editar reservas.
+     * @param startDate Primer día del rango, inclusivo.
+     * @param endDate Último día del rango, inclusivo.
+     * @return Utilización de cada laboratorio con reservas en el rango, ordenada por nombre;
+     *         vacía si el último día es anterior al primero.
+     */
+    @Override
+    public List<LaboratoryUtilizationDTO> utilization(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return new ArrayList<>();
+        }
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+        UtilizationSweep sweep = new UtilizationSweep(from, to);
+        reservationRepository.streamOverlapping(from, to, Duration.ofHours(maxLengthHours), sweep::accept);
+        return sweep.finish();
+    }
+
+    /**
+     * Suma una reserva creada a los contadores de su laboratorio, día y prioridad.
+     * @param reservation Reserva creada.
+     */
+    @Override
+    public void recordCreated(Reservation reservation) {
+        statisticRepository.increment(keysOf(reservation), 1);
+    }
+
+    /**
+     * Suma varias reservas creadas a los contadores de sus laboratorios, días y prioridades.
+     * Agrupa primero las reservas por contador, así que envía un solo $inc por contador.
+     * @param reservations Reservas creadas.
+     */
+    @Override
+    public void recordCreatedAll(Collection<Reservation> reservations) {
+        Map<String, ReservationStatistic> deltas = new LinkedHashMap<>();
+        for (Reservation reservation : reservations) {
+            keysOf(reservation).forEach((type, keys) -> {
+                for (String key : keys) {
+                    ReservationStatistic delta = deltas.computeIfAbsent(ReservationStatistic.idOf(type, key),
+                            id -> statistic(type, key, 0));
+                    delta.setCount(delta.getCount() + 1);
+                }
+            });
+        }
+        statisticRepository.incrementAll(deltas.values());
+    }
+
+    /**
+     * Resta una reserva eliminada de los contadores de su laboratorio, día y prioridad.
+     * @param reservation Reserva eliminada.
+     */
+    @Override
+    public void recordRemoved(Reservation reservation) {
+        statisticRepository.increment(keysOf(reservation), -1);
+    }
+
+    /**
+     * Mueve una reserva editada de los contadores que le correspondían antes de la edición a los
+     * que le corresponden ahora. No escribe nada si el laboratorio, el día y la prioridad no cambiaron.
+     * @param previous Reserva antes de la edición.
+     * @param updated Reserva después de la edición.
+     */
+    @Override
+    public void recordUpdated(Reservation previous, Reservation updated) {
+        if (keysOf(previous).equals(keysOf(updated))) {
+            return;
+        }
+        recordRemoved(previous);
+        recordCreated(updated);
+    }
+
+    /**
+     * Elimina todos los contadores; se usa cuando se eliminan todas las reservas.
+     */
+    @Override
+    public void reset() {
+        statisticRepository.deleteAll();
+    }
+
+    /**
+     * Recalcula todos los contadores con agregaciones sobre la colección Reservation y los
+     * reemplaza. Se ejecuta cada noche (reservations.statistics.reconcile-cron).
+     */
+    @Override
+    @Scheduled(cron = "${reservations.statistics.reconcile-cron:0 0 3 * * *}")
+    public void reconcile() {
+        List<ReservationStatistic> statistics = new ArrayList<>();
+        reservationRepository.countByLaboratory(null, null).forEach((laboratory, count) -> {
+            if (laboratory != null) {
+                statistics.add(statistic(ReservationStatistic.LABORATORY, laboratory, count));
+            }
+        });
+        reservationRepository.countByStartDate(ZoneId.systemDefault()).forEach((day, count) ->
+                statistics.add(statistic(ReservationStatistic.DAY, day.toString(), count)));
+        reservationRepository.countByPriority().forEach((priority, count) ->
+                statistics.add(statistic(ReservationStatistic.PRIORITY, priority.toString(), count)));
+        statisticRepository.replaceAll(statistics);
+    }
+
+    /**
+     * Calcula los contadores al arrancar si todavía no existen, para no esperar al trabajo nocturno.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (statisticRepository.count() == 0) {
+            reconcile();
+        }
+    }
+
+    private static Map<String, Collection<String>> keysOf(Reservation reservation) {
+        Map<String, Collection<String>> keys = new LinkedHashMap<>();
+        if (reservation.getLaboratoryname() != null) {
+            keys.put(ReservationStatistic.LABORATORY, List.of(reservation.getLaboratoryname()));
+        }
+        if (reservation.getStartDateTime() != null) {
+            keys.put(ReservationStatistic.DAY, List.of(reservation.getStartDateTime().toLocalDate().toString()));
+        }
+        if (reservation.getPriority() != null) {
+            keys.put(ReservationStatistic.PRIORITY, List.of(reservation.getPriority().toString()));
+        }
+        return keys;
+    }
+
+    private static ReservationStatistic statistic(String type, String key, long count) {
+        return new ReservationStatistic(ReservationStatistic.idOf(type, key), type, key, count);
+    }
+}
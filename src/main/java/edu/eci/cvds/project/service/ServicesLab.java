@@ -1,6 +1,7 @@
 package edu.eci.cvds.project.service;
 
 import edu.eci.cvds.project.model.DTO.LaboratoryDTO;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.Laboratory;
 
 import java.time.LocalDateTime;
@@ -10,10 +11,15 @@ import java.util.Optional;
 
 public interface ServicesLab {
     List<Laboratory> getAllLaboratories();
+    PageDTO<Laboratory> getLaboratoriesPage(String after, int limit);
+    PageDTO<Laboratory> getLaboratoryDetails(String after, int limit);
+    Laboratory getLaboratoryDetailsByName(String name);
     Optional<Laboratory> getLaboratoryById(String id);
-    Laboratory saveLaboratory(LaboratoryDTO laboratoryDTO,String token);
+    Optional<Laboratory> getLaboratoryDetailsById(String id);
+    Laboratory saveLaboratory(LaboratoryDTO laboratoryDTO);
     boolean isLaboratoryAvailable(Laboratory laboratory, LocalDateTime localDateTime);
     void deleteLaboratory(String id);
     Laboratory getLaboratoryByName(String name);
     boolean isLaboratoriesAvailable(Laboratory laboratory,LocalDateTime dateStartTime,LocalDateTime dateEndTime);
+    List<String> getAvailableLaboratoryNames(LocalDateTime dateStartTime, LocalDateTime dateEndTime);
 }
@@ -1,7 +1,11 @@
 package edu.eci.cvds.project.service;
 
 import edu.eci.cvds.project.exception.UserException;
+import edu.eci.cvds.project.model.DTO.TokenPairDTO;
 
 public interface ServicesLogin {
     String loginUser(String username, String password)throws UserException.UserNotFoundException, UserException.UserIncorrectPasswordException;
+    String createRefreshToken(String username);
+    TokenPairDTO refresh(String refreshToken) throws UserException.InvalidRefreshTokenException;
+    boolean logout(String refreshToken);
 }
@@ -1,17 +1,23 @@
 package edu.eci.cvds.project.service;
 
+import edu.eci.cvds.project.model.DTO.BulkReservationResultDTO;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.DTO.ReservationDTO;
+import edu.eci.cvds.project.model.DTO.ReservationSlotDTO;
 import edu.eci.cvds.project.model.Laboratory;
 import edu.eci.cvds.project.model.Reservation;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ServicesReservation {
     List<Reservation> getAllReservations();
+    PageDTO<Reservation> getReservationsPage(String after, int limit);
     Reservation createReservation(ReservationDTO reservationDTO);
+    List<BulkReservationResultDTO> createReservations(List<ReservationDTO> reservationDTOs);
     boolean cancelReservation(String id);
-    List<Reservation> getReservationsInRange(LocalDateTime start, LocalDateTime end);
+    PageDTO<Reservation> getReservationsInRange(LocalDateTime start, LocalDateTime end, String after, int limit);
     boolean isLaboratoryAvilable(Laboratory laboratory, LocalDateTime start, LocalDateTime end);
     boolean isReservationAvailable(Reservation reservation);
     String generateUniqueId();
@@ -20,5 +26,7 @@ public interface ServicesReservation {
     void deleteAllReservations();
     void deleteOldReservations();
     void checkAllReservations();
+    int expireReservations(int batchSize);
     boolean reserves(ReservationDTO dto,LocalDateTime dateStartTime,LocalDateTime dateEndTime);
+    Optional<ReservationSlotDTO> findNextAvailableSlot(String labName, LocalDateTime start, LocalDateTime end);
 }
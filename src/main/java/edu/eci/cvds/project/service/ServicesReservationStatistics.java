@@ -0,0 +1,23 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.DTO.LaboratoryUtilizationDTO;
+import edu.eci.cvds.project.model.Reservation;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ServicesReservationStatistics {
+    Map<LocalDate, Long> countByDate();
+    Map<String, Long> countByLaboratory();
+    Map<String, Long> countByLaboratoryBetween(LocalDate startDate, LocalDate endDate);
+    Map<Integer, Double> averageByPriority();
+    List<LaboratoryUtilizationDTO> utilization(LocalDate startDate, LocalDate endDate);
+    void recordCreated(Reservation reservation);
+    void recordCreatedAll(Collection<Reservation> reservations);
+    void recordRemoved(Reservation reservation);
+    void recordUpdated(Reservation previous, Reservation updated);
+    void reset();
+    void reconcile();
+}
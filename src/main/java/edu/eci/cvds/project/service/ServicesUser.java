@@ -1,6 +1,8 @@
 package edu.eci.cvds.project.service;
 
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.DTO.UserDTO;
+import edu.eci.cvds.project.model.DTO.UserSummaryDTO;
 import edu.eci.cvds.project.model.Laboratory;
 import edu.eci.cvds.project.model.Reservation;
 import edu.eci.cvds.project.model.User;
@@ -12,15 +14,16 @@ import java.util.List;
 public interface ServicesUser {
 
     List<User> getAllUser();
+    PageDTO<User> getUsersPage(String after, int limit);
+    PageDTO<UserSummaryDTO> getUserSummaries(String after, int limit);
     User getUserByUsername(String username);
-    List<Reservation> getAllReservationByUserId(String id);
+    PageDTO<Reservation> getAllReservationByUserId(String id, String after, int limit);
     User save(UserDTO user);
     User getUserById(String id);
     void deleteUser(String id);
     User updateUser(User user);
     List<Reservation> getAllReservationByUsername(String username);
-    void verifyReservations(String username);
-    User updateAdmin(String username,String token);
+    User updateAdmin(String username);
     String getRoleByUsername(String username);
 
 
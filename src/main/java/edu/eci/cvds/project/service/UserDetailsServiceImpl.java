@@ -3,6 +3,7 @@ package edu.eci.cvds.project.service;
 import edu.eci.cvds.project.model.User;
 import edu.eci.cvds.project.repository.UserMongoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,8 +12,10 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
@@ -20,6 +23,23 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     private UserMongoRepository userRepository;
 
+    @Value("${security.principal-cache.max-size:1000}")
+    private int maxSize = 1000;
+
+    @Value("${security.principal-cache.ttl-seconds:60}")
+    private long ttlSeconds = 60;
+
+    /**
+     * Caché de principales autenticados por nombre de usuario, en orden de acceso (LRU).
+     * Cada entrada vence después de ttlSeconds y se descarta la menos usada al superar maxSize.
+     */
+    private final Map<String, CachedPrincipal> principals = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+            return size() > maxSize;
+        }
+    };
+
     /**
      * Método que carga los detalles del usuario a partir de su nombre de usuario.
      *
@@ -27,18 +47,64 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      * según su nombre de usuario (username) y luego retornar los detalles del usuario (incluyendo su contraseña y roles) necesarios
      * para la autenticación. Si no se encuentra un usuario con el nombre de usuario proporcionado, se lanza una excepción.
      *
+     * Los detalles se guardan en una caché acotada con vencimiento, de modo que las peticiones autenticadas no consultan la base
+     * de datos en cada llamada. En un fallo de caché solo se proyectan el nombre de usuario, la contraseña y el rol.
+     *
      * @param username El nombre de usuario del que se quiere cargar los detalles.
      * @return Un objeto UserDetails que contiene los detalles del usuario, incluyendo nombre de usuario, contraseña y roles.
      * @throws UsernameNotFoundException Si no se encuentra un usuario con el nombre de usuario proporcionado.
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findUserByUsername(username);
+        long now = System.nanoTime();
+        synchronized (principals) {
+            CachedPrincipal cached = principals.get(username);
+            if (cached != null && cached.expiresAt - now > 0) {
+                return cached.toUserDetails();
+            }
+        }
+        User user = userRepository.findCredentialsByUsername(username);
         if (user == null) {
             throw new UsernameNotFoundException("Usuario no encontrado con el nombre de usuario: " + username);
         }
         List<GrantedAuthority> authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
 
-        return new org.springframework.security.core.userdetails.User(user.getUsername(), user.getPassword(), authorities);
+        CachedPrincipal principal = new CachedPrincipal(user.getId(), user.getUsername(), user.getPassword(), authorities,
+                now + TimeUnit.SECONDS.toNanos(ttlSeconds));
+        synchronized (principals) {
+            principals.put(username, principal);
+        }
+        return principal.toUserDetails();
+    }
+
+    /**
+     * Descarta de la caché el principal de un usuario.
+     * @param username Nombre de usuario.
+     */
+    public void evict(String username) {
+        synchronized (principals) {
+            principals.remove(username);
+        }
+    }
+
+    /**
+     * Descarta de la caché el principal de un usuario a partir de su ID.
+     * @param id Identificador del usuario.
+     */
+    public void evictById(String id) {
+        synchronized (principals) {
+            principals.values().removeIf(cached -> id.equals(cached.userId));
+        }
+    }
+
+    /**
+     * Datos guardados en caché; cada consulta recibe su propio UserDetails para que borrar las
+     * credenciales de uno no afecte a los demás.
+     */
+    private record CachedPrincipal(String userId, String username, String password,
+                                   List<GrantedAuthority> authorities, long expiresAt) {
+        UserDetails toUserDetails() {
+            return new org.springframework.security.core.userdetails.User(username, password, authorities);
+        }
     }
 }
@@ -1,21 +1,23 @@
 package edu.eci.cvds.project.service;
 import edu.eci.cvds.project.exception.UserException;
 import edu.eci.cvds.project.model.DTO.LaboratoryDTO;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.DTO.UserDTO;
+import edu.eci.cvds.project.model.DTO.UserSummaryDTO;
 import edu.eci.cvds.project.model.Laboratory;
 import edu.eci.cvds.project.model.Reservation;
 import edu.eci.cvds.project.model.Role;
 import edu.eci.cvds.project.model.User;
 import edu.eci.cvds.project.repository.ReservationMongoRepository;
 import edu.eci.cvds.project.repository.UserMongoRepository;
+import edu.eci.cvds.project.util.KeysetCursor;
 
-import edu.eci.cvds.project.util.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -31,9 +33,11 @@ public class UserService implements ServicesUser {
     @Autowired
     private ReservationMongoRepository reservationRepository;
     @Autowired
-    private JwtUtil jwtUtilservice;
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
 
-    private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
     /**
      * Guarda un nuevo usuario en el sistema.
      * @param userdto DTO que contiene la información del usuario.
@@ -47,31 +51,26 @@ public class UserService implements ServicesUser {
         User user = new User();
         user.setUsername(userdto.getUsername());
         user.setRole(userdto.getRole());
-        String hashedPassword = passwordEncoder.encode(userdto.getPassword());
+        String hashedPassword = passwordHashingService.encode(userdto.getPassword());
         user.setPassword(hashedPassword);
-        user.setReservations(new ArrayList<Reservation>());
+        user.setReservationIds(new ArrayList<>());
         return userRepository.saveUser(user);
     }
     /**
-     * Método que actualiza el rol de un usuario a "ADMIN" después de validar el token JWT.
+     * Método que actualiza el rol de un usuario a "ADMIN".
      *
-     * Este método primero valida si el token JWT proporcionado es válido y corresponde a un administrador.
-     * Si el token es válido, busca al usuario por su nombre de usuario. Si el usuario existe, se le asigna el rol
-     * de administrador (ADMIN) y se guarda en la base de datos. Si el token es inválido o el usuario no se encuentra,
-     * se lanzan excepciones.
+     * Solo un administrador puede invocarlo: el rol se verifica con la autenticación que JwtRequestFilter dejó
+     * en el SecurityContext, sin volver a decodificar el token. Busca al usuario por su nombre de usuario y, si
+     * existe, se le asigna el rol de administrador (ADMIN) y se guarda en la base de datos.
      *
      * @param username El nombre de usuario del usuario que se quiere actualizar.
-     * @param token El token JWT que se usa para validar la operación.
      * @return El usuario actualizado con el rol ADMIN.
-     * @throws IllegalArgumentException Si el token no es válido o el usuario no se encuentra.
+     * @throws IllegalArgumentException Si el usuario no se encuentra.
+     * @throws org.springframework.security.access.AccessDeniedException Si quien llama no es administrador.
      */
     @Override
-    public User updateAdmin(String username, String token) {
-        // Validar si el token es de un administrador
-        if (!jwtUtilservice.validateAdmin(token)) {
-            throw new IllegalArgumentException("Invalid token");  // Lanzar excepción si el token no es válido
-        }
-
+    @PreAuthorize("hasRole('ADMIN')")
+    public User updateAdmin(String username) {
         // Buscar al usuario por nombre de usuario
         User user = userRepository.findUserByUsername(username);
 
@@ -83,26 +82,40 @@ public class UserService implements ServicesUser {
         // Asignar el rol de ADMIN al usuario
         user.setRole(Role.ADMIN);
 
-        // Guardar y devolver el usuario con el rol actualizado
-        return userRepository.saveUser(user);
+        // Guardar y devolver el usuario con el rol actualizado; el rol en caché ya no es válido
+        User saved = userRepository.saveUser(user);
+        userDetailsService.evict(username);
+        return saved;
     }
 
     /**
      * Método que actualiza la información de un usuario.
      *
-     * Este método toma un objeto de usuario actualizado, actualiza sus reservas (si las tiene),
-     * y luego guarda el usuario con la información actualizada en la base de datos.
+     * Este método toma un objeto de usuario actualizado y lo guarda con la información
+     * actualizada en la base de datos. La contraseña nunca se serializa en las respuestas, así que
+     * un usuario que se leyó, se editó y se envía de vuelta llega sin ella; en ese caso se conserva
+     * el hash guardado en lugar de reemplazarlo por null.
      *
      * @param user El objeto de usuario con la información que se desea actualizar.
      * @return El usuario actualizado.
      */
     @Override
     public User updateUser(User user) {
-        // Actualizar las reservas del usuario (en este caso parece que el objeto ya tiene las reservas asociadas)
-        user.setReservations(user.getReservations());
-
-        // Guardar y devolver el usuario actualizado
-        return userRepository.saveUser(user);
+        if (user.getPassword() == null && user.getId() != null) {
+            User stored = userRepository.findPasswordById(user.getId());
+            if (stored != null) {
+                user.setPassword(stored.getPassword());
+            }
+        }
+        // Guardar y devolver el usuario actualizado, descartando su principal en caché
+        User saved = userRepository.saveUser(user);
+        if (user.getId() != null) {
+            userDetailsService.evictById(user.getId());
+        }
+        if (user.getUsername() != null) {
+            userDetailsService.evict(user.getUsername());
+        }
+        return saved;
     }
 
 
@@ -124,28 +137,39 @@ public class UserService implements ServicesUser {
     @Override
     public void deleteUser(String id) {
         userRepository.deleteUserById(id);
+        userDetailsService.evictById(id);
     }
 
     /**
-     * Obtiene todas las reservas asociadas a un usuario específico.
+     * Obtiene una página de las reservas asociadas a un usuario específico, ordenadas por fecha de inicio.
+     * Las reservas se consultan en la colección Reservation por nombre de usuario.
      * @param id Identificador del usuario.
-     * @return Lista de reservas del usuario.
+     * @param after Cursor de la página anterior, o null para la primera.
+     * @param limit Tamaño de la página, ajustado a {@link KeysetCursor#MAX_LIMIT}.
+     * @return La página de reservas del usuario con el cursor de la siguiente.
      * @throws RuntimeException Si el usuario no existe.
+     * @throws IllegalArgumentException Si el cursor no es válido.
      */
     @Override
-    public List<Reservation> getAllReservationByUserId(String id) {
+    public PageDTO<Reservation> getAllReservationByUserId(String id, String after, int limit) {
         Optional<User> userOptional = userRepository.findById(id);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
-            // Retornar las reservas del usuario
-            return user.getReservations();
+            int size = KeysetCursor.limit(limit);
+            KeysetCursor.Position position = KeysetCursor.parse(after);
+            List<Reservation> fetched = position == null
+                    ? reservationRepository.findByUsernamePage(user.getUsername(), null, null, size + 1)
+                    : reservationRepository.findByUsernamePage(user.getUsername(), position.getStartDateTime(), position.getId(), size + 1);
+            return KeysetCursor.page(fetched, size,
+                    reservation -> KeysetCursor.of(reservation.getStartDateTime(), reservation.getId()));
         } else {
             throw new RuntimeException("Usuario no encontrado con ID: " + id);
         }
 
     }
     /**
-     * Obtiene todas las reservas asociadas a un usuario específico.
+     * Obtiene las reservas activas asociadas a un usuario específico.
+     * Las reservas se consultan en la colección Reservation por nombre de usuario y estado.
      * @param username Identificador del usuario.
      * @return Lista de reservas del usuario.
      * @throws RuntimeException Si el usuario no existe.
@@ -154,47 +178,12 @@ public class UserService implements ServicesUser {
     public List<Reservation> getAllReservationByUsername(String username) {
         User user = userRepository.findUserByUsername(username);
         if (user!=null) {
-            List<Reservation> reservations = user.getReservations();
-            List<Reservation> filteredReservations = new ArrayList<>();
-            for (Reservation reservation : reservations) {
-                if(reservation.getStatus()==true){
-                    filteredReservations.add(reservation);
-                }
-            }
-            return filteredReservations;
+            return reservationRepository.findActiveByUsername(username);
         } else {
             throw new RuntimeException("Usuario no encontrado con username: " + username);
         }
 
     }
-    /**
-     * Método que verifica las reservas de un usuario y actualiza su estado si la fecha de finalización ya ha pasado.
-     *
-     * Este método busca al usuario por su nombre de usuario, luego recorre todas las reservas asociadas al usuario.
-     * Si alguna de las reservas tiene una fecha de finalización que es anterior a la fecha y hora actuales,
-     * se actualiza el estado de la reserva a `false` (indicando que la reserva ya no es válida) y se guardan los cambios
-     * en la base de datos. Además, el usuario también es actualizado.
-     *
-     * @param username El nombre de usuario del usuario cuyas reservas se van a verificar.
-     */
-    @Override
-    public void verifyReservations(String username) {
-        User user = userRepository.findUserByUsername(username);
-        List<Reservation> reservations = user.getReservations();
-        if(reservations != null && !reservations.isEmpty()) {
-            for (Reservation reservation : reservations) {
-                LocalDateTime end = reservation.getEndDateTime();
-                if (end.isBefore(LocalDateTime.now())) {
-                    reservation.setStatus(false);
-                    reservationRepository.updateReservation(reservation);
-                    userRepository.updateUser(user);
-                }
-            }
-        }
-    }
-
-
-
     /**
      * Obtiene un usuario por su nombre de usuario.
      * @param username Nombre de usuario.
@@ -215,6 +204,34 @@ public class UserService implements ServicesUser {
         return userRepository.findAllUsers();
     }
 
+    /**
+     * Obtiene una página de usuarios completos ordenados por ID.
+     * @param after Cursor de la página anterior, o null para la primera.
+     * @param limit Tamaño de la página, ajustado a {@link KeysetCursor#MAX_LIMIT}.
+     * @return La página de usuarios con el cursor de la siguiente.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    @Override
+    public PageDTO<User> getUsersPage(String after, int limit) {
+        int size = KeysetCursor.limit(limit);
+        List<User> fetched = userRepository.findPage(KeysetCursor.parseId(after), size + 1);
+        return KeysetCursor.page(fetched, size, user -> KeysetCursor.of(user.getId()));
+    }
+
+    /**
+     * Obtiene una página del resumen de los usuarios (id, nombre de usuario y rol) con una consulta proyectada.
+     * @param after Cursor de la página anterior, o null para la primera.
+     * @param limit Tamaño de la página, ajustado a {@link KeysetCursor#MAX_LIMIT}.
+     * @return La página de resúmenes de usuario con el cursor de la siguiente.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    @Override
+    public PageDTO<UserSummaryDTO> getUserSummaries(String after, int limit) {
+        int size = KeysetCursor.limit(limit);
+        List<UserSummaryDTO> fetched = userRepository.findSummaryPage(KeysetCursor.parseId(after), size + 1);
+        return KeysetCursor.page(fetched, size, summary -> KeysetCursor.of(summary.getId()));
+    }
+
     /**
      * Método que obtiene el rol de un usuario a partir de su nombre de usuario.
      *
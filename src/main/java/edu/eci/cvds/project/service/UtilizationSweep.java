@@ -0,0 +1,106 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.DTO.LaboratoryUtilizationDTO;
+import edu.eci.cvds.project.model.Reservation;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Calcula la utilización de los laboratorios con un barrido sobre reservas ordenadas por
+ * startDateTime, llevando el estado de cada laboratorio por separado.
+ *
+ * Cada reserva se recorta al rango pedido, suma sus horas al día y a la semana en que caen
+ * (partiéndola en la medianoche si cruza de día) y entra a la cola de fines activos de su
+ * laboratorio; antes de agregarla se descartan los fines que ya pasaron, así que el tamaño de la
+ * cola es la cantidad de reservas simultáneas del laboratorio en ese instante. La memoria depende
+ * de la cantidad de laboratorios, de días del rango y del máximo de reservas simultáneas, no de
+ * la cantidad de reservas recorridas.
+ *
+ * No es seguro entre hilos; se usa una instancia por consulta.
+ */
+public class UtilizationSweep {
+
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Map<String, LabState> labs = new TreeMap<>();
+
+    /**
+     * @param from Inicio del rango, inclusivo.
+     * @param to Fin del rango, exclusivo.
+     */
+    public UtilizationSweep(LocalDateTime from, LocalDateTime to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Procesa la siguiente reserva. Las reservas deben llegar ordenadas por fecha de inicio; las
+     * de distintos laboratorios pueden llegar intercaladas.
+     * @param reservation Reserva con laboratorio, inicio y fin.
+     */
+    public void accept(Reservation reservation) {
+        if (reservation.getLaboratoryname() == null || reservation.getStartDateTime() == null
+                || reservation.getEndDateTime() == null) {
+            return;
+        }
+        LocalDateTime start = reservation.getStartDateTime().isBefore(from) ? from : reservation.getStartDateTime();
+        LocalDateTime end = reservation.getEndDateTime().isAfter(to) ? to : reservation.getEndDateTime();
+        if (!end.isAfter(start)) {
+            return;
+        }
+        LabState lab = labs.computeIfAbsent(reservation.getLaboratoryname(), name -> new LabState());
+        while (!lab.activeEnds.isEmpty() && !lab.activeEnds.peek().isAfter(start)) {
+            lab.activeEnds.poll();
+        }
+        lab.activeEnds.add(end);
+        if (lab.activeEnds.size() > lab.peakConcurrent) {
+            lab.peakConcurrent = lab.activeEnds.size();
+            lab.peakStart = start;
+        }
+        addHours(lab, start, end);
+    }
+
+    /**
+     * Termina el barrido.
+     * @return La utilización de cada laboratorio con al menos una reserva en el rango, ordenada por nombre.
+     */
+    public List<LaboratoryUtilizationDTO> finish() {
+        List<LaboratoryUtilizationDTO> results = new ArrayList<>(labs.size());
+        labs.forEach((name, lab) -> results.add(new LaboratoryUtilizationDTO(name, lab.totalHours,
+                lab.hoursByDay, lab.hoursByWeek, lab.peakConcurrent, lab.peakStart)));
+        return results;
+    }
+
+    private static void addHours(LabState lab, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime cursor = start;
+        while (cursor.isBefore(end)) {
+            LocalDate day = cursor.toLocalDate();
+            LocalDateTime midnight = day.plusDays(1).atStartOfDay();
+            LocalDateTime segmentEnd = midnight.isBefore(end) ? midnight : end;
+            double hours = Duration.between(cursor, segmentEnd).toMillis() / MILLIS_PER_HOUR;
+            lab.hoursByDay.merge(day, hours, Double::sum);
+            lab.hoursByWeek.merge(day.with(DayOfWeek.MONDAY), hours, Double::sum);
+            lab.totalHours += hours;
+            cursor = segmentEnd;
+        }
+    }
+
+    private static final class LabState {
+        private final PriorityQueue<LocalDateTime> activeEnds = new PriorityQueue<>();
+        private final Map<LocalDate, Double> hoursByDay = new TreeMap<>();
+        private final Map<LocalDate, Double> hoursByWeek = new TreeMap<>();
+        private double totalHours;
+        private int peakConcurrent;
+        private LocalDateTime peakStart;
+    }
+}
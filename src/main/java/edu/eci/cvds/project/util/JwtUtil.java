@@ -2,24 +2,21 @@ package edu.eci.cvds.project.util;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
-import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 
 import com.auth0.jwt.interfaces.DecodedJWT;
 
 import com.auth0.jwt.interfaces.JWTVerifier;
-import edu.eci.cvds.project.model.Role;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwt;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Date;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 
 @Service
@@ -27,6 +24,28 @@ public class JwtUtil {
 
     private String SECRET_KEY = "secret";
 
+    /**
+     * Verificador compartido; JWTVerifier es inmutable y seguro entre hilos, así que no hace falta
+     * construir el algoritmo HMAC en cada petición.
+     */
+    private final JWTVerifier verifier = JWT.require(Algorithm.HMAC256(SECRET_KEY)).build();
+
+    @Value("${security.jwt.verified-cache.max-size:10000}")
+    private int maxCachedTokens = 10000;
+
+    /**
+     * Tokens ya verificados, indexados por el hash SHA-256 del token, en orden de acceso (LRU).
+     * Cada entrada vale hasta el exp del token, de modo que la firma de un token se comprueba una
+     * sola vez por proceso; al superar maxCachedTokens se descarta la menos usada, sin recorrer
+     * la caché.
+     */
+    private final Map<String, DecodedJWT> verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DecodedJWT> eldest) {
+            return size() > maxCachedTokens;
+        }
+    };
+
 
     public boolean validateAdmin(String token) {
         try {
@@ -39,12 +58,45 @@ public class JwtUtil {
         }
     }
 
-    private DecodedJWT decodeToken(String token) throws JWTVerificationException {
-        JWTVerifier verifier = JWT.require(Algorithm.HMAC256(SECRET_KEY)).build();
-        return verifier.verify(token.replace("Bearer ", ""));
+    /**
+     * Verifica un token y devuelve sus claims. Si el token ya fue verificado y no ha vencido se
+     * devuelve el resultado guardado sin volver a calcular la firma.
+     *
+     * Solo se guardan tokens con exp; los demás se verifican en cada llamada.
+     *
+     * @param token Token JWT, con o sin el prefijo "Bearer ".
+     * @return El token decodificado.
+     * @throws JWTVerificationException Si la firma no es válida o el token venció.
+     */
+    public DecodedJWT decodeToken(String token) throws JWTVerificationException {
+        String jwt = token.replace("Bearer ", "");
+        String key = hash(jwt);
+        synchronized (verifiedTokens) {
+            DecodedJWT cached = verifiedTokens.get(key);
+            if (cached != null) {
+                if (cached.getExpiresAtAsInstant().isAfter(Instant.now())) {
+                    return cached;
+                }
+                verifiedTokens.remove(key);
+            }
+        }
+        DecodedJWT decoded = verifier.verify(jwt);
+        if (decoded.getExpiresAtAsInstant() != null) {
+            synchronized (verifiedTokens) {
+                verifiedTokens.put(key, decoded);
+            }
+        }
+        return decoded;
+    }
 
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
 
 
 }
-
@@ -0,0 +1,166 @@
+package edu.eci.cvds.project.util;
+
+import edu.eci.cvds.project.model.DTO.PageDTO;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cursores opacos para la paginación por llave (keyset).
+ *
+ * En lugar de saltar registros con skip, cada página continúa después de la última llave
+ * entregada, así que el costo de una página no depende de su posición. El cursor es la llave
+ * de orden del último elemento, (_id) o (startDateTime, _id), codificada en Base64 URL.
+ * Los controladores devuelven los elementos en el cuerpo y el cursor siguiente en el encabezado
+ * {@link #NEXT_CURSOR_HEADER}.
+ */
+public final class KeysetCursor {
+
+    /** Encabezado de respuesta con el cursor de la página siguiente; no se envía en la última página. */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /** Tamaño de página cuando no se indica uno. */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /** Tamaño máximo de página; ninguna petición puede cargar más elementos. */
+    public static final int MAX_LIMIT = 200;
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Ajusta el tamaño de página pedido al rango permitido.
+     * @param requested Tamaño pedido.
+     * @return {@link #DEFAULT_LIMIT} si no es positivo, o el menor entre el pedido y {@link #MAX_LIMIT}.
+     */
+    public static int limit(int requested) {
+        if (requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    /**
+     * Crea el cursor de un listado ordenado por _id.
+     * @param id Identificador del último elemento.
+     * @return El cursor.
+     */
+    public static String of(String id) {
+        return encode(id);
+    }
+
+    /**
+     * Crea el cursor de un listado ordenado por (startDateTime, _id).
+     * @param startDateTime Fecha de inicio del último elemento.
+     * @param id Identificador del último elemento.
+     * @return El cursor.
+     */
+    public static String of(LocalDateTime startDateTime, String id) {
+        return encode(startDateTime + SEPARATOR + id);
+    }
+
+    /**
+     * Lee el cursor de un listado ordenado por _id.
+     * @param cursor Cursor recibido, puede ser null.
+     * @return El identificador, o null si no hay cursor.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    public static String parseId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        return decode(cursor);
+    }
+
+    /**
+     * Lee el cursor de un listado ordenado por (startDateTime, _id).
+     * @param cursor Cursor recibido, puede ser null.
+     * @return La posición, o null si no hay cursor.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    public static Position parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String value = decode(cursor);
+        int separator = value.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        try {
+            return new Position(LocalDateTime.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Arma una página a partir de una consulta que pidió un elemento más que el límite;
+     * si ese elemento extra llegó, hay una página siguiente.
+     * @param fetched Elementos consultados, hasta limit + 1.
+     * @param limit Tamaño de la página.
+     * @param cursorOf Función que crea el cursor de un elemento.
+     * @return La página con su cursor siguiente.
+     */
+    public static <T> PageDTO<T> page(List<T> fetched, int limit, Function<T, String> cursorOf) {
+        if (fetched.size() <= limit) {
+            return new PageDTO<>(fetched, null);
+        }
+        List<T> items = new ArrayList<>(fetched.subList(0, limit));
+        return new PageDTO<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    /**
+     * Crea los encabezados de respuesta de una página.
+     * @param page Página a responder.
+     * @return Encabezados con {@link #NEXT_CURSOR_HEADER} si hay una página siguiente.
+     */
+    public static HttpHeaders headers(PageDTO<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            headers.set(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return headers;
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Posición de un cursor ordenado por (startDateTime, _id).
+     */
+    public static final class Position {
+        private final LocalDateTime startDateTime;
+        private final String id;
+
+        public Position(LocalDateTime startDateTime, String id) {
+            this.startDateTime = startDateTime;
+            this.id = id;
+        }
+
+        public LocalDateTime getStartDateTime() {
+            return startDateTime;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+}
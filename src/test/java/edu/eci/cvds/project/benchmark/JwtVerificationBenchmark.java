@@ -0,0 +1,72 @@
+package edu.eci.cvds.project.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import edu.eci.cvds.project.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo por petición de verificar el token de una petición a un endpoint de administrador.
+ * El camino anterior construía el algoritmo HMAC y el verificador en el filtro y otra vez en
+ * validateAdmin; el nuevo usa el verificador compartido y el caché de tokens verificados de
+ * {@link JwtUtil}.
+ *
+ * No necesita servicios externos. Se ejecuta con el método main desde el classpath de pruebas:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=edu.eci.cvds.project.benchmark.JwtVerificationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "secret";
+
+    private String token;
+    private JwtUtil jwtUtil;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        token = JWT.create()
+                .withClaim("id", "1")
+                .withClaim("username", "admin")
+                .withClaim("role", "ADMIN")
+                .withExpiresAt(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .sign(Algorithm.HMAC256(SECRET));
+        jwtUtil = new JwtUtil();
+    }
+
+    /**
+     * Camino anterior: dos verificadores nuevos y dos cálculos de firma por petición.
+     */
+    @Benchmark
+    public boolean verifierPerCall() {
+        DecodedJWT filter = JWT.require(Algorithm.HMAC256(SECRET)).build().verify(token);
+        DecodedJWT admin = JWT.require(Algorithm.HMAC256(SECRET)).build().verify(token);
+        return filter.getClaim("username").asString() != null && "ADMIN".equals(admin.getClaim("role").asString());
+    }
+
+    /**
+     * Camino nuevo: verificador compartido y token ya verificado en caché.
+     */
+    @Benchmark
+    public boolean sharedVerifierWithCache() {
+        DecodedJWT filter = jwtUtil.decodeToken(token);
+        return filter.getClaim("username").asString() != null && jwtUtil.validateAdmin(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
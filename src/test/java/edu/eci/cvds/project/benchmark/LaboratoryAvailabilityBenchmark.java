@@ -0,0 +1,153 @@
+package edu.eci.cvds.project.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import edu.eci.cvds.project.model.Laboratory;
+import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.repository.LaboratoryMongoRepository;
+import edu.eci.cvds.project.repository.ReservationMongoRepository;
+import edu.eci.cvds.project.repository.ReservationMongoRepositoryCustomImpl;
+import edu.eci.cvds.project.service.LaboratoryCatalogCache;
+import edu.eci.cvds.project.service.LaboratoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara las dos formas de calcular los laboratorios libres de GET /laboratories/avaiable:
+ * cargar todos los laboratorios con sus reservas embebidas y revisarlos en Java, contra una
+ * agregación sobre la colección de reservas restada del catálogo proyectado. Los documentos con
+ * reservas embebidas ya no existen en el modelo, así que el camino anterior se reproduce sobre una
+ * colección aparte con el formato antiguo.
+ *
+ * Necesita un MongoDB local (o la URI de la propiedad {@code benchmark.mongodb.uri}); los datos se
+ * crean en una base de datos aparte que se elimina al terminar. Se ejecuta con el método main
+ * desde el classpath de pruebas, por ejemplo:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=edu.eci.cvds.project.benchmark.LaboratoryAvailabilityBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LaboratoryAvailabilityBenchmark {
+
+    private static final String DATABASE = "lab05cvds_benchmark";
+    private static final String LEGACY_COLLECTION = "LegacyLaboratory";
+
+    @Param({"300"})
+    private int laboratories;
+
+    @Param({"500"})
+    private int reservationsPerLaboratory;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private LaboratoryService laboratoryService;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        client = MongoClients.create(System.getProperty("benchmark.mongodb.uri", "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        mongoTemplate.getDb().drop();
+        mongoTemplate.indexOps(Reservation.class)
+                .ensureIndex(new Index().on("startDateTime", Sort.Direction.ASC).on("endDateTime", Sort.Direction.ASC));
+
+        LocalDateTime base = LocalDateTime.of(2023, 1, 2, 8, 0);
+        for (int lab = 0; lab < laboratories; lab++) {
+            String name = "Lab " + lab;
+            List<Reservation> reservations = new ArrayList<>();
+            for (int i = 0; i < reservationsPerLaboratory; i++) {
+                LocalDateTime start = base.plusDays(i).plusHours(lab % 8);
+                reservations.add(new Reservation(name + "-" + i, name, "user" + (i % 50), start, start.plusHours(2), "Class", true, 1));
+            }
+            mongoTemplate.insert(reservations, Reservation.class);
+            mongoTemplate.insert(new Laboratory("lab-" + lab, name, new ArrayList<>()));
+            mongoTemplate.insert(new Document("_id", "lab-" + lab).append("name", name)
+                    .append("reservations", mongoTemplate.getConverter().convertToMongoType(reservations)), LEGACY_COLLECTION);
+        }
+        windowStart = base.plusDays(reservationsPerLaboratory / 2).plusHours(3);
+        windowEnd = windowStart.plusHours(1);
+
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(mongoTemplate);
+        ReservationMongoRepositoryCustomImpl reservationFragment = new ReservationMongoRepositoryCustomImpl();
+        ReflectionTestUtils.setField(reservationFragment, "mongoTemplate", mongoTemplate);
+        LaboratoryMongoRepository laboratoryRepository = factory.getRepository(LaboratoryMongoRepository.class);
+        LaboratoryCatalogCache catalogCache = new LaboratoryCatalogCache();
+        ReflectionTestUtils.setField(catalogCache, "laboratoryRepository", laboratoryRepository);
+        ReflectionTestUtils.setField(catalogCache, "meterRegistry", new SimpleMeterRegistry());
+        catalogCache.registerMetrics();
+        catalogCache.load();
+        laboratoryService = new LaboratoryService();
+        ReflectionTestUtils.setField(laboratoryService, "laboratoryRepository", laboratoryRepository);
+        ReflectionTestUtils.setField(laboratoryService, "catalogCache", catalogCache);
+        ReflectionTestUtils.setField(laboratoryService, "reservationRepository",
+                factory.getRepository(ReservationMongoRepository.class, RepositoryFragments.just(reservationFragment)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    /**
+     * Camino anterior: todos los laboratorios con sus reservas embebidas, revisados uno por uno.
+     */
+    @Benchmark
+    public List<String> loadAllLaboratories() {
+        List<String> available = new ArrayList<>();
+        Date start = toDate(windowStart);
+        Date end = toDate(windowEnd);
+        for (Document laboratory : mongoTemplate.findAll(Document.class, LEGACY_COLLECTION)) {
+            boolean free = true;
+            for (Document reservation : laboratory.getList("reservations", Document.class)) {
+                if (reservation.getDate("startDateTime").before(end) && reservation.getDate("endDateTime").after(start)) {
+                    free = false;
+                    break;
+                }
+            }
+            if (free) {
+                available.add(laboratory.getString("name"));
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Camino nuevo: laboratorios ocupados por agregación, restados del catálogo proyectado.
+     */
+    @Benchmark
+    public List<String> busyLaboratoriesAggregation() {
+        return laboratoryService.getAvailableLaboratoryNames(windowStart, windowEnd);
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LaboratoryAvailabilityBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
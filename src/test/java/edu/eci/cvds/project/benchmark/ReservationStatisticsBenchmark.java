@@ -0,0 +1,156 @@
+package edu.eci.cvds.project.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.repository.ReservationMongoRepository;
+import edu.eci.cvds.project.repository.ReservationMongoRepositoryCustomImpl;
+import edu.eci.cvds.project.service.ReservationStatisticsService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara las dos formas de calcular las estadísticas de GET /reservations/by-date y
+ * /reservations/by-lab-and-date: cargar todas las reservas y contarlas en HashMaps, como hacía el
+ * controlador, contra las agregaciones $match/$group del repositorio. /by-date se lee hoy de los
+ * contadores materializados, así que aquí se mide directamente la agregación que los recalcula
+ * ({@code countByStartDate}); /by-lab-and-date sigue pasando por {@link ReservationStatisticsService}.
+ *
+ * Necesita un MongoDB local (o la URI de la propiedad {@code benchmark.mongodb.uri}); los datos se
+ * crean en una base de datos aparte que se elimina al terminar. Se ejecuta con el método main
+ * desde el classpath de pruebas, por ejemplo:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=edu.eci.cvds.project.benchmark.ReservationStatisticsBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ReservationStatisticsBenchmark {
+
+    private static final String DATABASE = "lab05cvds_benchmark";
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1000000"})
+    private int reservations;
+
+    @Param({"300"})
+    private int laboratories;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private ReservationMongoRepository reservationRepository;
+    private ReservationStatisticsService statisticsService;
+    private LocalDate rangeStart;
+    private LocalDate rangeEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        client = MongoClients.create(System.getProperty("benchmark.mongodb.uri", "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        mongoTemplate.getDb().drop();
+        mongoTemplate.indexOps(Reservation.class).ensureIndex(new Index()
+                .on("laboratoryname", Sort.Direction.ASC).on("startDateTime", Sort.Direction.ASC).on("endDateTime", Sort.Direction.ASC));
+        mongoTemplate.indexOps(Reservation.class)
+                .ensureIndex(new Index().on("startDateTime", Sort.Direction.ASC).on("endDateTime", Sort.Direction.ASC));
+
+        LocalDateTime base = LocalDateTime.of(2023, 1, 2, 7, 0);
+        List<Reservation> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < reservations; i++) {
+            LocalDateTime start = base.plusDays(i % 730).plusHours(i % 12);
+            batch.add(new Reservation(String.valueOf(i), "Lab " + (i % laboratories), "user" + (i % 500),
+                    start, start.plusHours(1), "Class", true, 1 + i % 5));
+            if (batch.size() == BATCH_SIZE) {
+                mongoTemplate.insert(batch, Reservation.class);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, Reservation.class);
+        }
+        rangeStart = base.toLocalDate().plusDays(300);
+        rangeEnd = rangeStart.plusDays(30);
+
+        ReservationMongoRepositoryCustomImpl reservationFragment = new ReservationMongoRepositoryCustomImpl();
+        ReflectionTestUtils.setField(reservationFragment, "mongoTemplate", mongoTemplate);
+        reservationRepository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(ReservationMongoRepository.class, RepositoryFragments.just(reservationFragment));
+        statisticsService = new ReservationStatisticsService();
+        ReflectionTestUtils.setField(statisticsService, "reservationRepository", reservationRepository);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    /**
+     * Camino anterior de /by-date: todas las reservas contadas en memoria.
+     */
+    @Benchmark
+    public Map<LocalDate, Long> byDateInMemory() {
+        Map<LocalDate, Long> reservationsByDate = new HashMap<>();
+        for (Reservation r : reservationRepository.findAll()) {
+            LocalDate date = r.getStartDateTime().toLocalDate();
+            reservationsByDate.put(date, reservationsByDate.getOrDefault(date, 0L) + 1);
+        }
+        return reservationsByDate;
+    }
+
+    /**
+     * Agregación de /by-date: $group sobre $dateToString.
+     */
+    @Benchmark
+    public Map<LocalDate, Long> byDateAggregation() {
+        return reservationRepository.countByStartDate(ZoneId.systemDefault());
+    }
+
+    /**
+     * Camino anterior de /by-lab-and-date: todas las reservas filtradas y contadas en memoria.
+     */
+    @Benchmark
+    public Map<String, Long> byLabAndDateInMemory() {
+        Map<String, Long> reservationsByLab = new HashMap<>();
+        for (Reservation r : reservationRepository.findAll()) {
+            LocalDate date = r.getStartDateTime().toLocalDate();
+            if (!date.isBefore(rangeStart) && !date.isAfter(rangeEnd)) {
+                String labName = r.getLaboratoryname();
+                reservationsByLab.put(labName, reservationsByLab.getOrDefault(labName, 0L) + 1);
+            }
+        }
+        return reservationsByLab;
+    }
+
+    /**
+     * Camino nuevo de /by-lab-and-date: $match por rango en el servidor y $group por laboratorio.
+     */
+    @Benchmark
+    public Map<String, Long> byLabAndDateAggregation() {
+        return statisticsService.countByLaboratoryBetween(rangeStart, rangeEnd);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReservationStatisticsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
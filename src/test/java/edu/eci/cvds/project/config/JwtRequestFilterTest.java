@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -20,6 +21,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -43,6 +46,9 @@ class JwtRequestFilterTest {
     @Mock
     private FilterChain filterChain;
 
+    @Spy
+    private JwtUtil jwtUtil = new JwtUtil();
+
     private String secretKey = "secret";
     private String validToken;
 
@@ -67,6 +73,41 @@ class JwtRequestFilterTest {
     }
 
 
+    @Test
+    void testRefreshWithExpiredBearerReachesTheEndpoint() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/authenticate/refresh");
+        request.setServletPath("/api/authenticate/refresh");
+        request.addHeader("Authorization", "Bearer " + expiredToken());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtRequestFilter.doFilter(request, response, filterChain);
+
+        assertEquals(200, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain, times(1)).doFilter(request, response);
+        verify(jwtUtil, never()).decodeToken(anyString());
+    }
+
+    @Test
+    void testExpiredBearerIsRejectedOnProtectedRoutes() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/reservations/all");
+        request.setServletPath("/reservations/all");
+        request.addHeader("Authorization", "Bearer " + expiredToken());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtRequestFilter.doFilter(request, response, filterChain);
+
+        assertEquals(401, response.getStatus());
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    private String expiredToken() {
+        return JWT.create()
+                .withClaim("username", "testUser")
+                .withExpiresAt(new Date(System.currentTimeMillis() - 60_000))
+                .sign(Algorithm.HMAC256(secretKey));
+    }
+
     @Test
     void testDoFilterInternalWithoutToken() throws ServletException, IOException {
         MockHttpServletRequest request = new MockHttpServletRequest();
@@ -77,4 +118,40 @@ class JwtRequestFilterTest {
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain, times(1)).doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDoFilterInternalTrustClaimsBuildsAuthenticationFromToken() throws ServletException, IOException {
+        ReflectionTestUtils.setField(jwtRequestFilter, "trustClaims", true);
+        String token = JWT.create()
+                .withClaim("username", "testUser")
+                .withClaim("role", "ADMIN")
+                .sign(Algorithm.HMAC256(secretKey));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("testUser", authentication.getName());
+        assertTrue(authentication.getAuthorities().stream()
+                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN")));
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
+
+    @Test
+    void testDoFilterInternalTrustClaimsWithoutRole() throws ServletException, IOException {
+        ReflectionTestUtils.setField(jwtRequestFilter, "trustClaims", true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + validToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(filterChain, never()).doFilter(request, response);
+    }
+}
@@ -0,0 +1,97 @@
+package edu.eci.cvds.project.config;
+
+import edu.eci.cvds.project.model.Laboratory;
+import edu.eci.cvds.project.model.RefreshToken;
+import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.model.ReservationStatistic;
+import edu.eci.cvds.project.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MongoIndexInitializerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations reservationIndexes;
+
+    @Mock
+    private IndexOperations laboratoryIndexes;
+
+    @Mock
+    private IndexOperations userIndexes;
+
+    @Mock
+    private IndexOperations refreshTokenIndexes;
+
+    @Mock
+    private IndexOperations statisticIndexes;
+
+    @InjectMocks
+    private MongoIndexInitializer indexInitializer;
+
+    @Test
+    void shouldCreateDeclaredIndexesForEveryDocument() {
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        when(mongoTemplate.indexOps(Reservation.class)).thenReturn(reservationIndexes);
+        when(mongoTemplate.indexOps(Laboratory.class)).thenReturn(laboratoryIndexes);
+        when(mongoTemplate.indexOps(User.class)).thenReturn(userIndexes);
+        when(mongoTemplate.indexOps(RefreshToken.class)).thenReturn(refreshTokenIndexes);
+        when(mongoTemplate.indexOps(ReservationStatistic.class)).thenReturn(statisticIndexes);
+
+        indexInitializer.createIndexes();
+
+        Map<String, Document> reservation = capture(reservationIndexes, 5);
+        assertEquals(new Document("laboratoryname", 1).append("startDateTime", 1).append("endDateTime", 1),
+                reservation.get("lab_start_end_idx"));
+        assertEquals(new Document("username", 1).append("startDateTime", 1).append("_id", 1), reservation.get("user_start_id_idx"));
+        assertEquals(new Document("Status", 1).append("endDateTime", 1), reservation.get("status_end_idx"));
+        assertTrue(reservation.containsKey("start_end_idx"));
+        assertEquals(new Document("startDateTime", 1).append("_id", 1), reservation.get("start_id_idx"));
+
+        assertUnique(laboratoryIndexes, "name");
+        assertUnique(userIndexes, "username");
+
+        Map<String, Document> refreshToken = capture(refreshTokenIndexes, 2);
+        assertEquals(new Document("tokenHash", 1), refreshToken.get("tokenHash"));
+        assertEquals(new Document("expiresAt", 1), refreshToken.get("expiresAt"));
+
+        Map<String, Document> statistic = capture(statisticIndexes, 1);
+        assertEquals(new Document("type", 1), statistic.get("type"));
+    }
+
+    private Map<String, Document> capture(IndexOperations indexOperations, int expected) {
+        ArgumentCaptor<IndexDefinition> captor = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations, times(expected)).ensureIndex(captor.capture());
+        return captor.getAllValues().stream().collect(Collectors.toMap(
+                index -> index.getIndexOptions().getString("name"), IndexDefinition::getIndexKeys));
+    }
+
+    private void assertUnique(IndexOperations indexOperations, String field) {
+        ArgumentCaptor<IndexDefinition> captor = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations).ensureIndex(captor.capture());
+        List<IndexDefinition> indexes = captor.getAllValues();
+        assertEquals(new Document(field, 1), indexes.get(0).getIndexKeys());
+        assertEquals(Boolean.TRUE, indexes.get(0).getIndexOptions().get("unique"));
+    }
+}
@@ -0,0 +1,61 @@
+package edu.eci.cvds.project.config;
+
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MongoIndexUsageEndpointTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private AggregateIterable<Document> stats;
+
+    @InjectMocks
+    private MongoIndexUsageEndpoint endpoint;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReportIndexAccessesPerCollection() {
+        Date since = new Date();
+        Document index = new Document("name", "lab_start_end_idx")
+                .append("key", new Document("laboratoryname", 1))
+                .append("accesses", new Document("ops", 42L).append("since", since));
+        when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+        when(collection.aggregate(anyList())).thenReturn(stats);
+        when(stats.into(any(Collection.class))).thenAnswer(invocation -> {
+            Collection<Document> target = invocation.getArgument(0);
+            target.add(index);
+            return target;
+        });
+
+        Map<String, List<Map<String, Object>>> usage = endpoint.indexUsage();
+
+        assertEquals(List.of("Reservation", "Laboratory", "User", "RefreshToken", "ReservationStatistic"), new ArrayList<>(usage.keySet()));
+        Map<String, Object> reported = usage.get("Reservation").get(0);
+        assertEquals("lab_start_end_idx", reported.get("name"));
+        assertEquals(42L, reported.get("ops"));
+        assertEquals(since, reported.get("since"));
+        verify(collection, times(5)).aggregate(List.of(new Document("$indexStats", new Document())));
+    }
+}
@@ -1,8 +1,11 @@
 package edu.eci.cvds.project.controller;
 
 import edu.eci.cvds.project.model.DTO.LaboratoryDTO;
+import edu.eci.cvds.project.model.DTO.LaboratorySummaryDTO;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.Laboratory;
 import edu.eci.cvds.project.service.ServicesLab;
+import edu.eci.cvds.project.util.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -17,6 +20,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 public class LaboratoryControllerTest {
@@ -55,18 +59,32 @@ public class LaboratoryControllerTest {
     public void testGetLaboratoryById_ExistingLab() {
         when(laboratoryService.getLaboratoryById("LAB-001")).thenReturn(Optional.of(laboratory));
 
-        ResponseEntity<Laboratory> response = laboratoryController.getLaboratoryById("LAB-001");
+        ResponseEntity<?> response = laboratoryController.getLaboratoryById("LAB-001", false);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(laboratory, response.getBody());
+        LaboratorySummaryDTO summary = (LaboratorySummaryDTO) response.getBody();
+        assertEquals(laboratory.getId(), summary.getId());
+        assertEquals(laboratory.getName(), summary.getName());
         verify(laboratoryService, times(1)).getLaboratoryById("LAB-001");
+        verify(laboratoryService, never()).getLaboratoryDetailsById(any());
+    }
+
+    @Test
+    public void testGetLaboratoryById_Detail() {
+        when(laboratoryService.getLaboratoryDetailsById("LAB-001")).thenReturn(Optional.of(laboratory));
+
+        ResponseEntity<?> response = laboratoryController.getLaboratoryById("LAB-001", true);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(laboratory, response.getBody());
+        verify(laboratoryService, never()).getLaboratoryById(any());
     }
 
     @Test
     public void testGetLaboratoryById_NonExistingLab() {
         when(laboratoryService.getLaboratoryById("LAB-002")).thenReturn(Optional.empty());
 
-        ResponseEntity<Laboratory> response = laboratoryController.getLaboratoryById("LAB-002");
+        ResponseEntity<?> response = laboratoryController.getLaboratoryById("LAB-002", false);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         verify(laboratoryService, times(1)).getLaboratoryById("LAB-002");
@@ -178,4 +196,82 @@ public class LaboratoryControllerTest {
 //        verify(laboratoryService, times(1)).isLaboratoriesAvailable(laboratory, start, end);
 //    }
 
+    @Test
+    public void testCheckLaboratoriesAvailability_ReturnsAvailableNames() {
+        LocalDateTime start = LocalDateTime.of(2025, 4, 10, 10, 0);
+        LocalDateTime end = start.plusHours(2);
+        when(laboratoryService.getAvailableLaboratoryNames(start, end)).thenReturn(List.of("Lab 1"));
+
+        ResponseEntity<List<String>> response = laboratoryController.checkLaboratoriesAvailability(start.toString(), end.toString(), "token");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("Lab 1"), response.getBody());
+        verify(laboratoryService, never()).getAllLaboratories();
+    }
+
+    @Test
+    public void testCheckLaboratoriesAvailability_NoAvailableLabs() {
+        LocalDateTime start = LocalDateTime.of(2025, 4, 10, 10, 0);
+        LocalDateTime end = start.plusHours(2);
+        when(laboratoryService.getAvailableLaboratoryNames(start, end)).thenReturn(List.of());
+
+        ResponseEntity<List<String>> response = laboratoryController.checkLaboratoriesAvailability(start.toString(), end.toString(), "token");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    public void testGetAllLaboratories_SummaryByDefault() {
+        when(laboratoryService.getLaboratoriesPage(null, 50)).thenReturn(new PageDTO<>(List.of(laboratory), null));
+
+        ResponseEntity<?> response = laboratoryController.getAllLaboratories("token", false, 50, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<?> result = (List<?>) response.getBody();
+        assertEquals(1, result.size());
+        LaboratorySummaryDTO summary = (LaboratorySummaryDTO) result.get(0);
+        assertEquals("LAB-001", summary.getId());
+        assertEquals("Lab 1", summary.getName());
+        assertNull(response.getHeaders().getFirst(KeysetCursor.NEXT_CURSOR_HEADER));
+        verify(laboratoryService, never()).getLaboratoryDetails(any(), anyInt());
+    }
+
+    @Test
+    public void testGetAllLaboratories_Detail() {
+        when(laboratoryService.getLaboratoryDetails("c1", 1)).thenReturn(new PageDTO<>(List.of(laboratory), "c2"));
+
+        ResponseEntity<?> response = laboratoryController.getAllLaboratories("token", true, 1, "c1");
+
+        assertEquals(List.of(laboratory), response.getBody());
+        assertEquals("c2", response.getHeaders().getFirst(KeysetCursor.NEXT_CURSOR_HEADER));
+        verify(laboratoryService, never()).getLaboratoriesPage(any(), anyInt());
+    }
+
+    @Test
+    public void testGetAllLaboratories_InvalidCursor() {
+        when(laboratoryService.getLaboratoriesPage("bad", 50)).thenThrow(new IllegalArgumentException("Cursor inválido"));
+
+        ResponseEntity<?> response = laboratoryController.getAllLaboratories("token", false, 50, "bad");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    public void testGetLaboratoryByName_Summary() {
+        when(laboratoryService.getLaboratoryByName("Lab 1")).thenReturn(laboratory);
+
+        ResponseEntity<?> response = laboratoryController.getLaboratoryByName("Lab 1", "token", false);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Lab 1", ((LaboratorySummaryDTO) response.getBody()).getName());
+    }
+
+    @Test
+    public void testGetLaboratoryByName_DetailNotFound() {
+        when(laboratoryService.getLaboratoryDetailsByName("Lab X")).thenReturn(null);
+
+        ResponseEntity<?> response = laboratoryController.getLaboratoryByName("Lab X", "token", true);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
 }
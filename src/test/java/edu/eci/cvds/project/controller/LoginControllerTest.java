@@ -1,6 +1,9 @@
 package edu.eci.cvds.project.controller;
 
+import edu.eci.cvds.project.exception.PasswordHashingRejectedException;
 import edu.eci.cvds.project.exception.UserException;
+import edu.eci.cvds.project.model.DTO.TokenPairDTO;
+import edu.eci.cvds.project.service.LoginRateLimiter;
 import edu.eci.cvds.project.service.ServicesLogin;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,6 +12,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -21,12 +25,20 @@ public class LoginControllerTest {
     @Mock
     private ServicesLogin loginService;
 
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
     @InjectMocks
     private LoginController loginController;
 
+    private MockHttpServletRequest request;
+
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+        when(loginRateLimiter.tryAcquire(anyString(), anyString())).thenReturn(true);
     }
 
     @Test
@@ -39,13 +51,15 @@ public class LoginControllerTest {
         // Simulación de la respuesta del servicio
         String expectedToken = "fake-jwt-token";
         when(loginService.loginUser("testUser", "testPass")).thenReturn(expectedToken);
+        when(loginService.createRefreshToken("testUser")).thenReturn("fake-refresh-token");
 
         // Llamado al controlador
-        ResponseEntity<String> response = loginController.login(credentials);
+        ResponseEntity<String> response = loginController.login(credentials, request);
 
         // Verificaciones
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedToken, response.getBody());
+        assertEquals("fake-refresh-token", response.getHeaders().getFirst("X-Refresh-Token"));
         verify(loginService, times(1)).loginUser("testUser", "testPass");
     }
 
@@ -61,7 +75,7 @@ public class LoginControllerTest {
                 .thenThrow(new UserException.UserNotFoundException("User not found"));
 
         // Llamado al controlador
-        ResponseEntity<String> response = loginController.login(credentials);
+        ResponseEntity<String> response = loginController.login(credentials, request);
 
         // Verificaciones
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -81,7 +95,7 @@ public class LoginControllerTest {
                 .thenThrow(new UserException.UserIncorrectPasswordException("Incorrect password"));
 
         // Llamado al controlador
-        ResponseEntity<String> response = loginController.login(credentials);
+        ResponseEntity<String> response = loginController.login(credentials, request);
 
         // Verificaciones
         assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
@@ -101,11 +115,72 @@ public class LoginControllerTest {
                 .thenThrow(new RuntimeException("Database connection failed"));
 
         // Llamado al controlador
-        ResponseEntity<String> response = loginController.login(credentials);
+        ResponseEntity<String> response = loginController.login(credentials, request);
 
         // Verificaciones
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertEquals("Unknown server error", response.getBody());
         verify(loginService, times(1)).loginUser("testUser", "testPass");
     }
+
+    @Test
+    public void testLogin_HashingQueueFull() throws Exception {
+        Map<String, String> credentials = new HashMap<>();
+        credentials.put("username", "testUser");
+        credentials.put("password", "testPass");
+
+        when(loginService.loginUser("testUser", "testPass"))
+                .thenThrow(new PasswordHashingRejectedException("Password hashing queue is full"));
+
+        ResponseEntity<String> response = loginController.login(credentials, request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    public void testLogin_RateLimited() throws Exception {
+        Map<String, String> credentials = new HashMap<>();
+        credentials.put("username", "testUser");
+        credentials.put("password", "testPass");
+
+        when(loginRateLimiter.tryAcquire("testUser", "10.0.0.1")).thenReturn(false);
+
+        ResponseEntity<String> response = loginController.login(credentials, request);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("60", response.getHeaders().getFirst("Retry-After"));
+        verify(loginService, never()).loginUser(anyString(), anyString());
+    }
+
+    @Test
+    public void testRefresh_Success() throws Exception {
+        when(loginService.refresh("old-refresh-token"))
+                .thenReturn(new TokenPairDTO("new-access-token", "new-refresh-token"));
+
+        ResponseEntity<String> response = loginController.refresh("old-refresh-token");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("new-access-token", response.getBody());
+        assertEquals("new-refresh-token", response.getHeaders().getFirst("X-Refresh-Token"));
+    }
+
+    @Test
+    public void testRefresh_InvalidToken() throws Exception {
+        when(loginService.refresh("revoked-token"))
+                .thenThrow(new UserException.InvalidRefreshTokenException("Invalid refresh token"));
+
+        ResponseEntity<String> response = loginController.refresh("revoked-token");
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertEquals("Invalid refresh token", response.getBody());
+    }
+
+    @Test
+    public void testLogout() {
+        ResponseEntity<String> response = loginController.logout("refresh-token");
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(loginService, times(1)).logout("refresh-token");
+    }
 }
@@ -1,16 +1,28 @@
 package edu.eci.cvds.project.controller;
 
+import edu.eci.cvds.project.model.DTO.BulkReservationResultDTO;
+import edu.eci.cvds.project.model.DTO.LaboratoryUtilizationDTO;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.DTO.ReservationDTO;
 import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.service.ReservationExportService;
 import edu.eci.cvds.project.service.ServicesReservation;
+import edu.eci.cvds.project.service.ServicesReservationStatistics;
+import edu.eci.cvds.project.util.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,6 +33,12 @@ class ReservationControllerTest {
     @Mock
     private ServicesReservation reservationService;
 
+    @Mock
+    private ServicesReservationStatistics statisticsService;
+
+    @Mock
+    private ReservationExportService exportService;
+
     @InjectMocks
     private ReservationController reservationController;
 
@@ -118,4 +136,115 @@ class ReservationControllerTest {
 //
 //        assertTrue(response.getBody().containsKey("Lab A"));
 //    }
+
+    @Test
+    void testGetAllReservations_ReturnsPageAndCursor() {
+        Reservation reservation = new Reservation();
+        reservation.setId("1");
+        when(reservationService.getReservationsPage(null, 50)).thenReturn(new PageDTO<>(List.of(reservation), "next"));
+
+        ResponseEntity<?> response = reservationController.getAllReservations("token", 50, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(reservation), response.getBody());
+        assertEquals("next", response.getHeaders().getFirst(KeysetCursor.NEXT_CURSOR_HEADER));
+        verify(reservationService, never()).getAllReservations();
+    }
+
+    @Test
+    void testGetAllReservations_InvalidCursor() {
+        when(reservationService.getReservationsPage("bad", 50)).thenThrow(new IllegalArgumentException("Cursor inválido"));
+
+        ResponseEntity<?> response = reservationController.getAllReservations("token", 50, "bad");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void testGetReservationsInRange_LastPageHasNoCursor() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 10, 8, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 3, 10, 18, 0);
+        when(reservationService.getReservationsInRange(start, end, null, 50)).thenReturn(new PageDTO<>(List.of(), null));
+
+        ResponseEntity<?> response = reservationController.getReservationsInRange(start.toString(), end.toString(), 50, null, "token");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(response.getHeaders().containsKey(KeysetCursor.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testStatisticsComeFromAggregations() {
+        when(statisticsService.countByDate()).thenReturn(Map.of(LocalDate.of(2025, 3, 10), 2L));
+        when(statisticsService.countByLaboratory()).thenReturn(Map.of("Lab A", 2L));
+        when(statisticsService.countByLaboratoryBetween(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)))
+                .thenReturn(Map.of("Lab A", 1L));
+        when(statisticsService.averageByPriority()).thenReturn(Map.of(1, 1.0));
+
+        assertEquals(2L, reservationController.getReservationsByDate("token").getBody().get(LocalDate.of(2025, 3, 10)));
+        assertEquals(2L, reservationController.getReservationsByLab("token").getBody().get("Lab A"));
+        assertEquals(1L, reservationController.getReservationsByLabAndDate(
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), "token").getBody().get("Lab A"));
+        assertEquals(1.0, reservationController.getAverageReservationsByPriority("token").getBody().get(1));
+        verify(reservationService, never()).getAllReservations();
+    }
+
+    @Test
+    void testGetLaboratoryUtilization() {
+        LaboratoryUtilizationDTO utilization = new LaboratoryUtilizationDTO("Lab A", 2.0, new TreeMap<>(), new TreeMap<>(), 1,
+                LocalDateTime.of(2025, 3, 10, 8, 0));
+        when(statisticsService.utilization(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31))).thenReturn(List.of(utilization));
+
+        ResponseEntity<List<LaboratoryUtilizationDTO>> response =
+                reservationController.getLaboratoryUtilization(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), "token");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(utilization), response.getBody());
+    }
+
+    @Test
+    void testCreateReservationsReturnsReport() {
+        List<ReservationDTO> dtos = List.of(new ReservationDTO("Lab A", "Miguel",
+                LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 10, 0), "Class", 3));
+        List<BulkReservationResultDTO> results = List.of(new BulkReservationResultDTO(0, BulkReservationResultDTO.CREATED, "r1", null));
+        when(reservationService.createReservations(dtos)).thenReturn(results);
+
+        ResponseEntity<?> response = reservationController.createReservations(dtos, "token");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
+    @Test
+    void testCreateReservationsTooLarge() {
+        when(reservationService.createReservations(anyList()))
+                .thenThrow(new IllegalArgumentException("Too many reservations, the maximum is 5000"));
+
+        ResponseEntity<?> response = reservationController.createReservations(List.of(), "token");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Error: Too many reservations, the maximum is 5000", response.getBody());
+    }
+
+    @Test
+    void testExportReservationsStreamsFilteredRows() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2025, 3, 1, 0, 0);
+        ResponseEntity<?> response = reservationController.exportReservations("CSV", "Lab A", null, from.toString(), null, "token");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("text/csv;charset=UTF-8", response.getHeaders().getContentType().toString());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains("reservations.csv"));
+        verify(exportService, never()).export(any(), any(), any(), any(), any(), any());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(out);
+        verify(exportService).export(eq(ReservationExportService.Format.CSV), eq("Lab A"), isNull(), eq(from), isNull(), any(OutputStream.class));
+    }
+
+    @Test
+    void testExportReservationsInvalidParameters() {
+        assertEquals(HttpStatus.BAD_REQUEST,
+                reservationController.exportReservations("xml", null, null, null, null, "token").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                reservationController.exportReservations("ndjson", null, null, "ayer", null, "token").getStatusCode());
+    }
 }
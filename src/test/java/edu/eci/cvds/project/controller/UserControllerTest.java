@@ -1,10 +1,15 @@
 package edu.eci.cvds.project.controller;
 
+import edu.eci.cvds.project.exception.PasswordHashingRejectedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.DTO.UserDTO;
+import edu.eci.cvds.project.model.DTO.UserSummaryDTO;
 import edu.eci.cvds.project.model.Reservation;
 import edu.eci.cvds.project.model.Role;
 import edu.eci.cvds.project.model.User;
 import edu.eci.cvds.project.service.ServicesUser;
+import edu.eci.cvds.project.util.KeysetCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -12,12 +17,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,12 +41,47 @@ public class UserControllerTest {
         List<User> users = new ArrayList<>();
         users.add(new User("1", "user1", "pwd1", new ArrayList<>(),  Role.USER));
         users.add(new User("2", "admin1", "pwd2", new ArrayList<>() ,Role.ADMIN));
-        when(userService.getAllUser()).thenReturn(users);
+        when(userService.getUsersPage(null, 2)).thenReturn(new PageDTO<>(users, "next"));
 
-        List<User> result = userController.getAllUsers();
+        ResponseEntity<?> response = userController.getAllUsers(true, 2, null);
 
-        assertEquals(users, result);
-        verify(userService, times(1)).getAllUser();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(users, response.getBody());
+        assertEquals("next", response.getHeaders().getFirst(KeysetCursor.NEXT_CURSOR_HEADER));
+        verify(userService, never()).getAllUser();
+        verify(userService, never()).getUserSummaries(any(), anyInt());
+    }
+
+    @Test
+    public void testGetAllUsers_SummaryByDefault() {
+        List<UserSummaryDTO> summaries = List.of(new UserSummaryDTO("1", "user1", Role.USER));
+        when(userService.getUserSummaries(null, 50)).thenReturn(new PageDTO<>(summaries, null));
+
+        ResponseEntity<?> response = userController.getAllUsers(false, 50, null);
+
+        assertEquals(summaries, response.getBody());
+        assertFalse(response.getHeaders().containsKey(KeysetCursor.NEXT_CURSOR_HEADER));
+        verify(userService, never()).getUsersPage(any(), anyInt());
+    }
+
+    @Test
+    public void testGetAllUsers_InvalidCursor() {
+        when(userService.getUserSummaries("bad", 50)).thenThrow(new IllegalArgumentException("Cursor inválido"));
+
+        ResponseEntity<?> response = userController.getAllUsers(false, 50, "bad");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Cursor inválido", ((HashMap<?, ?>) response.getBody()).get("error"));
+    }
+
+    @Test
+    public void testUserPasswordIsNotSerialized() throws Exception {
+        User user = new User("1", "user1", "hashed-password", new ArrayList<>(), Role.USER);
+
+        String json = new ObjectMapper().writeValueAsString(user);
+
+        assertFalse(json.contains("password"));
+        assertFalse(json.contains("hashed-password"));
     }
 
     @Test
@@ -69,6 +111,18 @@ public class UserControllerTest {
         verify(userService, times(1)).save(userDTO);
     }
 
+    @Test
+    public void testSaveUser_HashingQueueFull() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("newuser");
+        when(userService.save(userDTO)).thenThrow(new PasswordHashingRejectedException("Password hashing queue is full"));
+
+        ResponseEntity<?> response = userController.saveUser(userDTO);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("Password hashing queue is full", ((HashMap<?, ?>) response.getBody()).get("error"));
+    }
+
 //    @Test
 //    public void testSaveAdmin_Success() {
 //        UserDTO userDTO = new UserDTO();
@@ -144,24 +198,24 @@ public class UserControllerTest {
     @Test
     public void testGetAllReservationByUserId_Success() {
         List<Reservation> reservations = new ArrayList<>();
-        when(userService.getAllReservationByUserId("1")).thenReturn(reservations);
+        when(userService.getAllReservationByUserId("1", null, 50)).thenReturn(new PageDTO<>(reservations, null));
 
-        ResponseEntity<?> response = userController.getAllReservationByUserId("1");
+        ResponseEntity<?> response = userController.getAllReservationByUserId("1", 50, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(reservations, response.getBody());
-        verify(userService, times(1)).getAllReservationByUserId("1");
+        verify(userService, times(1)).getAllReservationByUserId("1", null, 50);
     }
 
     @Test
     public void testGetAllReservationByUserId_Error() {
-        when(userService.getAllReservationByUserId("7")).thenThrow(new RuntimeException("Error getting reservations"));
+        when(userService.getAllReservationByUserId("7", null, 50)).thenThrow(new RuntimeException("Error getting reservations"));
 
-        ResponseEntity<?> response = userController.getAllReservationByUserId("7");
+        ResponseEntity<?> response = userController.getAllReservationByUserId("7", 50, null);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
         assertEquals("Error getting reservations", ((HashMap<?, ?>) response.getBody()).get("error"));
-        verify(userService, times(1)).getAllReservationByUserId("7");
+        verify(userService, times(1)).getAllReservationByUserId("7", null, 50);
     }
 
     @Test
@@ -258,26 +312,34 @@ public class UserControllerTest {
 
     @Test
     public void testSaveAdmin_Success() {
-        String token = "valid-token";
         User updatedUser = new User("2", "adminUser", "pwd", new ArrayList<>(), Role.ADMIN);
-        when(userService.updateAdmin("adminUser", token)).thenReturn(updatedUser);
+        when(userService.updateAdmin("adminUser")).thenReturn(updatedUser);
 
-        ResponseEntity<?> response = userController.saveAdmin("adminUser", token);
+        ResponseEntity<?> response = userController.saveAdmin("adminUser");
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(updatedUser, response.getBody());
-        verify(userService, times(1)).updateAdmin("adminUser", token);
+        verify(userService, times(1)).updateAdmin("adminUser");
     }
 
     @Test
     public void testSaveAdmin_Error() {
-        String token = "invalid-token";
-        when(userService.updateAdmin("adminUser", token)).thenThrow(new RuntimeException("Unauthorized"));
+        when(userService.updateAdmin("adminUser")).thenThrow(new RuntimeException("User not found"));
 
-        ResponseEntity<?> response = userController.saveAdmin("adminUser", token);
+        ResponseEntity<?> response = userController.saveAdmin("adminUser");
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        assertEquals("Unauthorized", ((HashMap<?, ?>) response.getBody()).get("error"));
-        verify(userService, times(1)).updateAdmin("adminUser", token);
+        assertEquals("User not found", ((HashMap<?, ?>) response.getBody()).get("error"));
+        verify(userService, times(1)).updateAdmin("adminUser");
+    }
+
+    @Test
+    public void testSaveAdmin_NotAdmin() {
+        when(userService.updateAdmin("adminUser")).thenThrow(new AccessDeniedException("Access Denied"));
+
+        ResponseEntity<?> response = userController.saveAdmin("adminUser");
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        assertEquals("Access Denied", ((HashMap<?, ?>) response.getBody()).get("error"));
     }
 }
\ No newline at end of file
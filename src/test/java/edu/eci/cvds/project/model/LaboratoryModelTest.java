@@ -1,7 +1,6 @@
 package edu.eci.cvds.project.model;
 
 import edu.eci.cvds.project.model.Laboratory;
-import edu.eci.cvds.project.model.Reservation;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -15,36 +14,36 @@ class LaboratoryModelTest {
     void testConstructorAndGettersAndSetters() {
         String id = "LAB-001";
         String name = "Plataformas";
-        List<Reservation> reservations = new ArrayList<>();
-        reservations.add(new Reservation());
+        List<String> reservationIds = new ArrayList<>();
+        reservationIds.add("RES-001");
 
-        Laboratory laboratory = new Laboratory(id, name, reservations);
+        Laboratory laboratory = new Laboratory(id, name, reservationIds);
 
         assertEquals(id, laboratory.getId());
         assertEquals(name, laboratory.getName());
-        assertEquals(reservations, laboratory.getReservations());
+        assertEquals(reservationIds, laboratory.getReservationIds());
 
         String newName = "Redes";
-        List<Reservation> newReservations = new ArrayList<>();
-        newReservations.add(new Reservation());
-        newReservations.add(new Reservation());
+        List<String> newReservationIds = new ArrayList<>();
+        newReservationIds.add("RES-002");
+        newReservationIds.add("RES-003");
 
         laboratory.setName(newName);
-        laboratory.setReservations(newReservations);
+        laboratory.setReservationIds(newReservationIds);
 
         assertEquals(newName, laboratory.getName());
-        assertEquals(newReservations, laboratory.getReservations());
+        assertEquals(newReservationIds, laboratory.getReservationIds());
     }
 
     @Test
     void testToString() {
         String id = "LAB-001";
         String name = "Software";
-        List<Reservation> reservations = new ArrayList<>();
+        List<String> reservationIds = new ArrayList<>();
 
-        Laboratory laboratory = new Laboratory(id, name, reservations);
+        Laboratory laboratory = new Laboratory(id, name, reservationIds);
 
-        String expectedString = "Laboratory(id=LAB-001, name=Software, reservations=[])";
+        String expectedString = "Laboratory(id=LAB-001, name=Software, reservationIds=[])";
         assertEquals(expectedString, laboratory.toString());
     }
 
@@ -52,11 +51,11 @@ class LaboratoryModelTest {
     void testEquals() {
         String id = "LAB-001";
         String name = "Plataformas";
-        List<Reservation> reservations = new ArrayList<>();
+        List<String> reservationIds = new ArrayList<>();
 
-        Laboratory laboratory1 = new Laboratory(id, name, reservations);
-        Laboratory laboratory2 = new Laboratory(id, name, reservations);
-        Laboratory laboratory3 = new Laboratory("LAB-002", name, reservations);
+        Laboratory laboratory1 = new Laboratory(id, name, reservationIds);
+        Laboratory laboratory2 = new Laboratory(id, name, reservationIds);
+        Laboratory laboratory3 = new Laboratory("LAB-002", name, reservationIds);
 
         assertEquals(laboratory1, laboratory2);
         assertNotEquals(laboratory1, laboratory3);
@@ -68,10 +67,10 @@ class LaboratoryModelTest {
     void testHashCode() {
         String id = "LAB-001";
         String name = "Plataformas";
-        List<Reservation> reservations = new ArrayList<>();
+        List<String> reservationIds = new ArrayList<>();
 
-        Laboratory laboratory1 = new Laboratory(id, name, reservations);
-        Laboratory laboratory2 = new Laboratory(id, name, reservations);
+        Laboratory laboratory1 = new Laboratory(id, name, reservationIds);
+        Laboratory laboratory2 = new Laboratory(id, name, reservationIds);
 
         assertEquals(laboratory1.hashCode(), laboratory2.hashCode());
     }
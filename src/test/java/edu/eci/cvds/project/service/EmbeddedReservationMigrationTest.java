@@ -0,0 +1,74 @@
+package edu.eci.cvds.project.service;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddedReservationMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private EmbeddedReservationMigration migration;
+
+    @Test
+    void shouldMoveEmbeddedIdsAndUnsetArray() {
+        ObjectId reservationId = new ObjectId();
+        Document laboratory = new Document("_id", "lab-1")
+                .append("reservations", List.of(new Document("_id", reservationId)));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("Laboratory"))).thenReturn(List.of(laboratory));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("User"))).thenReturn(List.of());
+
+        migration.migrateChunk();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq("Laboratory"));
+        Document updateObject = update.getValue().getUpdateObject();
+        assertEquals(new Document("reservations", 1), updateObject.get("$unset", Document.class));
+        Document addToSet = updateObject.get("$addToSet", Document.class);
+        Update.Modifier each = (Update.Modifier) addToSet.get("reservationIds");
+        assertEquals("$each", each.getKey());
+        assertArrayEquals(new Object[]{reservationId.toString()}, (Object[]) each.getValue());
+        assertFalse(migration.isCompleted());
+    }
+
+    @Test
+    void shouldUnsetEmptyArraysWithoutAddingIds() {
+        Document user = new Document("_id", "user-1").append("reservations", List.of());
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("Laboratory"))).thenReturn(List.of());
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("User"))).thenReturn(List.of(user));
+
+        migration.migrateChunk();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq("User"));
+        assertNull(update.getValue().getUpdateObject().get("$addToSet"));
+    }
+
+    @Test
+    void shouldStopQueryingOnceNothingIsLeft() {
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), anyString())).thenReturn(List.of());
+
+        migration.migrateChunk();
+        migration.migrateChunk();
+
+        assertTrue(migration.isCompleted());
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Document.class), anyString());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), anyString());
+    }
+}
@@ -0,0 +1,151 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.Laboratory;
+import edu.eci.cvds.project.repository.LaboratoryMongoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LaboratoryCatalogCacheTest {
+
+    @Mock
+    private LaboratoryMongoRepository laboratoryRepository;
+
+    @InjectMocks
+    private LaboratoryCatalogCache catalogCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(catalogCache, "meterRegistry", meterRegistry);
+        catalogCache.registerMetrics();
+    }
+
+    @Test
+    void testGetAllLoadsOnceAndCountsHits() {
+        when(laboratoryRepository.findAllNames()).thenReturn(List.of(new Laboratory("1", "Lab A", null)));
+
+        assertEquals(1, catalogCache.getAll().size());
+        assertEquals(1, catalogCache.getAll().size());
+        assertEquals("Lab A", catalogCache.getById("1").getName());
+        assertEquals("1", catalogCache.getByName("Lab A").getId());
+
+        verify(laboratoryRepository, times(1)).findAllNames();
+        assertEquals(1.0, count("miss"));
+        assertEquals(3.0, count("hit"));
+    }
+
+    @Test
+    void testEntriesCarryNoReservations() {
+        Laboratory stored = new Laboratory("1", "Lab A", new ArrayList<>(List.of("r1", "r2")));
+        when(laboratoryRepository.findAllNames()).thenReturn(List.of(stored));
+        catalogCache.load();
+
+        Laboratory cached = catalogCache.getById("1");
+        assertTrue(cached.getReservationIds().isEmpty());
+        cached.setName("changed");
+        assertEquals("Lab A", catalogCache.getById("1").getName());
+    }
+
+    @Test
+    void testMissFallsBackToRepositoryAndIsRemembered() {
+        when(laboratoryRepository.findAllNames()).thenReturn(List.of());
+        when(laboratoryRepository.findById("2")).thenReturn(Optional.of(new Laboratory("2", "Lab B", null)));
+        catalogCache.load();
+
+        assertEquals("Lab B", catalogCache.getById("2").getName());
+        assertEquals("Lab B", catalogCache.getById("2").getName());
+        assertEquals("2", catalogCache.getByName("Lab B").getId());
+
+        verify(laboratoryRepository, times(1)).findById("2");
+        verify(laboratoryRepository, never()).findLaboratoriesByName(anyString());
+    }
+
+    @Test
+    void testPutAndRemove() {
+        when(laboratoryRepository.findAllNames()).thenReturn(List.of(new Laboratory("1", "Lab A", null)));
+        catalogCache.load();
+
+        catalogCache.put(new Laboratory("2", "Lab B", null));
+        assertEquals(2, catalogCache.getAll().size());
+
+        catalogCache.remove("1");
+        List<Laboratory> all = catalogCache.getAll();
+        assertEquals(1, all.size());
+        assertEquals("Lab B", all.get(0).getName());
+    }
+
+    @Test
+    void testGetPageIsOrderedById() {
+        when(laboratoryRepository.findAllNames()).thenReturn(List.of(
+                new Laboratory("3", "Lab C", null), new Laboratory("1", "Lab A", null), new Laboratory("2", "Lab B", null)));
+        catalogCache.load();
+
+        List<Laboratory> first = catalogCache.getPage(null, 2);
+        List<Laboratory> second = catalogCache.getPage("2", 2);
+
+        assertEquals(List.of("1", "2"), first.stream().map(Laboratory::getId).toList());
+        assertEquals(List.of("3"), second.stream().map(Laboratory::getId).toList());
+        assertTrue(catalogCache.getPage("3", 2).isEmpty());
+    }
+
+    @Test
+    void testRefreshAheadReloads() {
+        when(laboratoryRepository.findAllNames())
+                .thenReturn(List.of(new Laboratory("1", "Lab A", null)))
+                .thenReturn(List.of(new Laboratory("1", "Lab A", null), new Laboratory("3", "Lab C", null)));
+        catalogCache.load();
+
+        catalogCache.refresh();
+
+        assertEquals(2, catalogCache.getAll().size());
+    }
+
+    @Test
+    void testPutDuringRefreshIsNotLost() throws InterruptedException {
+        Thread[] writer = new Thread[1];
+        when(laboratoryRepository.findAllNames())
+                .thenReturn(List.of(new Laboratory("1", "Lab A", null)))
+                .thenAnswer(invocation -> {
+                    writer[0] = new Thread(() -> catalogCache.put(new Laboratory("2", "Lab B", null)));
+                    writer[0].start();
+                    writer[0].join(200);
+                    return List.of(new Laboratory("1", "Lab A", null));
+                });
+        catalogCache.load();
+
+        catalogCache.refresh();
+        writer[0].join();
+
+        assertEquals("Lab B", catalogCache.getById("2").getName());
+        verify(laboratoryRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void testRefreshAheadDisabled() {
+        ReflectionTestUtils.setField(catalogCache, "refreshAhead", false);
+
+        catalogCache.refresh();
+
+        verify(laboratoryRepository, never()).findAllNames();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("laboratory.catalog.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,118 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.Reservation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LaboratoryOccupancyIndexTest {
+
+    private ReservationIntervalIndex reservationIndex;
+    private LaboratoryOccupancyIndex occupancyIndex;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        reservationIndex = spy(new ReservationIntervalIndex());
+        occupancyIndex = new LaboratoryOccupancyIndex();
+        ReflectionTestUtils.setField(occupancyIndex, "reservationIndex", reservationIndex);
+        base = LocalDateTime.of(2025, 3, 10, 8, 0);
+    }
+
+    @Test
+    void shouldSetAndFindBitsAcrossWords() {
+        long[] bits = new long[2];
+        LaboratoryOccupancyIndex.set(bits, 60, 70);
+
+        assertEquals(0xFL << 60, bits[0]);
+        assertEquals(0x3FL, bits[1]);
+        assertTrue(LaboratoryOccupancyIndex.anySet(bits, 0, 61));
+        assertTrue(LaboratoryOccupancyIndex.anySet(bits, 69, 96));
+        assertFalse(LaboratoryOccupancyIndex.anySet(bits, 0, 60));
+        assertFalse(LaboratoryOccupancyIndex.anySet(bits, 70, 96));
+        assertFalse(LaboratoryOccupancyIndex.anySet(bits, 5, 5));
+    }
+
+    @Test
+    void shouldReportOccupiedAndFreeRanges() {
+        reservationIndex.put(reservation("1", base, base.plusHours(2)));
+
+        assertFalse(occupancyIndex.isAvailable("Lab A", base.plusMinutes(30)));
+        assertFalse(occupancyIndex.isAvailable("Lab A", base.minusHours(1), base.plusMinutes(15)));
+        assertTrue(occupancyIndex.isAvailable("Lab A", base.plusHours(2), base.plusHours(3)));
+        assertTrue(occupancyIndex.isAvailable("Lab A", base.minusHours(1), base));
+        assertTrue(occupancyIndex.isAvailable("Lab B", base, base.plusHours(2)));
+    }
+
+    @Test
+    void shouldHandleReservationsCrossingMidnight() {
+        LocalDateTime night = base.withHour(23);
+        reservationIndex.put(reservation("1", night, night.plusHours(2)));
+
+        assertFalse(occupancyIndex.isAvailable("Lab A", night.plusMinutes(90)));
+        assertTrue(occupancyIndex.isAvailable("Lab A", night.plusHours(2), night.plusHours(4)));
+    }
+
+    @Test
+    void shouldRebuildBitsWhenReservationsChange() {
+        assertTrue(occupancyIndex.isAvailable("Lab A", base, base.plusHours(1)));
+
+        reservationIndex.put(reservation("1", base, base.plusHours(1)));
+        assertFalse(occupancyIndex.isAvailable("Lab A", base, base.plusHours(1)));
+
+        reservationIndex.clear();
+        assertTrue(occupancyIndex.isAvailable("Lab A", base, base.plusHours(1)));
+    }
+
+    @Test
+    void shouldUseConfiguredSlotSize() {
+        ReflectionTestUtils.setField(occupancyIndex, "slotMinutes", 60);
+        reservationIndex.put(reservation("1", base.plusMinutes(10), base.plusMinutes(20)));
+
+        assertTrue(occupancyIndex.isAvailable("Lab A", base.plusMinutes(30), base.plusMinutes(50)));
+        assertFalse(occupancyIndex.isAvailable("Lab A", base, base.plusMinutes(15)));
+    }
+
+    @Test
+    void shouldTreatReservationEndAsFree() {
+        reservationIndex.put(reservation("1", base, base.plusHours(2)));
+
+        assertFalse(occupancyIndex.isAvailable("Lab A", base));
+        assertTrue(occupancyIndex.isAvailable("Lab A", base.plusHours(2)));
+    }
+
+    @Test
+    void shouldAnswerLongRangesWithoutBuildingBitsets() {
+        reservationIndex.put(reservation("1", base.plusDays(400), base.plusDays(400).plusHours(1)));
+
+        assertFalse(occupancyIndex.isAvailable("Lab A", base, base.plusYears(3)));
+        assertTrue(occupancyIndex.isAvailable("Lab A", base.plusDays(401), base.plusYears(3)));
+
+        verify(reservationIndex, never()).overlapping(any(), any(), any());
+    }
+
+    @Test
+    void shouldBoundCachedDaysPerLab() {
+        ReflectionTestUtils.setField(occupancyIndex, "maxCachedDays", 2);
+
+        for (int day = 0; day < 3; day++) {
+            assertTrue(occupancyIndex.isAvailable("Lab A", base.plusDays(day), base.plusDays(day).plusHours(1)));
+        }
+        assertTrue(occupancyIndex.isAvailable("Lab A", base.plusDays(2), base.plusDays(2).plusHours(1)));
+        assertTrue(occupancyIndex.isAvailable("Lab A", base, base.plusHours(1)));
+
+        verify(reservationIndex, times(2)).overlapping(eq("Lab A"), eq(base.toLocalDate().atStartOfDay()), any());
+        verify(reservationIndex, times(1)).overlapping(eq("Lab A"), eq(base.toLocalDate().plusDays(2).atStartOfDay()), any());
+    }
+
+    private Reservation reservation(String id, LocalDateTime start, LocalDateTime end) {
+        return new Reservation(id, "Lab A", "Miguel", start, end, "Study session", true, 1);
+    }
+}
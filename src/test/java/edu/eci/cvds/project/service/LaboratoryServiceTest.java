@@ -4,12 +4,16 @@ import edu.eci.cvds.project.model.DTO.LaboratoryDTO;
 import edu.eci.cvds.project.model.Laboratory;
 import edu.eci.cvds.project.model.Reservation;
 import edu.eci.cvds.project.repository.LaboratoryMongoRepository;
-import edu.eci.cvds.project.util.JwtUtil;
+import edu.eci.cvds.project.repository.ReservationMongoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -28,20 +32,31 @@ class LaboratoryServiceTest {
     private LaboratoryMongoRepository laboratoryRepository;
 
     @Mock
-    private JwtUtil jwtUtilservice;
+    private ReservationMongoRepository reservationRepository;
+
+    @Spy
+    private ReservationIntervalIndex reservationIndex = new ReservationIntervalIndex();
+
+    @Spy
+    private LaboratoryOccupancyIndex occupancyIndex = new LaboratoryOccupancyIndex();
+
+    @Spy
+    private LaboratoryCatalogCache catalogCache = new LaboratoryCatalogCache();
 
     private Laboratory laboratory;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
-    private String validToken = "valid-token";
-    private String invalidToken = "invalid-token";
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(occupancyIndex, "reservationIndex", reservationIndex);
+        ReflectionTestUtils.setField(catalogCache, "laboratoryRepository", laboratoryRepository);
+        ReflectionTestUtils.setField(catalogCache, "meterRegistry", new SimpleMeterRegistry());
+        catalogCache.registerMetrics();
         laboratory = new Laboratory();
         laboratory.setName("Lab A");
-        laboratory.setReservations(new ArrayList<>());
+        laboratory.setReservationIds(new ArrayList<>());
 
         startTime = LocalDateTime.of(2025, 4, 10, 10, 0);
         endTime = LocalDateTime.of(2025, 4, 10, 12, 0);
@@ -49,11 +64,14 @@ class LaboratoryServiceTest {
 
     @Test
     void testGetAllLaboratories() {
-        List<Laboratory> labs = List.of(new Laboratory(), new Laboratory());
-        when(laboratoryRepository.findAll()).thenReturn(labs);
+        List<Laboratory> labs = List.of(new Laboratory("1", "Lab A", null), new Laboratory("2", "Lab B", null));
+        when(laboratoryRepository.findAllNames()).thenReturn(labs);
 
         List<Laboratory> result = laboratoryService.getAllLaboratories();
         assertEquals(2, result.size());
+        laboratoryService.getAllLaboratories();
+        verify(laboratoryRepository, times(1)).findAllNames();
+        verify(laboratoryRepository, never()).findAll();
     }
 
     @Test
@@ -73,6 +91,16 @@ class LaboratoryServiceTest {
         assertFalse(result.isPresent());
     }
 
+    @Test
+    void testGetLaboratoryDetailsById_KeepsReservationIds() {
+        laboratory.getReservationIds().add("r1");
+        when(laboratoryRepository.findById("123")).thenReturn(Optional.of(laboratory));
+
+        Optional<Laboratory> result = laboratoryService.getLaboratoryDetailsById("123");
+        assertTrue(result.isPresent());
+        assertEquals(List.of("r1"), result.get().getReservationIds());
+    }
+
     @Test
     void testGetLaboratoryByName_Found() {
         when(laboratoryRepository.findLaboratoriesByName("Lab A")).thenReturn(laboratory);
@@ -92,37 +120,34 @@ class LaboratoryServiceTest {
 
     @Test
     void testSaveLaboratory_Success() {
-        when(jwtUtilservice.validateAdmin(validToken)).thenReturn(true);
         when(laboratoryRepository.findLaboratoriesByName("Lab B")).thenReturn(null);
         when(laboratoryRepository.saveLaboratory(any(Laboratory.class))).thenReturn(laboratory);
 
         LaboratoryDTO dto = new LaboratoryDTO();
         dto.setName("Lab B");
 
-        Laboratory result = laboratoryService.saveLaboratory(dto, validToken);
+        Laboratory result = laboratoryService.saveLaboratory(dto);
         assertNotNull(result);
         assertEquals("Lab A", result.getName());
     }
 
     @Test
-    void testSaveLaboratory_InvalidToken() {
-        when(jwtUtilservice.validateAdmin(invalidToken)).thenReturn(false);
-
-        LaboratoryDTO dto = new LaboratoryDTO();
-        dto.setName("Lab B");
+    void testSaveLaboratory_RequiresAdminRole() throws NoSuchMethodException {
+        PreAuthorize preAuthorize = LaboratoryService.class.getMethod("saveLaboratory", LaboratoryDTO.class)
+                .getAnnotation(PreAuthorize.class);
 
-        assertThrows(IllegalArgumentException.class, () -> laboratoryService.saveLaboratory(dto, invalidToken));
+        assertNotNull(preAuthorize);
+        assertEquals("hasRole('ADMIN')", preAuthorize.value());
     }
 
     @Test
     void testSaveLaboratory_LaboratoryAlreadyExists() {
-        when(jwtUtilservice.validateAdmin(validToken)).thenReturn(true);
         when(laboratoryRepository.findLaboratoriesByName("Lab A")).thenReturn(laboratory);
 
         LaboratoryDTO dto = new LaboratoryDTO();
         dto.setName("Lab A");
 
-        assertThrows(IllegalArgumentException.class, () -> laboratoryService.saveLaboratory(dto, validToken));
+        assertThrows(IllegalArgumentException.class, () -> laboratoryService.saveLaboratory(dto));
     }
 
     @Test
@@ -160,18 +185,91 @@ class LaboratoryServiceTest {
                 LocalDateTime.of(2025, 4, 10, 14, 0)));
     }
 
+    @Test
+    void testIsLaboratoriesAvailable_AdjacentReservation_True() {
+        addReservation(startTime, endTime);
+        assertTrue(laboratoryService.isLaboratoriesAvailable(laboratory, endTime, endTime.plusHours(1)));
+    }
+
+    @Test
+    void testIsLaboratoriesAvailable_UnalignedReservationInSameSlot_True() {
+        addReservation(startTime.plusMinutes(5), startTime.plusMinutes(10));
+        assertTrue(laboratoryService.isLaboratoriesAvailable(laboratory, startTime.plusMinutes(10), startTime.plusMinutes(15)));
+        assertFalse(laboratoryService.isLaboratoriesAvailable(laboratory, startTime, startTime.plusMinutes(6)));
+    }
+
+    @Test
+    void testIsLaboratoriesAvailable_SpansSeveralDays_False() {
+        addReservation(startTime.plusDays(1), endTime.plusDays(1));
+        assertFalse(laboratoryService.isLaboratoriesAvailable(laboratory, startTime, endTime.plusDays(2)));
+    }
+
+    @Test
+    void testIsLaboratoriesAvailable_AfterCancel_True() {
+        Reservation reservation = addReservation(startTime, endTime);
+        assertFalse(laboratoryService.isLaboratoriesAvailable(laboratory, startTime, endTime));
+
+        reservationIndex.remove(reservation.getId());
+        assertTrue(laboratoryService.isLaboratoriesAvailable(laboratory, startTime, endTime));
+    }
+
+    @Test
+    void testGetAvailableLaboratoryNames_SubtractsBusyLabs() {
+        when(reservationRepository.findBusyLaboratoryNames(startTime, endTime)).thenReturn(List.of("Lab A"));
+        when(laboratoryRepository.findAllNames()).thenReturn(List.of(laboratory,
+                new Laboratory("2", "Lab B", null), new Laboratory("3", "Lab C", null)));
+
+        List<String> result = laboratoryService.getAvailableLaboratoryNames(startTime, endTime);
+
+        assertEquals(List.of("Lab B", "Lab C"), result);
+        verify(laboratoryRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetAvailableLaboratoryNames_AllBusy() {
+        when(reservationRepository.findBusyLaboratoryNames(startTime, endTime)).thenReturn(List.of("Lab A"));
+        when(laboratoryRepository.findAllNames()).thenReturn(List.of(laboratory));
+
+        assertTrue(laboratoryService.getAvailableLaboratoryNames(startTime, endTime).isEmpty());
+    }
+
     @Test
     void testDeleteLaboratory() {
         doNothing().when(laboratoryRepository).deleteLaboratoryById("123");
 
         assertDoesNotThrow(() -> laboratoryService.deleteLaboratory("123"));
         verify(laboratoryRepository, times(1)).deleteLaboratoryById("123");
+        verify(catalogCache, times(1)).remove("123");
+    }
+
+    @Test
+    void testSaveLaboratory_UpdatesCatalog() {
+        when(laboratoryRepository.findAllNames()).thenReturn(List.of(new Laboratory("1", "Lab A", null)));
+        when(laboratoryRepository.findLaboratoriesByName("Lab B")).thenReturn(null);
+        when(laboratoryRepository.saveLaboratory(any(Laboratory.class))).thenAnswer(invocation -> {
+            Laboratory saved = invocation.getArgument(0);
+            saved.setId("2");
+            return saved;
+        });
+        laboratoryService.getAllLaboratories();
+
+        LaboratoryDTO dto = new LaboratoryDTO();
+        dto.setName("Lab B");
+        laboratoryService.saveLaboratory(dto);
+
+        assertEquals(2, laboratoryService.getAllLaboratories().size());
+        assertEquals("2", laboratoryService.getLaboratoryByName("Lab B").getId());
+        verify(laboratoryRepository, times(1)).findAllNames();
     }
 
-    private void addReservation(LocalDateTime start, LocalDateTime end) {
+    private Reservation addReservation(LocalDateTime start, LocalDateTime end) {
         Reservation reservation = new Reservation();
+        reservation.setId("res-" + start);
+        reservation.setLaboratoryname(laboratory.getName());
         reservation.setStartDateTime(start);
         reservation.setEndDateTime(end);
-        laboratory.getReservations().add(reservation);
+        laboratory.getReservationIds().add(reservation.getId());
+        reservationIndex.put(reservation);
+        return reservation;
     }
 }
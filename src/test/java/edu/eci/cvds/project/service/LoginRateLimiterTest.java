@@ -0,0 +1,52 @@
+package edu.eci.cvds.project.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginRateLimiterTest {
+
+    private LoginRateLimiter loginRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        loginRateLimiter = new LoginRateLimiter();
+        ReflectionTestUtils.setField(loginRateLimiter, "userCapacity", 2);
+        ReflectionTestUtils.setField(loginRateLimiter, "userRefillPerMinute", 1);
+        ReflectionTestUtils.setField(loginRateLimiter, "ipCapacity", 3);
+        ReflectionTestUtils.setField(loginRateLimiter, "ipRefillPerMinute", 1);
+    }
+
+    @Test
+    void testLimitsPerUser() {
+        assertTrue(loginRateLimiter.tryAcquire("Miguel", "10.0.0.1"));
+        assertTrue(loginRateLimiter.tryAcquire("Miguel", "10.0.0.2"));
+        assertFalse(loginRateLimiter.tryAcquire("Miguel", "10.0.0.3"));
+        assertTrue(loginRateLimiter.tryAcquire("Laura", "10.0.0.3"));
+    }
+
+    @Test
+    void testLimitsPerClientAddress() {
+        assertTrue(loginRateLimiter.tryAcquire("user1", "10.0.0.1"));
+        assertTrue(loginRateLimiter.tryAcquire("user2", "10.0.0.1"));
+        assertTrue(loginRateLimiter.tryAcquire("user3", "10.0.0.1"));
+        assertFalse(loginRateLimiter.tryAcquire("user4", "10.0.0.1"));
+        assertTrue(loginRateLimiter.tryAcquire("user4", "10.0.0.2"));
+    }
+
+    @Test
+    void testEvictIdleBuckets() {
+        loginRateLimiter.tryAcquire("Miguel", "10.0.0.1");
+        assertEquals(2, loginRateLimiter.size());
+
+        ReflectionTestUtils.setField(loginRateLimiter, "idleEvictionMs", 60000L);
+        loginRateLimiter.evictIdle();
+        assertEquals(2, loginRateLimiter.size());
+
+        ReflectionTestUtils.setField(loginRateLimiter, "idleEvictionMs", -1L);
+        loginRateLimiter.evictIdle();
+        assertEquals(0, loginRateLimiter.size());
+    }
+}
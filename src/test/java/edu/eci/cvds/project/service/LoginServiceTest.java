@@ -1,6 +1,8 @@
 package edu.eci.cvds.project.service;
 
+import edu.eci.cvds.project.exception.PasswordHashingRejectedException;
 import edu.eci.cvds.project.exception.UserException;
+import edu.eci.cvds.project.model.DTO.TokenPairDTO;
 import edu.eci.cvds.project.model.Role;
 import edu.eci.cvds.project.model.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,6 +22,12 @@ public class LoginServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private LoginService loginService;
 
@@ -37,6 +45,7 @@ public class LoginServiceTest {
     @Test
     void testLoginUser_Success() throws UserException.UserNotFoundException, UserException.UserIncorrectPasswordException {
         when(userService.getUserByUsername("Miguel")).thenReturn(user);
+        when(passwordHashingService.matches("password123", user.getPassword())).thenReturn(true);
 
         String token = loginService.loginUser("Miguel", "password123");
 
@@ -63,6 +72,7 @@ public class LoginServiceTest {
     @Test
     void testLoginUser_IncorrectPassword() {
         when(userService.getUserByUsername("Miguel")).thenReturn(user);
+        when(passwordHashingService.matches("wrongpassword", user.getPassword())).thenReturn(false);
 
         UserException.UserIncorrectPasswordException exception = assertThrows(
                 UserException.UserIncorrectPasswordException.class,
@@ -73,4 +83,43 @@ public class LoginServiceTest {
 
         verify(userService, times(1)).getUserByUsername("Miguel");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testLoginUser_HashingQueueFull() {
+        when(userService.getUserByUsername("Miguel")).thenReturn(user);
+        when(passwordHashingService.matches("password123", user.getPassword()))
+                .thenThrow(new PasswordHashingRejectedException("Password hashing queue is full"));
+
+        assertThrows(PasswordHashingRejectedException.class, () -> loginService.loginUser("Miguel", "password123"));
+    }
+
+    @Test
+    void testRefresh_RotatesToken() throws UserException.InvalidRefreshTokenException {
+        when(refreshTokenService.consume("old-refresh-token")).thenReturn("Miguel");
+        when(userService.getUserByUsername("Miguel")).thenReturn(user);
+        when(refreshTokenService.issue("Miguel")).thenReturn("new-refresh-token");
+
+        TokenPairDTO tokens = loginService.refresh("old-refresh-token");
+
+        assertNotNull(tokens.getAccessToken());
+        assertEquals("new-refresh-token", tokens.getRefreshToken());
+        verifyNoInteractions(passwordHashingService);
+    }
+
+    @Test
+    void testRefresh_InvalidToken() {
+        when(refreshTokenService.consume("revoked-token")).thenReturn(null);
+
+        assertThrows(UserException.InvalidRefreshTokenException.class, () -> loginService.refresh("revoked-token"));
+        verify(refreshTokenService, never()).issue(anyString());
+    }
+
+    @Test
+    void testRefresh_UserDeleted() {
+        when(refreshTokenService.consume("old-refresh-token")).thenReturn("Miguel");
+        when(userService.getUserByUsername("Miguel")).thenReturn(null);
+
+        assertThrows(UserException.InvalidRefreshTokenException.class, () -> loginService.refresh("old-refresh-token"));
+        verify(refreshTokenService, never()).issue(anyString());
+    }
+}
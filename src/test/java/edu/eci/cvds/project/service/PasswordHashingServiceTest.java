@@ -0,0 +1,70 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingServiceTest {
+
+    private PasswordHashingService passwordHashingService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingService = new PasswordHashingService();
+        ReflectionTestUtils.setField(passwordHashingService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(passwordHashingService, "threads", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", 1);
+        passwordHashingService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.stop();
+    }
+
+    @Test
+    void testEncodeAndMatches() {
+        String hash = passwordHashingService.encode("password123");
+
+        assertNotEquals("password123", hash);
+        assertTrue(passwordHashingService.matches("password123", hash));
+        assertFalse(passwordHashingService.matches("wrongpassword", hash));
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHashingService, "executor");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        executor.execute(() -> { });
+
+        try {
+            assertEquals(1.0, meterRegistry.get("password.hashing.queue.size").gauge().value());
+            assertThrows(PasswordHashingRejectedException.class, () -> passwordHashingService.encode("password123"));
+            assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.RefreshToken;
+import edu.eci.cvds.project.repository.RefreshTokenMongoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenMongoRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @Test
+    void testIssueStoresOnlyTheHash() {
+        String token = refreshTokenService.issue("Miguel");
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken stored = captor.getValue();
+        assertNotEquals(token, stored.getTokenHash());
+        assertEquals(RefreshTokenService.hash(token), stored.getTokenHash());
+        assertEquals("Miguel", stored.getUsername());
+        assertTrue(stored.getExpiresAt().after(new Date()));
+    }
+
+    @Test
+    void testIssueGeneratesDistinctTokens() {
+        assertNotEquals(refreshTokenService.issue("Miguel"), refreshTokenService.issue("Miguel"));
+    }
+
+    @Test
+    void testConsumeValidToken() {
+        RefreshToken stored = new RefreshToken("1", RefreshTokenService.hash("token"), "Miguel",
+                new Date(System.currentTimeMillis() + 60_000));
+        when(refreshTokenRepository.deleteByTokenHash(RefreshTokenService.hash("token"))).thenReturn(stored);
+
+        assertEquals("Miguel", refreshTokenService.consume("token"));
+    }
+
+    @Test
+    void testConsumeExpiredToken() {
+        RefreshToken stored = new RefreshToken("1", RefreshTokenService.hash("token"), "Miguel",
+                new Date(System.currentTimeMillis() - 60_000));
+        when(refreshTokenRepository.deleteByTokenHash(RefreshTokenService.hash("token"))).thenReturn(stored);
+
+        assertNull(refreshTokenService.consume("token"));
+    }
+
+    @Test
+    void testConsumeUnknownToken() {
+        when(refreshTokenRepository.deleteByTokenHash(RefreshTokenService.hash("token"))).thenReturn(null);
+
+        assertNull(refreshTokenService.consume("token"));
+        assertNull(refreshTokenService.consume(null));
+    }
+
+    @Test
+    void testRevoke() {
+        when(refreshTokenRepository.deleteByTokenHash(RefreshTokenService.hash("token")))
+                .thenReturn(new RefreshToken("1", RefreshTokenService.hash("token"), "Miguel", new Date()));
+
+        assertTrue(refreshTokenService.revoke("token"));
+        assertFalse(refreshTokenService.revoke(""));
+    }
+}
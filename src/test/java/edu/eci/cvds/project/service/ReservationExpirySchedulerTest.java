@@ -0,0 +1,73 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.repository.ReservationMongoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExpirySchedulerTest {
+
+    @Mock
+    private ReservationMongoRepository reservationRepository;
+
+    @InjectMocks
+    private ReservationExpiryScheduler expiryScheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(reservationRepository.findActiveEndTimes()).thenReturn(List.of());
+        expiryScheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        expiryScheduler.stop();
+    }
+
+    @Test
+    void shouldExpireReservationWhenItEnds() {
+        expiryScheduler.register(reservation("1", LocalDateTime.now().plusNanos(200_000_000L), true));
+
+        verify(reservationRepository, timeout(2000)).expireIfEnded(eq("1"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldNotExpireReservationBeforeItEnds() {
+        expiryScheduler.register(reservation("1", LocalDateTime.now().plusHours(1), true));
+
+        verify(reservationRepository, after(300).never()).expireIfEnded(anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldIgnoreInactiveReservations() {
+        expiryScheduler.register(reservation("1", LocalDateTime.now().minusHours(1), false));
+
+        verify(reservationRepository, after(300).never()).expireIfEnded(anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void shouldRegisterActiveReservationsOnStart() {
+        expiryScheduler.stop();
+        when(reservationRepository.findActiveEndTimes())
+                .thenReturn(List.of(reservation("2", LocalDateTime.now().minusMinutes(1), true)));
+
+        expiryScheduler.start();
+
+        verify(reservationRepository, timeout(2000)).expireIfEnded(eq("2"), any(LocalDateTime.class));
+    }
+
+    private Reservation reservation(String id, LocalDateTime end, boolean status) {
+        return new Reservation(id, "Lab A", "Miguel", end.minusHours(1), end, "Study session", status, 1);
+    }
+}
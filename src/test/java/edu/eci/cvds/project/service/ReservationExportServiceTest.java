@@ -0,0 +1,119 @@
+package edu.eci.cvds.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.repository.ReservationMongoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationExportServiceTest {
+
+    @Mock
+    private ReservationMongoRepository reservationRepository;
+
+    @InjectMocks
+    private ReservationExportService exportService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final LocalDateTime start = LocalDateTime.of(2025, 3, 10, 8, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(exportService, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void testExportNdjsonWritesOneObjectPerLine() throws IOException {
+        stream(new Reservation("1", "Lab A", "Miguel", start, start.plusHours(2), "Clase", true, 3),
+                new Reservation("2", "Lab B", "Ana", start, start.plusHours(1), "Parcial", false, null));
+
+        String output = export(ReservationExportService.Format.NDJSON);
+
+        String[] lines = output.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(output.endsWith("\n"));
+        Reservation first = objectMapper.readValue(lines[0], Reservation.class);
+        assertEquals("1", first.getId());
+        assertEquals(start, first.getStartDateTime());
+        assertEquals("Ana", objectMapper.readValue(lines[1], Reservation.class).getUsername());
+    }
+
+    @Test
+    void testExportCsvWritesHeaderAndEscapedRows() throws IOException {
+        stream(new Reservation("1", "Lab A", "Miguel", start, start.plusHours(2), "Clase, \"práctica\"", true, 3));
+
+        String output = export(ReservationExportService.Format.CSV);
+
+        assertEquals(ReservationExportService.CSV_HEADER + "\n"
+                + "1,Lab A,Miguel,2025-03-10T08:00,2025-03-10T10:00,\"Clase, \"\"práctica\"\"\",true,3\n", output);
+    }
+
+    @Test
+    void testExportPassesFiltersToRepository() throws IOException {
+        LocalDateTime to = start.plusDays(7);
+
+        exportService.export(ReservationExportService.Format.CSV, "Lab A", "Miguel", start, to, new ByteArrayOutputStream());
+
+        verify(reservationRepository).streamReservations(eq("Lab A"), eq("Miguel"), eq(start), eq(to), any());
+    }
+
+    @Test
+    void testExportPropagatesWriteErrors() {
+        stream(new Reservation("1", "Lab A", "Miguel", start, start.plusHours(2), "Clase", true, 3));
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("conexión cerrada");
+            }
+        };
+
+        IOException error = assertThrows(IOException.class,
+                () -> exportService.export(ReservationExportService.Format.NDJSON, null, null, null, null, broken));
+        assertEquals("conexión cerrada", error.getMessage());
+    }
+
+    @Test
+    void testFormatOf() {
+        assertEquals(ReservationExportService.Format.CSV, ReservationExportService.Format.of("csv"));
+        assertEquals(ReservationExportService.Format.NDJSON, ReservationExportService.Format.of("NDJSON"));
+        assertThrows(IllegalArgumentException.class, () -> ReservationExportService.Format.of("xml"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stream(Reservation... reservations) {
+        doAnswer(invocation -> {
+            Consumer<Reservation> consumer = invocation.getArgument(4);
+            List.of(reservations).forEach(consumer);
+            return null;
+        }).when(reservationRepository).streamReservations(any(), any(), any(), any(), any());
+    }
+
+    private String export(ReservationExportService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(format, null, null, null, null, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
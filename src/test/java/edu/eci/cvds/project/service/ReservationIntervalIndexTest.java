@@ -0,0 +1,139 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.repository.ReservationMongoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationIntervalIndexTest {
+
+    @Mock
+    private ReservationMongoRepository reservationRepository;
+
+    @InjectMocks
+    private ReservationIntervalIndex reservationIndex;
+
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        base = LocalDateTime.of(2025, 3, 10, 8, 0);
+    }
+
+    @Test
+    void shouldDetectOverlapAndAllowAdjacentRanges() {
+        reservationIndex.put(reservation("1", "Lab A", base, base.plusHours(2)));
+
+        assertFalse(reservationIndex.isAvailable("Lab A", base.plusHours(1), base.plusHours(3)));
+        assertFalse(reservationIndex.isAvailable("Lab A", base.minusHours(1), base.plusMinutes(1)));
+        assertTrue(reservationIndex.isAvailable("Lab A", base.plusHours(2), base.plusHours(3)));
+        assertTrue(reservationIndex.isAvailable("Lab A", base.minusHours(1), base));
+        assertTrue(reservationIndex.isAvailable("Lab B", base, base.plusHours(2)));
+    }
+
+    @Test
+    void shouldFindLongIntervalHiddenBehindLaterStarts() {
+        reservationIndex.put(reservation("1", "Lab A", base, base.plusHours(10)));
+        reservationIndex.put(reservation("2", "Lab A", base.plusHours(1), base.plusHours(2)));
+        reservationIndex.put(reservation("3", "Lab A", base.plusHours(3), base.plusHours(4)));
+
+        assertFalse(reservationIndex.isAvailable("Lab A", base.plusHours(5), base.plusHours(6)));
+        assertTrue(reservationIndex.isAvailable("Lab A", base.plusHours(10), base.plusHours(11)));
+    }
+
+    @Test
+    void shouldFreeRangeWhenReservationIsRemoved() {
+        reservationIndex.put(reservation("1", "Lab A", base, base.plusHours(2)));
+        reservationIndex.remove("1");
+
+        assertTrue(reservationIndex.isAvailable("Lab A", base, base.plusHours(2)));
+    }
+
+    @Test
+    void shouldReplacePreviousVersionOfReservation() {
+        reservationIndex.put(reservation("1", "Lab A", base, base.plusHours(2)));
+        reservationIndex.put(reservation("1", "Lab B", base.plusDays(1), base.plusDays(1).plusHours(2)));
+
+        assertTrue(reservationIndex.isAvailable("Lab A", base, base.plusHours(2)));
+        assertFalse(reservationIndex.isAvailable("Lab B", base.plusDays(1), base.plusDays(1).plusHours(1)));
+    }
+
+    @Test
+    void shouldReserveOnlyFreeRanges() {
+        assertTrue(reservationIndex.putIfAvailable(reservation("1", "Lab A", base, base.plusHours(2))));
+        assertFalse(reservationIndex.putIfAvailable(reservation("2", "Lab A", base.plusHours(1), base.plusHours(3))));
+        assertTrue(reservationIndex.putIfAvailable(reservation("3", "Lab A", base.plusHours(2), base.plusHours(3))));
+        assertTrue(reservationIndex.putIfAvailable(reservation("4", "Lab B", base, base.plusHours(2))));
+
+        reservationIndex.remove("2");
+        assertFalse(reservationIndex.isAvailable("Lab A", base, base.plusHours(1)));
+        assertEquals(2, reservationIndex.overlapping("Lab A", base, base.plusHours(3)).size());
+    }
+
+    @Test
+    void shouldLetOnlyOneConcurrentRequestReserveARange() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String id = String.valueOf(i);
+            LocalDateTime from = base.plusMinutes(i);
+            results.add(executor.submit(() -> {
+                start.await();
+                return reservationIndex.putIfAvailable(reservation(id, "Lab A", from, from.plusHours(1)));
+            }));
+        }
+        start.countDown();
+        int reserved = 0;
+        for (Future<Boolean> result : results) {
+            reserved += result.get(5, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, reserved);
+    }
+
+    @Test
+    void shouldRebuildFromRepository() {
+        reservationIndex.put(reservation("old", "Lab A", base.plusDays(5), base.plusDays(5).plusHours(1)));
+        when(reservationRepository.findAll()).thenReturn(List.of(reservation("1", "Lab A", base, base.plusHours(2))));
+
+        reservationIndex.rebuild();
+
+        assertFalse(reservationIndex.isAvailable("Lab A", base, base.plusHours(1)));
+        assertTrue(reservationIndex.isAvailable("Lab A", base.plusDays(5), base.plusDays(5).plusHours(1)));
+    }
+
+    @Test
+    void shouldClearAllLaboratories() {
+        reservationIndex.put(reservation("1", "Lab A", base, base.plusHours(2)));
+        reservationIndex.put(reservation("2", "Lab B", base, base.plusHours(2)));
+
+        reservationIndex.clear();
+
+        assertTrue(reservationIndex.isAvailable("Lab A", base, base.plusHours(2)));
+        assertTrue(reservationIndex.isAvailable("Lab B", base, base.plusHours(2)));
+    }
+
+    private Reservation reservation(String id, String labName, LocalDateTime start, LocalDateTime end) {
+        return new Reservation(id, labName, "Miguel", start, end, "Study session", true, 1);
+    }
+}
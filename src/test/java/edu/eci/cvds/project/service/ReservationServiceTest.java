@@ -1,26 +1,36 @@
 package edu.eci.cvds.project.service;
 
+import edu.eci.cvds.project.model.DTO.BulkReservationResultDTO;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.DTO.ReservationDTO;
+import edu.eci.cvds.project.model.DTO.ReservationSlotDTO;
 import edu.eci.cvds.project.model.Laboratory;
 import edu.eci.cvds.project.model.Reservation;
 import edu.eci.cvds.project.model.User;
 import edu.eci.cvds.project.repository.LaboratoryMongoRepository;
 import edu.eci.cvds.project.repository.ReservationMongoRepository;
 import edu.eci.cvds.project.repository.UserMongoRepository;
+import edu.eci.cvds.project.util.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.TransactionSystemException;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,6 +47,18 @@ class ReservationServiceTest {
     @Mock
     private LaboratoryMongoRepository laboratoryRepository;
 
+    @Spy
+    private ReservationIntervalIndex reservationIndex = new ReservationIntervalIndex();
+
+    @Spy
+    private ReservationSlotFinder reservationSlotFinder = new ReservationSlotFinder();
+
+    @Mock
+    private ReservationExpiryScheduler expiryScheduler;
+
+    @Mock
+    private ServicesReservationStatistics statisticsService;
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -47,6 +69,7 @@ class ReservationServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(reservationSlotFinder, "reservationIndex", reservationIndex);
         laboratory = new Laboratory("1", "Laboratory1", new ArrayList<>());
         user = new User("100011", "Miguel", "password", new ArrayList<>(), null);
 
@@ -68,22 +91,22 @@ class ReservationServiceTest {
         reservation.setPurpose(reservationDTO.getPurpose());
         reservation.setStatus(true);
 
-        laboratory.getReservations().add(reservation);
-        user.getReservations().add(reservation);
+        laboratory.getReservationIds().add(reservation.getId());
+        user.getReservationIds().add(reservation.getId());
     }
 
 
     @Test
     void testDeleteAllReservations() {
-        when(reservationRepository.findAll()).thenReturn(List.of(reservation));
-        when(laboratoryRepository.findLaboratoriesByName(laboratory.getName())).thenReturn(laboratory);
-        when(userRepository.findUserById(user.getUsername())).thenReturn(user);
-
         reservationService.deleteAllReservations();
 
         verify(reservationRepository, times(1)).deleteAll();
-        verify(laboratoryRepository, times(1)).save(any(Laboratory.class));
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(statisticsService, times(1)).reset();
+        verify(laboratoryRepository, times(1)).clearReservationIds();
+        verify(userRepository, times(1)).clearReservationIds();
+        verify(laboratoryRepository, never()).save(any(Laboratory.class));
+        verify(userRepository, never()).save(any(User.class));
+        verify(statisticsService, never()).recordRemoved(any());
     }
 
     @Test
@@ -97,16 +120,266 @@ class ReservationServiceTest {
         assertEquals("User or Lab not found", exception.getMessage());
     }
 
+    @Test
+    void testCreateReservation_ShiftsToNextFreeDay() {
+        reservationIndex.put(reservation);
+        when(laboratoryRepository.findLaboratoriesByName(reservationDTO.getLabName())).thenReturn(laboratory);
+        when(userRepository.findUserByUsername(reservationDTO.getUsername())).thenReturn(user);
+        when(laboratoryRepository.addReservationId(eq(laboratory.getName()), any())).thenReturn(true);
+        when(userRepository.addReservationId(eq(user.getUsername()), any())).thenReturn(true);
+
+        Reservation created = reservationService.createReservation(reservationDTO);
+
+        assertEquals(reservationDTO.getStartDateTime().plusDays(1), created.getStartDateTime());
+        assertEquals(reservationDTO.getEndDateTime().plusDays(1), created.getEndDateTime());
+        verify(reservationRepository, never()).findAll();
+        verify(reservationRepository, times(1)).insert(created);
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        verify(reservationRepository, never()).replaceReservation(any(Reservation.class));
+        verify(expiryScheduler, times(1)).register(created);
+        verify(statisticsService, times(1)).recordCreated(created);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateReservations_ReportsEachItem() {
+        reservationIndex.put(reservation);
+        LocalDateTime day = LocalDateTime.of(2025, 3, 11, 8, 0);
+        List<ReservationDTO> dtos = List.of(
+                new ReservationDTO("Laboratory1", "Miguel", day, day.plusHours(2), "Class", 3),
+                new ReservationDTO("Laboratory1", "Miguel", day.plusHours(1), day.plusHours(3), "Overlap", 3),
+                new ReservationDTO("Laboratory1", "Miguel", day.plusHours(2), day.plusHours(4), "Back to back", 2),
+                new ReservationDTO("Laboratory1", "Miguel", reservationDTO.getStartDateTime(), reservationDTO.getEndDateTime(), "Taken", 1),
+                new ReservationDTO("Missing", "Miguel", day, day.plusHours(1), "No lab", 1),
+                new ReservationDTO("Laboratory1", "Miguel", day.plusHours(5), day.plusHours(5), "Empty", 1));
+        when(laboratoryRepository.findExistingNames(anyCollection())).thenReturn(Set.of("Laboratory1"));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of("Miguel"));
+        when(reservationRepository.bulkInsert(anyList())).thenReturn(Set.of());
+
+        List<BulkReservationResultDTO> results = reservationService.createReservations(dtos);
+
+        assertEquals(List.of(BulkReservationResultDTO.CREATED, BulkReservationResultDTO.CONFLICT, BulkReservationResultDTO.CREATED,
+                        BulkReservationResultDTO.CONFLICT, BulkReservationResultDTO.INVALID, BulkReservationResultDTO.INVALID),
+                results.stream().map(BulkReservationResultDTO::getStatus).toList());
+        assertEquals("Overlaps reservation 0 of the batch", results.get(1).getMessage());
+        assertEquals("Laboratory not available", results.get(3).getMessage());
+        assertNotNull(results.get(0).getReservationId());
+
+        ArgumentCaptor<List<Reservation>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(reservationRepository, times(1)).bulkInsert(inserted.capture());
+        assertEquals(List.of(results.get(0).getReservationId(), results.get(2).getReservationId()),
+                inserted.getValue().stream().map(Reservation::getId).toList());
+        verify(laboratoryRepository, times(1)).addReservationIds(Map.of("Laboratory1",
+                List.of(results.get(0).getReservationId(), results.get(2).getReservationId())));
+        verify(userRepository, times(1)).addReservationIds(anyMap());
+        verify(statisticsService, times(1)).recordCreatedAll(inserted.getValue());
+        verify(expiryScheduler, times(2)).register(any(Reservation.class));
+        assertFalse(reservationIndex.isAvailable("Laboratory1", day.plusHours(3), day.plusHours(4)));
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    @Test
+    void testCreateReservations_ReportsFailedInserts() {
+        LocalDateTime day = LocalDateTime.of(2025, 3, 11, 8, 0);
+        List<ReservationDTO> dtos = List.of(
+                new ReservationDTO("Laboratory1", "Miguel", day, day.plusHours(1), "Class", 3),
+                new ReservationDTO("Laboratory1", "Miguel", day.plusHours(1), day.plusHours(2), "Class", 3));
+        when(laboratoryRepository.findExistingNames(anyCollection())).thenReturn(Set.of("Laboratory1"));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of("Miguel"));
+        when(reservationRepository.bulkInsert(anyList())).thenReturn(Set.of(1));
+
+        List<BulkReservationResultDTO> results = reservationService.createReservations(dtos);
+
+        assertEquals(BulkReservationResultDTO.CREATED, results.get(0).getStatus());
+        assertEquals(BulkReservationResultDTO.FAILED, results.get(1).getStatus());
+        assertNull(results.get(1).getReservationId());
+        assertTrue(reservationIndex.isAvailable("Laboratory1", day.plusHours(1), day.plusHours(2)));
+        verify(expiryScheduler, times(1)).register(any(Reservation.class));
+    }
+
+    @Test
+    void testCreateReservations_ReleasesSlotsWhenInsertThrows() {
+        LocalDateTime day = LocalDateTime.of(2025, 3, 11, 8, 0);
+        List<ReservationDTO> dtos = List.of(new ReservationDTO("Laboratory1", "Miguel", day, day.plusHours(1), "Class", 3));
+        when(laboratoryRepository.findExistingNames(anyCollection())).thenReturn(Set.of("Laboratory1"));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of("Miguel"));
+        when(reservationRepository.bulkInsert(anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> reservationService.createReservations(dtos));
+
+        assertTrue(reservationIndex.isAvailable("Laboratory1", day, day.plusHours(1)));
+        verifyNoInteractions(expiryScheduler, statisticsService);
+    }
+
+    @Test
+    void testCreateReservation_MovesOnWhenAConcurrentRequestTakesTheSlot() {
+        Reservation competitor = new Reservation("2", laboratory.getName(), "Ana",
+                reservationDTO.getStartDateTime(), reservationDTO.getEndDateTime(), "Concurrent", true, 1);
+        doAnswer(invocation -> {
+            reservationIndex.put(competitor);
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(reservationIndex).putIfAvailable(any(Reservation.class));
+        when(laboratoryRepository.findLaboratoriesByName(reservationDTO.getLabName())).thenReturn(laboratory);
+        when(userRepository.findUserByUsername(reservationDTO.getUsername())).thenReturn(user);
+        when(laboratoryRepository.addReservationId(eq(laboratory.getName()), any())).thenReturn(true);
+        when(userRepository.addReservationId(eq(user.getUsername()), any())).thenReturn(true);
+
+        Reservation created = reservationService.createReservation(reservationDTO);
+
+        assertEquals(reservationDTO.getStartDateTime().plusDays(1), created.getStartDateTime());
+        verify(reservationIndex, times(2)).putIfAvailable(created);
+        verify(reservationRepository, times(1)).insert(created);
+    }
+
+    @Test
+    void testCreateReservation_ReleasesSlotWhenLinkFails() {
+        when(laboratoryRepository.findLaboratoriesByName(reservationDTO.getLabName())).thenReturn(laboratory);
+        when(userRepository.findUserByUsername(reservationDTO.getUsername())).thenReturn(user);
+        when(laboratoryRepository.addReservationId(eq(laboratory.getName()), any())).thenReturn(false);
+
+        assertThrows(RuntimeException.class, () -> reservationService.createReservation(reservationDTO));
+
+        assertTrue(reservationIndex.isAvailable(reservationDTO.getLabName(), reservationDTO.getStartDateTime(),
+                reservationDTO.getEndDateTime()));
+        verifyNoInteractions(statisticsService);
+    }
+
+    @Test
+    void testCreateAndUpdate_RejectReservationsLongerThanTheMaximum() {
+        LocalDateTime day = LocalDateTime.of(2025, 3, 11, 8, 0);
+        ReservationDTO tooLong = new ReservationDTO("Laboratory1", "Miguel", day, day.plusHours(25), "Marathon", 1);
+        when(laboratoryRepository.findExistingNames(anyCollection())).thenReturn(Set.of("Laboratory1"));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of("Miguel"));
+        reservation.setEndDateTime(reservation.getStartDateTime().plusDays(2));
+
+        Exception created = assertThrows(IllegalArgumentException.class, () -> reservationService.createReservation(tooLong));
+        List<BulkReservationResultDTO> results = reservationService.createReservations(List.of(tooLong));
+        Exception updated = assertThrows(IllegalArgumentException.class, () -> reservationService.updateReservation(reservation));
+
+        assertEquals("Reservations cannot be longer than 24 hours", created.getMessage());
+        assertEquals(BulkReservationResultDTO.INVALID, results.get(0).getStatus());
+        assertEquals("Reservations cannot be longer than 24 hours", results.get(0).getMessage());
+        assertEquals("Reservations cannot be longer than 24 hours", updated.getMessage());
+        verify(reservationRepository, never()).insert(any(Reservation.class));
+        verify(reservationRepository, never()).findAndReplaceReservation(any(Reservation.class));
+    }
+
+    @Test
+    void testCreateReservations_RejectsEmptyOrOversizedBatch() {
+        ReflectionTestUtils.setField(reservationService, "bulkMaxSize", 1);
+
+        assertThrows(IllegalArgumentException.class, () -> reservationService.createReservations(List.of()));
+        assertThrows(IllegalArgumentException.class,
+                () -> reservationService.createReservations(List.of(reservationDTO, reservationDTO)));
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void testExpireReservations_MarksAndDeletesOneBatch() {
+        Reservation expired = new Reservation("2", laboratory.getName(), user.getUsername(),
+                LocalDateTime.of(2025, 3, 9, 8, 0), LocalDateTime.of(2025, 3, 9, 9, 0), "Old session", false, 1);
+        when(reservationRepository.findEndedBefore(eq(true), any(LocalDateTime.class), eq(10))).thenReturn(List.of(reservation));
+        when(reservationRepository.findEndedBefore(eq(false), any(LocalDateTime.class), eq(10))).thenReturn(List.of(expired));
+        when(reservationRepository.findReservationById("2")).thenReturn(expired);
+        when(laboratoryRepository.removeReservationId(laboratory.getName(), "2")).thenReturn(true);
+        when(reservationRepository.removeReservationById("2")).thenReturn(1L);
+
+        int processed = reservationService.expireReservations(10);
+
+        assertEquals(2, processed);
+        verify(reservationRepository).markExpired(List.of("1"));
+        verify(reservationRepository).removeReservationById("2");
+        verify(userRepository).removeReservationId(user.getUsername(), "2");
+        verify(reservationRepository, never()).findAll();
+        verify(statisticsService, times(1)).recordRemoved(expired);
+        verify(statisticsService, never()).recordRemoved(reservation);
+    }
+
+    @Test
+    void testExpireReservations_OrphanStillUpdatesStatistics() {
+        Reservation orphan = new Reservation("3", "Removed lab", user.getUsername(),
+                LocalDateTime.of(2025, 3, 9, 8, 0), LocalDateTime.of(2025, 3, 9, 9, 0), "Old session", false, 1);
+        when(reservationRepository.findEndedBefore(eq(true), any(LocalDateTime.class), eq(10))).thenReturn(List.of());
+        when(reservationRepository.findEndedBefore(eq(false), any(LocalDateTime.class), eq(10))).thenReturn(List.of(orphan));
+        when(reservationRepository.findReservationById("3")).thenReturn(orphan);
+        when(laboratoryRepository.removeReservationId("Removed lab", "3")).thenReturn(false);
+        when(reservationRepository.removeReservationById("3")).thenReturn(1L);
+
+        reservationService.expireReservations(10);
+
+        verify(userRepository).removeReservationId(user.getUsername(), "3");
+        verify(statisticsService, times(1)).recordRemoved(orphan);
+    }
+
+    @Test
+    void testExpireReservations_AlreadyRemovedIsNotCountedTwice() {
+        Reservation gone = new Reservation("4", laboratory.getName(), user.getUsername(),
+                LocalDateTime.of(2025, 3, 9, 8, 0), LocalDateTime.of(2025, 3, 9, 9, 0), "Old session", false, 1);
+        when(reservationRepository.findEndedBefore(eq(true), any(LocalDateTime.class), eq(10))).thenReturn(List.of());
+        when(reservationRepository.findEndedBefore(eq(false), any(LocalDateTime.class), eq(10))).thenReturn(List.of(gone));
+        when(reservationRepository.findReservationById("4")).thenReturn(null);
+        when(reservationRepository.removeReservationById("4")).thenReturn(0L);
+
+        reservationService.expireReservations(10);
+
+        verify(userRepository).removeReservationId(user.getUsername(), "4");
+        verify(statisticsService, never()).recordRemoved(any());
+    }
+
+    @Test
+    void testExpireReservations_NothingToDo() {
+        when(reservationRepository.findEndedBefore(anyBoolean(), any(LocalDateTime.class), eq(10))).thenReturn(List.of());
+
+        assertEquals(0, reservationService.expireReservations(10));
+        verify(reservationRepository, never()).markExpired(any());
+    }
+
+    @Test
+    void testFindNextAvailableSlot() {
+        reservationIndex.put(reservation);
+
+        Optional<ReservationSlotDTO> slot = reservationService.findNextAvailableSlot(
+                laboratory.getName(), reservation.getStartDateTime().minusMinutes(30), reservation.getEndDateTime().minusMinutes(30));
+
+        assertTrue(slot.isPresent());
+        assertEquals(reservation.getStartDateTime().minusMinutes(30).plusDays(1), slot.get().getStartDateTime());
+        assertEquals(reservation.getEndDateTime().minusMinutes(30).plusDays(1), slot.get().getEndDateTime());
+    }
+
+    @Test
+    void testFindNextAvailableSlot_InvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> reservationService.findNextAvailableSlot(
+                laboratory.getName(), reservation.getEndDateTime(), reservation.getStartDateTime()));
+    }
+
     @Test
     void testCancelReservation_Success() {
         when(reservationRepository.findReservationById("1")).thenReturn(reservation);
-        when(laboratoryRepository.findLaboratoriesByName(reservation.getLaboratoryname())).thenReturn(laboratory);
-        when(userRepository.findUserByUsername(reservation.getUsername())).thenReturn(user);
+        when(laboratoryRepository.removeReservationId(reservation.getLaboratoryname(), "1")).thenReturn(true);
+        when(reservationRepository.removeReservationById("1")).thenReturn(1L);
 
         boolean result = reservationService.cancelReservation("1");
 
-        assertFalse(result);
-        verify(reservationRepository).delete(reservation);
+        assertTrue(result);
+        verify(reservationRepository).removeReservationById("1");
+        verify(reservationRepository, times(1)).findReservationById("1");
+        verify(userRepository).removeReservationId(reservation.getUsername(), "1");
+        verify(laboratoryRepository, never()).save(any(Laboratory.class));
+        verify(userRepository, never()).save(any(User.class));
+        verify(statisticsService, times(1)).recordRemoved(reservation);
+    }
+
+    @Test
+    void testCancelReservation_LaboratoryNotFound() {
+        when(reservationRepository.findReservationById("1")).thenReturn(reservation);
+        when(laboratoryRepository.removeReservationId(reservation.getLaboratoryname(), "1")).thenReturn(false);
+
+        Exception exception = assertThrows(DataIntegrityViolationException.class, () ->
+                reservationService.cancelReservation("1"));
+
+        assertEquals("Laboratory not found: Laboratory1", exception.getMessage());
+        verify(reservationRepository, never()).removeReservationById(anyString());
+        verify(statisticsService, never()).recordRemoved(any());
     }
 
     @Test
@@ -121,16 +394,53 @@ class ReservationServiceTest {
 
     @Test
     void testUpdateReservation_Success() {
-        when(reservationRepository.existsById(reservation.getId())).thenReturn(true);
-        when(laboratoryRepository.findLaboratoriesByName(reservation.getLaboratoryname())).thenReturn(laboratory);
-        when(userRepository.findUserByUsername(reservation.getUsername())).thenReturn(user);
-        when(reservationRepository.updateReservation(any(Reservation.class))).thenReturn(reservation);
+        Reservation previous = copyOf(reservation);
+        when(reservationRepository.findAndReplaceReservation(reservation)).thenReturn(previous);
+        when(laboratoryRepository.addReservationId(reservation.getLaboratoryname(), "1")).thenReturn(true);
+        when(userRepository.addReservationId(reservation.getUsername(), "1")).thenReturn(true);
 
         Reservation updated = reservationService.updateReservation(reservation);
 
         assertNotNull(updated);
-        verify(laboratoryRepository).updateLaboratory(laboratory);
-        verify(userRepository).updateUser(user);
+        verify(laboratoryRepository).addReservationId(laboratory.getName(), "1");
+        verify(userRepository).addReservationId(user.getUsername(), "1");
+        verify(laboratoryRepository, never()).updateLaboratory(any(Laboratory.class));
+        verify(userRepository, never()).updateUser(any(User.class));
+        verify(expiryScheduler).register(reservation);
+        verify(reservationRepository, never()).existsById(anyString());
+        verify(reservationRepository, never()).findById(anyString());
+        verify(laboratoryRepository, never()).removeReservationId(anyString(), anyString());
+        verify(userRepository, never()).removeReservationId(anyString(), anyString());
+        verify(statisticsService).recordUpdated(same(previous), same(reservation));
+    }
+
+    @Test
+    void testUpdateReservation_MovedToAnotherLabUnlinksPreviousLab() {
+        Reservation previous = copyOf(reservation);
+        previous.setLaboratoryname("Lab B");
+        previous.setPriority(1);
+        when(reservationRepository.findAndReplaceReservation(reservation)).thenReturn(previous);
+        when(laboratoryRepository.addReservationId(reservation.getLaboratoryname(), "1")).thenReturn(true);
+        when(userRepository.addReservationId(reservation.getUsername(), "1")).thenReturn(true);
+
+        reservationService.updateReservation(reservation);
+
+        verify(laboratoryRepository).removeReservationId("Lab B", "1");
+        verify(userRepository, never()).removeReservationId(anyString(), anyString());
+        verify(laboratoryRepository).addReservationId(laboratory.getName(), "1");
+        verify(statisticsService).recordUpdated(same(previous), same(reservation));
+    }
+
+    @Test
+    void testUpdateReservation_UserNotFound() {
+        when(reservationRepository.findAndReplaceReservation(reservation)).thenReturn(copyOf(reservation));
+        when(laboratoryRepository.addReservationId(reservation.getLaboratoryname(), "1")).thenReturn(true);
+        when(userRepository.addReservationId(reservation.getUsername(), "1")).thenReturn(false);
+
+        Exception exception = assertThrows(RuntimeException.class, () -> reservationService.updateReservation(reservation));
+
+        assertEquals("User not found", exception.getMessage());
+        verify(expiryScheduler, never()).register(any(Reservation.class));
     }
 
     @Test
@@ -156,29 +466,74 @@ class ReservationServiceTest {
     void testGetReservationsInRange() {
         LocalDateTime start = LocalDateTime.of(2025, 3, 10, 18, 0);
         LocalDateTime end = LocalDateTime.of(2025, 3, 10, 22, 0);
-        when(reservationRepository.findByStartDateTimeGreaterThanEqualAndEndDateTimeLessThanEqual(start, end))
+        when(reservationRepository.findInRangePage(start, end, null, null, KeysetCursor.DEFAULT_LIMIT + 1))
                 .thenReturn(Arrays.asList(reservation));
 
-        List<Reservation> reservations = reservationService.getReservationsInRange(start, end);
+        PageDTO<Reservation> page = reservationService.getReservationsInRange(start, end, null, 0);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetReservationsInRange_ContinuesAfterCursor() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 10, 18, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 3, 10, 22, 0);
+        Reservation second = new Reservation("10223", "Laboratory1", "Miguel",
+                reservation.getStartDateTime().plusHours(1), reservation.getEndDateTime().plusHours(1), "nose", true, 4);
+        String cursor = KeysetCursor.of(reservation.getStartDateTime(), "10221");
+        when(reservationRepository.findInRangePage(start, end, reservation.getStartDateTime(), "10221", 2))
+                .thenReturn(Arrays.asList(reservation, second));
+
+        PageDTO<Reservation> page = reservationService.getReservationsInRange(start, end, cursor, 1);
+
+        assertEquals(List.of(reservation), page.getItems());
+        assertEquals(KeysetCursor.of(reservation.getStartDateTime(), reservation.getId()), page.getNextCursor());
+    }
+
+    @Test
+    void testGetReservationsPage_CapsLimit() {
+        when(reservationRepository.findPage("10221", KeysetCursor.MAX_LIMIT + 1)).thenReturn(List.of(reservation));
+
+        PageDTO<Reservation> page = reservationService.getReservationsPage(KeysetCursor.of("10221"), 10_000);
+
+        assertEquals(List.of(reservation), page.getItems());
+        assertNull(page.getNextCursor());
+        verify(reservationRepository, never()).findAll();
+    }
 
-        assertFalse(reservations.isEmpty());
-        assertEquals(1, reservations.size());
+    @Test
+    void testGetReservationsPage_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> reservationService.getReservationsPage("%%%", 10));
+        verifyNoInteractions(reservationRepository);
     }
 
     @Test
     void testIsLaboratoryAvailable_True() {
-        when(reservationRepository.findByLaboratoryname(laboratory.getName())).thenReturn(List.of());
         boolean result = reservationService.isLaboratoryAvilable(laboratory, reservation.getStartDateTime(), reservation.getEndDateTime());
         assertTrue(result);
+        verify(reservationRepository, never()).findByLaboratoryname(anyString());
     }
 
     @Test
     void testIsLaboratoryAvailable_False() {
-        when(reservationRepository.findByLaboratoryname(laboratory.getName())).thenReturn(List.of(reservation));
+        reservationIndex.put(reservation);
         boolean result = reservationService.isLaboratoryAvilable(laboratory, reservation.getStartDateTime(), reservation.getEndDateTime());
         assertFalse(result);
     }
 
+    @Test
+    void testIsLaboratoryAvailable_AfterCancel() {
+        reservationIndex.put(reservation);
+        when(reservationRepository.findReservationById("1")).thenReturn(reservation);
+        when(laboratoryRepository.removeReservationId(reservation.getLaboratoryname(), "1")).thenReturn(true);
+        when(reservationRepository.removeReservationById("1")).thenReturn(1L);
+
+        reservationService.cancelReservation("1");
+
+        assertTrue(reservationService.isLaboratoryAvilable(laboratory, reservation.getStartDateTime(), reservation.getEndDateTime()));
+    }
+
     @Test
     void testIsReservationAvailable_True() {
         reservation.setEndDateTime(LocalDateTime.now().plusHours(1));
@@ -206,11 +561,18 @@ class ReservationServiceTest {
 
     @Test
     void shouldThrowExceptionIfReservationDoesNotExist() {
-        when(reservationRepository.existsById("1")).thenReturn(false);
+        when(reservationRepository.findAndReplaceReservation(reservation)).thenReturn(null);
 
         Exception exception = assertThrows(DataIntegrityViolationException.class,
                 () -> reservationService.updateReservation(reservation));
 
         assertEquals("Reservation not found: ", exception.getMessage());
+        verifyNoInteractions(statisticsService);
+    }
+
+    private static Reservation copyOf(Reservation reservation) {
+        return new Reservation(reservation.getId(), reservation.getLaboratoryname(), reservation.getUsername(),
+                reservation.getStartDateTime(), reservation.getEndDateTime(), reservation.getPurpose(),
+                reservation.getStatus(), reservation.getPriority());
     }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.Reservation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationSlotFinderTest {
+
+    @Spy
+    private ReservationIntervalIndex reservationIndex = new ReservationIntervalIndex();
+
+    @InjectMocks
+    private ReservationSlotFinder slotFinder;
+
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.of(2025, 3, 10, 10, 0);
+        end = start.plusHours(2);
+    }
+
+    @Test
+    void shouldReturnRequestedSlotWhenFree() {
+        reservationIndex.put(reservation("1", start.minusHours(2), start));
+
+        assertEquals(Optional.of(start), slotFinder.findNextStart("Lab A", start, end));
+    }
+
+    @Test
+    void shouldSkipConsecutiveBusyDays() {
+        for (int day = 0; day < 5; day++) {
+            reservationIndex.put(reservation("r" + day, start.plusDays(day).plusHours(1), end.plusDays(day).plusHours(1)));
+        }
+
+        assertEquals(Optional.of(start.plusDays(5)), slotFinder.findNextStart("Lab A", start, end));
+    }
+
+    @Test
+    void shouldRespectLongReservationsSpanningSeveralDays() {
+        reservationIndex.put(reservation("long", start.minusDays(1), start.plusDays(2).plusMinutes(1)));
+
+        assertEquals(Optional.of(start.plusDays(3)), slotFinder.findNextStart("Lab A", start, end));
+    }
+
+    @Test
+    void shouldGiveUpAfterOneYear() {
+        reservationIndex.put(reservation("year", start, end.plusDays(ReservationSlotFinder.MAX_DAYS_AHEAD)));
+
+        assertTrue(slotFinder.findNextStart("Lab A", start, end).isEmpty());
+    }
+
+    @Test
+    void shouldIgnoreOtherLaboratories() {
+        reservationIndex.put(new Reservation("1", "Lab B", "Miguel", start, end, "Study session", true, 1));
+
+        assertEquals(Optional.of(start), slotFinder.findNextStart("Lab A", start, end));
+    }
+
+    private Reservation reservation(String id, LocalDateTime from, LocalDateTime to) {
+        return new Reservation(id, "Lab A", "Miguel", from, to, "Study session", true, 1);
+    }
+}
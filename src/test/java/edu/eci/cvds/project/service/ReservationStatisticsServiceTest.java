@@ -0,0 +1,231 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.DTO.LaboratoryUtilizationDTO;
+import edu.eci.cvds.project.model.Reservation;
+import edu.eci.cvds.project.model.ReservationStatistic;
+import edu.eci.cvds.project.repository.ReservationMongoRepository;
+import edu.eci.cvds.project.repository.ReservationStatisticMongoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationStatisticsServiceTest {
+
+    @Mock
+    private ReservationMongoRepository reservationRepository;
+
+    @Mock
+    private ReservationStatisticMongoRepository statisticRepository;
+
+    @InjectMocks
+    private ReservationStatisticsService statisticsService;
+
+    @Test
+    void testCountByDateReadsCounters() {
+        when(statisticRepository.findByType(ReservationStatistic.DAY)).thenReturn(List.of(
+                statistic(ReservationStatistic.DAY, "2025-03-11", 1),
+                statistic(ReservationStatistic.DAY, "2025-03-10", 2),
+                statistic(ReservationStatistic.DAY, "2025-03-09", 0)));
+
+        Map<LocalDate, Long> counts = statisticsService.countByDate();
+
+        assertEquals(List.of(LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 11)), new ArrayList<>(counts.keySet()));
+        assertEquals(2L, counts.get(LocalDate.of(2025, 3, 10)));
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void testCountByLaboratoryReadsCounters() {
+        when(statisticRepository.findByType(ReservationStatistic.LABORATORY))
+                .thenReturn(List.of(statistic(ReservationStatistic.LABORATORY, "Lab A", 3)));
+
+        assertEquals(Map.of("Lab A", 3L), statisticsService.countByLaboratory());
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void testCountByLaboratoryBetweenCoversWholeEndDay() {
+        when(reservationRepository.countByLaboratory(LocalDateTime.of(2025, 3, 10, 0, 0), LocalDateTime.of(2025, 3, 13, 0, 0)))
+                .thenReturn(Map.of("Lab A", 1L));
+
+        Map<String, Long> counts = statisticsService.countByLaboratoryBetween(LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 12));
+
+        assertEquals(Map.of("Lab A", 1L), counts);
+    }
+
+    @Test
+    void testCountByLaboratoryBetweenReversedRange() {
+        assertTrue(statisticsService.countByLaboratoryBetween(LocalDate.of(2025, 3, 12), LocalDate.of(2025, 3, 10)).isEmpty());
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void testAverageByPriority() {
+        when(statisticRepository.findByType(ReservationStatistic.PRIORITY)).thenReturn(List.of(
+                statistic(ReservationStatistic.PRIORITY, "3", 3),
+                statistic(ReservationStatistic.PRIORITY, "1", 1)));
+
+        Map<Integer, Double> averages = statisticsService.averageByPriority();
+
+        assertEquals(0.25, averages.get(1));
+        assertEquals(0.75, averages.get(3));
+    }
+
+    @Test
+    void testAverageByPriorityWithoutReservations() {
+        when(statisticRepository.findByType(ReservationStatistic.PRIORITY)).thenReturn(List.of());
+
+        assertTrue(statisticsService.averageByPriority().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUtilizationSweepsTheStreamedRange() {
+        LocalDateTime from = LocalDateTime.of(2025, 3, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 3, 17, 0, 0);
+        doAnswer(invocation -> {
+            Consumer<Reservation> consumer = invocation.getArgument(3);
+            consumer.accept(new Reservation(null, "Lab A", null, from.plusHours(8), from.plusHours(10), null, true, null));
+            consumer.accept(new Reservation(null, "Lab A", null, from.plusHours(9), from.plusHours(11), null, true, null));
+            return null;
+        }).when(reservationRepository).streamOverlapping(eq(from), eq(to), eq(Duration.ofHours(24)), any(Consumer.class));
+
+        List<LaboratoryUtilizationDTO> result = statisticsService.utilization(LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 16));
+
+        assertEquals(1, result.size());
+        assertEquals(4.0, result.get(0).getTotalHours());
+        assertEquals(2, result.get(0).getPeakConcurrent());
+        verify(reservationRepository, never()).findAll();
+    }
+
+    @Test
+    void testUtilizationReversedRange() {
+        assertTrue(statisticsService.utilization(LocalDate.of(2025, 3, 16), LocalDate.of(2025, 3, 10)).isEmpty());
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    void testRecordUpdatedMovesCountersWhenDayChanges() {
+        Reservation previous = new Reservation("1", "Lab A", "Miguel",
+                LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 10, 0), "Class", true, 4);
+        Reservation updated = new Reservation("1", "Lab A", "Miguel",
+                LocalDateTime.of(2025, 3, 11, 8, 0), LocalDateTime.of(2025, 3, 11, 10, 0), "Class", true, 4);
+
+        statisticsService.recordUpdated(previous, updated);
+
+        verify(statisticRepository).increment(Map.of(ReservationStatistic.LABORATORY, List.of("Lab A"),
+                ReservationStatistic.DAY, List.of("2025-03-10"), ReservationStatistic.PRIORITY, List.of("4")), -1L);
+        verify(statisticRepository).increment(Map.of(ReservationStatistic.LABORATORY, List.of("Lab A"),
+                ReservationStatistic.DAY, List.of("2025-03-11"), ReservationStatistic.PRIORITY, List.of("4")), 1L);
+    }
+
+    @Test
+    void testRecordUpdatedSkipsUnchangedCounters() {
+        Reservation previous = new Reservation("1", "Lab A", "Miguel",
+                LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 10, 0), "Class", true, 4);
+        Reservation updated = new Reservation("1", "Lab A", "Ana",
+                LocalDateTime.of(2025, 3, 10, 14, 0), LocalDateTime.of(2025, 3, 10, 16, 0), "Exam", true, 4);
+
+        statisticsService.recordUpdated(previous, updated);
+
+        verifyNoInteractions(statisticRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordCreatedAndRemovedIncrementEveryBucket() {
+        Reservation reservation = new Reservation("1", "Lab A", "Miguel",
+                LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 10, 0), "Class", true, 4);
+
+        statisticsService.recordCreated(reservation);
+        statisticsService.recordRemoved(reservation);
+
+        ArgumentCaptor<Map<String, Collection<String>>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(statisticRepository).increment(captor.capture(), eq(1L));
+        verify(statisticRepository).increment(anyMap(), eq(-1L));
+        Map<String, Collection<String>> keys = captor.getValue();
+        assertEquals(List.of("Lab A"), keys.get(ReservationStatistic.LABORATORY));
+        assertEquals(List.of("2025-03-10"), keys.get(ReservationStatistic.DAY));
+        assertEquals(List.of("4"), keys.get(ReservationStatistic.PRIORITY));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecordCreatedAllSendsOneDeltaPerBucket() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 10, 8, 0);
+        List<Reservation> reservations = List.of(
+                new Reservation("1", "Lab A", "Miguel", start, start.plusHours(2), "Class", true, 4),
+                new Reservation("2", "Lab A", "Ana", start.plusHours(2), start.plusHours(3), "Class", true, null),
+                new Reservation("3", "Lab B", "Ana", start.plusDays(1), start.plusDays(1).plusHours(1), "Class", true, 4));
+
+        statisticsService.recordCreatedAll(reservations);
+
+        ArgumentCaptor<Collection<ReservationStatistic>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(statisticRepository).incrementAll(captor.capture());
+        Map<String, Long> deltas = new HashMap<>();
+        for (ReservationStatistic delta : captor.getValue()) {
+            deltas.put(delta.getId(), delta.getCount());
+        }
+        assertEquals(Map.of("lab:Lab A", 2L, "lab:Lab B", 1L, "day:2025-03-10", 2L, "day:2025-03-11", 1L, "priority:4", 2L), deltas);
+        verify(statisticRepository, never()).increment(anyMap(), anyLong());
+    }
+
+    @Test
+    void testReset() {
+        statisticsService.reset();
+
+        verify(statisticRepository).deleteAll();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReconcileReplacesCountersWithAggregations() {
+        Map<String, Long> byLab = new HashMap<>();
+        byLab.put("Lab A", 2L);
+        byLab.put(null, 1L);
+        when(reservationRepository.countByLaboratory(null, null)).thenReturn(byLab);
+        when(reservationRepository.countByStartDate(ZoneId.systemDefault())).thenReturn(Map.of(LocalDate.of(2025, 3, 10), 3L));
+        when(reservationRepository.countByPriority()).thenReturn(Map.of(4, 3L));
+
+        statisticsService.reconcile();
+
+        ArgumentCaptor<Collection<ReservationStatistic>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(statisticRepository).replaceAll(captor.capture());
+        Map<String, Long> counts = new HashMap<>();
+        for (ReservationStatistic statistic : captor.getValue()) {
+            counts.put(statistic.getId(), statistic.getCount());
+        }
+        assertEquals(Map.of("lab:Lab A", 2L, "day:2025-03-10", 3L, "priority:4", 3L), counts);
+    }
+
+    @Test
+    void testInitializeOnlyWhenEmpty() {
+        when(statisticRepository.count()).thenReturn(5L);
+
+        statisticsService.initialize();
+
+        verify(statisticRepository, never()).replaceAll(any());
+    }
+
+    private static ReservationStatistic statistic(String type, String key, long count) {
+        return new ReservationStatistic(ReservationStatistic.idOf(type, key), type, key, count);
+    }
+}
@@ -10,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
 
@@ -34,7 +35,7 @@ public class UserDetailsServiceImplTest {
 
     @Test
     public void testLoadUserByUsername_UserExists() {
-        when(userRepository.findUserByUsername("testUser")).thenReturn(testUser);
+        when(userRepository.findCredentialsByUsername("testUser")).thenReturn(testUser);
 
         UserDetails userDetails = userDetailsService.loadUserByUsername("testUser");
 
@@ -45,19 +46,78 @@ public class UserDetailsServiceImplTest {
         assertTrue(userDetails.getAuthorities().stream()
                 .anyMatch(auth -> auth.getAuthority().equals("ROLE_USER")));
 
-        verify(userRepository, times(1)).findUserByUsername("testUser");
+        verify(userRepository, times(1)).findCredentialsByUsername("testUser");
     }
 
     @Test
     public void testLoadUserByUsername_UserNotFound() {
-        when(userRepository.findUserByUsername("unknownUser")).thenReturn(null);
+        when(userRepository.findCredentialsByUsername("unknownUser")).thenReturn(null);
 
         Exception exception = assertThrows(UsernameNotFoundException.class, () -> {
             userDetailsService.loadUserByUsername("unknownUser");
         });
 
         assertEquals("Usuario no encontrado con el nombre de usuario: unknownUser", exception.getMessage());
-        verify(userRepository, times(1)).findUserByUsername("unknownUser");
+        verify(userRepository, times(1)).findCredentialsByUsername("unknownUser");
     }
-}
 
+    @Test
+    public void testLoadUserByUsername_CachedAfterFirstLoad() {
+        when(userRepository.findCredentialsByUsername("testUser")).thenReturn(testUser);
+
+        UserDetails first = userDetailsService.loadUserByUsername("testUser");
+        UserDetails second = userDetailsService.loadUserByUsername("testUser");
+
+        assertEquals(first.getUsername(), second.getUsername());
+        assertEquals("password123", second.getPassword());
+        verify(userRepository, times(1)).findCredentialsByUsername("testUser");
+    }
+
+    @Test
+    public void testEvict_ForcesReload() {
+        when(userRepository.findCredentialsByUsername("testUser")).thenReturn(testUser);
+
+        userDetailsService.loadUserByUsername("testUser");
+        userDetailsService.evict("testUser");
+        userDetailsService.loadUserByUsername("testUser");
+
+        verify(userRepository, times(2)).findCredentialsByUsername("testUser");
+    }
+
+    @Test
+    public void testEvictById_ForcesReload() {
+        when(userRepository.findCredentialsByUsername("testUser")).thenReturn(testUser);
+
+        userDetailsService.loadUserByUsername("testUser");
+        userDetailsService.evictById("1");
+        userDetailsService.loadUserByUsername("testUser");
+
+        verify(userRepository, times(2)).findCredentialsByUsername("testUser");
+    }
+
+    @Test
+    public void testLoadUserByUsername_ExpiredEntryIsReloaded() {
+        ReflectionTestUtils.setField(userDetailsService, "ttlSeconds", 0L);
+        when(userRepository.findCredentialsByUsername("testUser")).thenReturn(testUser);
+
+        userDetailsService.loadUserByUsername("testUser");
+        userDetailsService.loadUserByUsername("testUser");
+
+        verify(userRepository, times(2)).findCredentialsByUsername("testUser");
+    }
+
+    @Test
+    public void testLoadUserByUsername_EvictsLeastRecentlyUsed() {
+        ReflectionTestUtils.setField(userDetailsService, "maxSize", 1);
+        User otherUser = new User("2", "otherUser", "password456", new ArrayList<>(), Role.ADMIN);
+        when(userRepository.findCredentialsByUsername("testUser")).thenReturn(testUser);
+        when(userRepository.findCredentialsByUsername("otherUser")).thenReturn(otherUser);
+
+        userDetailsService.loadUserByUsername("testUser");
+        userDetailsService.loadUserByUsername("otherUser");
+        userDetailsService.loadUserByUsername("testUser");
+
+        verify(userRepository, times(2)).findCredentialsByUsername("testUser");
+        verify(userRepository, times(1)).findCredentialsByUsername("otherUser");
+    }
+}
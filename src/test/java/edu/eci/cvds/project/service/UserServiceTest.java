@@ -1,20 +1,24 @@
 package edu.eci.cvds.project.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.eci.cvds.project.exception.UserException;
+import edu.eci.cvds.project.model.DTO.PageDTO;
 import edu.eci.cvds.project.model.DTO.UserDTO;
+import edu.eci.cvds.project.model.DTO.UserSummaryDTO;
 import edu.eci.cvds.project.model.Laboratory;
 import edu.eci.cvds.project.model.Reservation;
 import edu.eci.cvds.project.model.User;
 import edu.eci.cvds.project.model.Role;
 import edu.eci.cvds.project.repository.ReservationMongoRepository;
 import edu.eci.cvds.project.repository.UserMongoRepository;
-import edu.eci.cvds.project.util.JwtUtil;
+import edu.eci.cvds.project.util.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.prepost.PreAuthorize;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -32,7 +36,7 @@ public class UserServiceTest {
     private ReservationMongoRepository reservationRepository;
 
     @Mock
-    private JwtUtil jwtUtilservice;
+    private UserDetailsServiceImpl userDetailsService;
 
     @InjectMocks
     private UserService userService;
@@ -47,13 +51,13 @@ public class UserServiceTest {
 
     @BeforeEach
     void setUp() {
-        ArrayList<Reservation> reservations = new ArrayList<>();
-        laboratory = new Laboratory("1", "Laboratory1", reservations);
-        user = new User("100011", "Miguel", "password", reservations, Role.USER);
+        ArrayList<String> reservationIds = new ArrayList<>();
+        laboratory = new Laboratory("1", "Laboratory1", reservationIds);
+        user = new User("100011", "Miguel", "password", reservationIds, Role.USER);
         LocalDateTime start = LocalDateTime.of(2025, 3, 10, 22, 0);
         LocalDateTime end = LocalDateTime.of(2025, 3, 10, 23, 0);
         reservation = new Reservation("10222", laboratory.getName(), user.getUsername(), start, end, "nose", true, 4);
-        reservations.add(reservation);
+        reservationIds.add(reservation.getId());
 
         userDTO = new UserDTO();
         userDTO.setUsername(user.getUsername());
@@ -74,6 +78,7 @@ public class UserServiceTest {
         doNothing().when(userRepository).deleteUserById("100011");
         assertDoesNotThrow(() -> userService.deleteUser("100011"));
         verify(userRepository, times(1)).deleteUserById("100011");
+        verify(userDetailsService, times(1)).evictById("100011");
     }
 
     @Test
@@ -94,34 +99,82 @@ public class UserServiceTest {
         verify(userRepository, times(1)).findAllUsers();
     }
 
+    @Test
+    void testGetUserSummaries() {
+        List<UserSummaryDTO> summaries = List.of(new UserSummaryDTO("100011", "Miguel", Role.USER));
+        when(userRepository.findSummaryPage(null, KeysetCursor.DEFAULT_LIMIT + 1)).thenReturn(summaries);
+
+        PageDTO<UserSummaryDTO> page = userService.getUserSummaries(null, 0);
+
+        assertEquals(summaries, page.getItems());
+        assertNull(page.getNextCursor());
+        verify(userRepository, never()).findAllUsers();
+    }
+
+    @Test
+    void testGetUsersPage_ReturnsNextCursor() {
+        User other = new User("100012", "Laura", "password", new ArrayList<>(), Role.USER);
+        when(userRepository.findPage("100010", 2)).thenReturn(List.of(user, other));
+
+        PageDTO<User> page = userService.getUsersPage(KeysetCursor.of("100010"), 1);
+
+        assertEquals(List.of(user), page.getItems());
+        assertEquals(KeysetCursor.of("100011"), page.getNextCursor());
+    }
+
     @Test
     void testUpdateUser() {
-        List<Reservation> updatedReservations = new ArrayList<>();
-        User updatedUser = new User("100011", "Miguel", "newpassword", updatedReservations, Role.ADMIN);
+        List<String> updatedReservationIds = new ArrayList<>();
+        User updatedUser = new User("100011", "Miguel", "newpassword", updatedReservationIds, Role.ADMIN);
         when(userRepository.saveUser(any(User.class))).thenReturn(updatedUser);
         User result = userService.updateUser(updatedUser);
         assertNotNull(result);
         assertEquals("Miguel", result.getUsername());
         assertEquals(Role.ADMIN, result.getRole());
         assertEquals("newpassword", result.getPassword());
-        assertEquals(updatedReservations, result.getReservations());
+        assertEquals(updatedReservationIds, result.getReservationIds());
         verify(userRepository, times(1)).saveUser(updatedUser);
+        verify(userDetailsService, times(1)).evictById("100011");
+        verify(userDetailsService, times(1)).evict("Miguel");
+    }
+
+    @Test
+    void testUpdateUser_RoundTripKeepsStoredPassword() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        String json = objectMapper.writeValueAsString(user);
+        assertFalse(json.contains("password"));
+        User edited = objectMapper.readValue(json, User.class);
+        edited.setRole(Role.ADMIN);
+        when(userRepository.findPasswordById("100011"))
+                .thenReturn(new User("100011", null, "password", null, null));
+        when(userRepository.saveUser(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        User result = userService.updateUser(edited);
+
+        assertEquals("password", result.getPassword());
+        assertEquals(Role.ADMIN, result.getRole());
+        assertEquals(user.getReservationIds(), result.getReservationIds());
     }
 
     @Test
     void testGetAllReservationByUserId_UserExists() {
         when(userRepository.findById("100011")).thenReturn(Optional.of(user));
-        List<Reservation> reservations = userService.getAllReservationByUserId("100011");
+        when(reservationRepository.findByUsernamePage("Miguel", null, null, KeysetCursor.DEFAULT_LIMIT + 1))
+                .thenReturn(List.of(reservation));
+        PageDTO<Reservation> page = userService.getAllReservationByUserId("100011", null, 0);
+        List<Reservation> reservations = page.getItems();
         assertNotNull(reservations);
         assertEquals(1, reservations.size());
         assertEquals(reservation, reservations.get(0));
+        assertNull(page.getNextCursor());
         verify(userRepository, times(1)).findById("100011");
+        verify(reservationRepository, never()).findByUsername("Miguel");
     }
 
     @Test
     void testGetAllReservationByUserId_UserNotExists() {
         when(userRepository.findById("99999")).thenReturn(Optional.empty());
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> userService.getAllReservationByUserId("99999"));
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> userService.getAllReservationByUserId("99999", null, 0));
         assertEquals("Usuario no encontrado con ID: 99999", exception.getMessage());
         verify(userRepository, times(1)).findById("99999");
     }
@@ -147,6 +200,7 @@ public class UserServiceTest {
     @Test
     void testGetAllReservationByUsername_UserHasActiveReservations() {
         when(userRepository.findUserByUsername(user.getUsername())).thenReturn(user);
+        when(reservationRepository.findActiveByUsername(user.getUsername())).thenReturn(List.of(reservation));
 
         List<Reservation> result = userService.getAllReservationByUsername(user.getUsername());
 
@@ -158,9 +212,9 @@ public class UserServiceTest {
     @Test
     void testGetAllReservationByUsername_UserHasOnlyCanceledReservations() {
         reservation.setStatus(false);
-        user.setReservations(List.of(reservation));
 
         when(userRepository.findUserByUsername(user.getUsername())).thenReturn(user);
+        when(reservationRepository.findActiveByUsername(user.getUsername())).thenReturn(List.of());
 
         List<Reservation> result = userService.getAllReservationByUsername(user.getUsername());
 
@@ -182,32 +236,25 @@ public class UserServiceTest {
 
     @Test
     void testUpdateAdmin_Success() {
-        when(jwtUtilservice.validateAdmin("validToken")).thenReturn(true);
         when(userRepository.findUserByUsername("Miguel")).thenReturn(user);
         when(userRepository.saveUser(any(User.class))).thenReturn(user);
-        User updatedUser = userService.updateAdmin("Miguel", "validToken");
+        User updatedUser = userService.updateAdmin("Miguel");
         assertEquals(Role.ADMIN, updatedUser.getRole());
         verify(userRepository, times(1)).saveUser(user);
+        verify(userDetailsService, times(1)).evict("Miguel");
     }
 
     @Test
     void testUpdateAdmin_UserNotFound() {
-        when(jwtUtilservice.validateAdmin("validToken")).thenReturn(true);
         when(userRepository.findUserByUsername("unknown")).thenReturn(null);
-        assertThrows(IllegalArgumentException.class, () -> userService.updateAdmin("unknown", "validToken"));
+        assertThrows(IllegalArgumentException.class, () -> userService.updateAdmin("unknown"));
     }
 
     @Test
-    void testUpdateAdmin_InvalidToken() {
-        when(jwtUtilservice.validateAdmin("invalidToken")).thenReturn(false);
-        assertThrows(IllegalArgumentException.class, () -> userService.updateAdmin("Miguel", "invalidToken"));
-    }
-
-    @Test
-    void testVerifyReservations() {
-        when(userRepository.findUserByUsername("Miguel")).thenReturn(user);
-        userService.verifyReservations("Miguel");
-        verify(reservationRepository, times(1)).updateReservation(any(Reservation.class));
+    void testUpdateAdmin_RequiresAdminRole() throws NoSuchMethodException {
+        PreAuthorize preAuthorize = UserService.class.getMethod("updateAdmin", String.class).getAnnotation(PreAuthorize.class);
+        assertNotNull(preAuthorize);
+        assertEquals("hasRole('ADMIN')", preAuthorize.value());
     }
 
     @Test
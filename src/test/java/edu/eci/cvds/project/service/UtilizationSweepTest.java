@@ -0,0 +1,117 @@
+package edu.eci.cvds.project.service;
+
+import edu.eci.cvds.project.model.DTO.LaboratoryUtilizationDTO;
+import edu.eci.cvds.project.model.Reservation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UtilizationSweepTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 3, 10, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 3, 24, 0, 0);
+
+    @Test
+    void testHoursPerDayAndWeek() {
+        UtilizationSweep sweep = new UtilizationSweep(FROM, TO);
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 10, 0)));
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 11, 8, 0), LocalDateTime.of(2025, 3, 11, 9, 30)));
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 17, 14, 0), LocalDateTime.of(2025, 3, 17, 15, 0)));
+
+        List<LaboratoryUtilizationDTO> result = sweep.finish();
+
+        assertEquals(1, result.size());
+        LaboratoryUtilizationDTO lab = result.get(0);
+        assertEquals("Lab A", lab.getLaboratoryName());
+        assertEquals(4.5, lab.getTotalHours());
+        assertEquals(2.0, lab.getHoursByDay().get(LocalDate.of(2025, 3, 10)));
+        assertEquals(1.5, lab.getHoursByDay().get(LocalDate.of(2025, 3, 11)));
+        assertEquals(3.5, lab.getHoursByWeek().get(LocalDate.of(2025, 3, 10)));
+        assertEquals(1.0, lab.getHoursByWeek().get(LocalDate.of(2025, 3, 17)));
+        assertEquals(1, lab.getPeakConcurrent());
+    }
+
+    @Test
+    void testPeakConcurrentUsage() {
+        UtilizationSweep sweep = new UtilizationSweep(FROM, TO);
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 12, 0)));
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 10, 9, 0), LocalDateTime.of(2025, 3, 10, 10, 0)));
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 10, 9, 30), LocalDateTime.of(2025, 3, 10, 11, 0)));
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 10, 12, 0), LocalDateTime.of(2025, 3, 10, 13, 0)));
+
+        LaboratoryUtilizationDTO lab = sweep.finish().get(0);
+
+        assertEquals(3, lab.getPeakConcurrent());
+        assertEquals(LocalDateTime.of(2025, 3, 10, 9, 30), lab.getPeakStart());
+        assertEquals(7.5, lab.getTotalHours());
+    }
+
+    @Test
+    void testReservationsAreClippedAndSplitAtMidnight() {
+        UtilizationSweep sweep = new UtilizationSweep(FROM, TO);
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 9, 22, 0), LocalDateTime.of(2025, 3, 10, 2, 0)));
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 12, 23, 0), LocalDateTime.of(2025, 3, 13, 1, 0)));
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 23, 23, 0), LocalDateTime.of(2025, 3, 24, 3, 0)));
+
+        LaboratoryUtilizationDTO lab = sweep.finish().get(0);
+
+        assertEquals(2.0, lab.getHoursByDay().get(LocalDate.of(2025, 3, 10)));
+        assertEquals(1.0, lab.getHoursByDay().get(LocalDate.of(2025, 3, 12)));
+        assertEquals(1.0, lab.getHoursByDay().get(LocalDate.of(2025, 3, 13)));
+        assertEquals(1.0, lab.getHoursByDay().get(LocalDate.of(2025, 3, 23)));
+        assertFalse(lab.getHoursByDay().containsKey(LocalDate.of(2025, 3, 9)));
+        assertFalse(lab.getHoursByDay().containsKey(LocalDate.of(2025, 3, 24)));
+        assertEquals(5.0, lab.getTotalHours());
+    }
+
+    @Test
+    void testEachLaboratoryIsReportedSeparately() {
+        UtilizationSweep sweep = new UtilizationSweep(FROM, TO);
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 10, 0)));
+        sweep.accept(reservation("Lab B", LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 9, 0)));
+        sweep.accept(reservation(null, LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 9, 0)));
+
+        List<LaboratoryUtilizationDTO> result = sweep.finish();
+
+        assertEquals(2, result.size());
+        assertEquals("Lab A", result.get(0).getLaboratoryName());
+        assertEquals(2.0, result.get(0).getTotalHours());
+        assertEquals("Lab B", result.get(1).getLaboratoryName());
+        assertEquals(1, result.get(1).getPeakConcurrent());
+    }
+
+    @Test
+    void testInterleavedLaboratoriesKeepSeparateState() {
+        UtilizationSweep sweep = new UtilizationSweep(FROM, TO);
+        sweep.accept(reservation("Lab B", LocalDateTime.of(2025, 3, 10, 8, 0), LocalDateTime.of(2025, 3, 10, 12, 0)));
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 10, 9, 0), LocalDateTime.of(2025, 3, 10, 10, 0)));
+        sweep.accept(reservation("Lab B", LocalDateTime.of(2025, 3, 10, 9, 30), LocalDateTime.of(2025, 3, 10, 11, 0)));
+        sweep.accept(reservation("Lab A", LocalDateTime.of(2025, 3, 10, 10, 0), LocalDateTime.of(2025, 3, 10, 11, 0)));
+
+        List<LaboratoryUtilizationDTO> result = sweep.finish();
+
+        assertEquals(List.of("Lab A", "Lab B"), result.stream().map(LaboratoryUtilizationDTO::getLaboratoryName).toList());
+        assertEquals(1, result.get(0).getPeakConcurrent());
+        assertEquals(2.0, result.get(0).getTotalHours());
+        assertEquals(2, result.get(1).getPeakConcurrent());
+        assertEquals(LocalDateTime.of(2025, 3, 10, 9, 30), result.get(1).getPeakStart());
+        assertEquals(5.5, result.get(1).getTotalHours());
+    }
+
+    @Test
+    void testEmptySweep() {
+        assertTrue(new UtilizationSweep(FROM, TO).finish().isEmpty());
+    }
+
+    private static Reservation reservation(String lab, LocalDateTime start, LocalDateTime end) {
+        Reservation reservation = new Reservation();
+        reservation.setLaboratoryname(lab);
+        reservation.setStartDateTime(start);
+        reservation.setEndDateTime(end);
+        return reservation;
+    }
+}
@@ -2,10 +2,15 @@ package edu.eci.cvds.project.util;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -47,4 +52,63 @@ class JwtUtilTest {
         String invalidToken = "invalid.token.here";
         assertFalse(jwtUtil.validateAdmin(invalidToken), "Un token inválido no debería ser válido.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDecodeTokenReusesVerifiedToken() {
+        String token = JWT.create()
+                .withClaim("role", "ADMIN")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60_000))
+                .sign(Algorithm.HMAC256(secretKey));
+
+        DecodedJWT first = jwtUtil.decodeToken(token);
+        DecodedJWT second = jwtUtil.decodeToken("Bearer " + token);
+
+        assertSame(first, second, "El segundo llamado debería usar el token ya verificado.");
+    }
+
+    @Test
+    void testDecodeTokenEvictsLeastRecentlyUsedTokenWhenFull() {
+        ReflectionTestUtils.setField(jwtUtil, "maxCachedTokens", 2);
+        String first = tokenFor("first");
+        String second = tokenFor("second");
+        String third = tokenFor("third");
+
+        DecodedJWT firstDecoded = jwtUtil.decodeToken(first);
+        DecodedJWT secondDecoded = jwtUtil.decodeToken(second);
+        assertSame(firstDecoded, jwtUtil.decodeToken(first));
+        DecodedJWT thirdDecoded = jwtUtil.decodeToken(third);
+
+        assertSame(firstDecoded, jwtUtil.decodeToken(first), "El token usado recientemente debería seguir en caché.");
+        assertSame(thirdDecoded, jwtUtil.decodeToken(third), "El token nuevo debería guardarse aunque la caché esté llena.");
+        assertNotSame(secondDecoded, jwtUtil.decodeToken(second), "El token menos usado debería haberse descartado.");
+    }
+
+    @Test
+    void testDecodeTokenRejectsExpiredToken() {
+        String token = JWT.create()
+                .withClaim("role", "ADMIN")
+                .withExpiresAt(new Date(System.currentTimeMillis() - 60_000))
+                .sign(Algorithm.HMAC256(secretKey));
+
+        assertThrows(JWTVerificationException.class, () -> jwtUtil.decodeToken(token));
+        assertFalse(jwtUtil.validateAdmin(token), "Un token vencido no debería ser válido.");
+    }
+
+    @Test
+    void testDecodeTokenRejectsTokenSignedWithOtherKey() {
+        String token = JWT.create()
+                .withClaim("role", "ADMIN")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60_000))
+                .sign(Algorithm.HMAC256("otherSecret"));
+
+        assertThrows(JWTVerificationException.class, () -> jwtUtil.decodeToken(token));
+        assertThrows(JWTVerificationException.class, () -> jwtUtil.decodeToken(token));
+    }
+
+    private String tokenFor(String subject) {
+        return JWT.create()
+                .withSubject(subject)
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60_000))
+                .sign(Algorithm.HMAC256(secretKey));
+    }
+}
@@ -0,0 +1,62 @@
+package edu.eci.cvds.project.util;
+
+import edu.eci.cvds.project.model.DTO.PageDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void testLimitIsDefaultedAndCapped() {
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.limit(0));
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.limit(-5));
+        assertEquals(10, KeysetCursor.limit(10));
+        assertEquals(KeysetCursor.MAX_LIMIT, KeysetCursor.limit(1_000_000));
+    }
+
+    @Test
+    void testIdCursorRoundTrip() {
+        assertEquals("abc|1", KeysetCursor.parseId(KeysetCursor.of("abc|1")));
+        assertNull(KeysetCursor.parseId(null));
+        assertNull(KeysetCursor.parseId(""));
+    }
+
+    @Test
+    void testPositionCursorRoundTrip() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 10, 8, 30);
+
+        KeysetCursor.Position position = KeysetCursor.parse(KeysetCursor.of(start, "a|b"));
+
+        assertEquals(start, position.getStartDateTime());
+        assertEquals("a|b", position.getId());
+        assertNull(KeysetCursor.parse(null));
+    }
+
+    @Test
+    void testInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.parseId("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.parse(KeysetCursor.of("sin-fecha")));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.parse(KeysetCursor.of("ayer|1")));
+    }
+
+    @Test
+    void testPageUsesExtraElementToDetectNextPage() {
+        PageDTO<String> last = KeysetCursor.page(List.of("1", "2"), 2, KeysetCursor::of);
+        PageDTO<String> notLast = KeysetCursor.page(List.of("1", "2", "3"), 2, KeysetCursor::of);
+
+        assertEquals(List.of("1", "2"), last.getItems());
+        assertNull(last.getNextCursor());
+        assertEquals(List.of("1", "2"), notLast.getItems());
+        assertEquals(KeysetCursor.of("2"), notLast.getNextCursor());
+    }
+
+    @Test
+    void testHeadersOnlyWhenThereIsANextPage() {
+        assertEquals("c", KeysetCursor.headers(new PageDTO<>(List.of(), "c")).getFirst(KeysetCursor.NEXT_CURSOR_HEADER));
+        assertFalse(KeysetCursor.headers(new PageDTO<>(List.of(), null)).containsKey(KeysetCursor.NEXT_CURSOR_HEADER));
+    }
+}